@@ -0,0 +1,58 @@
+package net.capps.word.benchmarks;
+
+import net.capps.word.game.ai.GameAI;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.common.AiType;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.move.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * The AI choosing its next move on a seeded board, for every AiType and BoardSize.
+ *
+ * The best move cache is turned off, or every call after the first would just be a cache hit.
+ * The AIs still shuffle the squares they search with ThreadLocalRandom, so the time is averaged over many calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Dghostwriters.bestMoveCacheSize=0"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AiBenchmark {
+
+    @Param({"RANDOM_AI", "BOOKWORM_AI", "PROFESSOR_AI", "GRANDMASTER_AI"})
+    public AiType aiType;
+
+    @Param({"TALL", "GRANDE", "VENTI"})
+    public BoardSize boardSize;
+
+    private Game game;
+    private GameAI gameAI;
+
+    @Setup
+    public void setup() throws Exception {
+        SeededGames.init();
+        game = SeededGames.newGame(boardSize, SeededGames.DEFAULT_SEED);
+        gameAI = aiType.getGameAiInstance(boardSize);
+    }
+
+    @Benchmark
+    public Move getNextMove() {
+        return gameAI.getNextMove(game);
+    }
+}
@@ -0,0 +1,100 @@
+package net.capps.word.benchmarks;
+
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.move.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Validating and scoring valid play word moves on a seeded board. Times are per move,
+ * except for loading the whole board from its database string or its tile codes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BoardBenchmark {
+    private static final int NUM_MOVES = 64;
+
+    @Param({"TALL", "GRANDE", "VENTI"})
+    public BoardSize boardSize;
+
+    private Game game;
+    private TileSet tileSet;
+    private Move[] moves;
+    private String tilesString;
+    private byte[] tileCodes;
+    private TileSet scratchTileSet;
+
+    @Setup
+    public void setup() throws Exception {
+        SeededGames.init();
+        game = SeededGames.newGame(boardSize, SeededGames.DEFAULT_SEED);
+        tileSet = game.getTileSet();
+        List<Move> validMoves = SeededGames.newValidPlayMoves(game, NUM_MOVES, SeededGames.DEFAULT_SEED);
+        if (validMoves.isEmpty()) {
+            throw new IllegalStateException("No valid moves found for the seeded " + boardSize + " board.");
+        }
+        tilesString = tileSet.toCompactString();
+        tileCodes = tileSet.toTileCodes();
+        scratchTileSet = new TileSet(tileSet.N);
+        // Small boards might not have enough different moves, so repeat them
+        moves = new Move[NUM_MOVES];
+        for (int i = 0; i < NUM_MOVES; ++i) {
+            moves[i] = validMoves.get(i % validMoves.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_MOVES)
+    public int isValidPlayWordMove() {
+        int numValid = 0;
+        for (Move move: moves) {
+            if (tileSet.isValidPlayWordMove(move, null)) {
+                ++numValid;
+            }
+        }
+        return numValid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_MOVES)
+    public int computeStandardPoints() {
+        int points = 0;
+        for (Move move: moves) {
+            points += game.computeStandardPoints(move);
+        }
+        return points;
+    }
+
+    @Benchmark
+    public TileSet loadFromString() {
+        scratchTileSet.load(tilesString);
+        return scratchTileSet;
+    }
+
+    @Benchmark
+    public TileSet loadFromTileCodes() {
+        scratchTileSet.load(tileCodes);
+        return scratchTileSet;
+    }
+}
@@ -0,0 +1,90 @@
+package net.capps.word.benchmarks;
+
+import net.capps.word.game.dict.DictionaryTrie;
+import net.capps.word.game.dict.Dictionaries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * DictionaryTrie lookups of English words, prefixes of words, and words with one letter changed.
+ * Times are per lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DictionaryBenchmark {
+    private static final int NUM_LOOKUPS = 1024;
+
+    private DictionaryTrie trie;
+    private final String[] words = new String[NUM_LOOKUPS];
+    private final String[] prefixes = new String[NUM_LOOKUPS];
+    private final String[] changedWords = new String[NUM_LOOKUPS];
+
+    @Setup
+    public void setup() throws Exception {
+        SeededGames.init();
+        trie = Dictionaries.getEnglishDictTrie();
+        final Random random = new Random(SeededGames.DEFAULT_SEED);
+        for (int i = 0; i < NUM_LOOKUPS; ++i) {
+            final String word = SeededGames.randomWord(random);
+            words[i] = word;
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+            final char[] changed = word.toCharArray();
+            changed[random.nextInt(changed.length)] = (char) ('A' + random.nextInt(26));
+            changedWords[i] = new String(changed);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int containsWords() {
+        return countContains(words);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int containsChangedWords() {
+        return countContains(changedWords);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int isPrefix() {
+        int count = 0;
+        for (String prefix: prefixes) {
+            if (trie.isPrefix(prefix)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    // --------------- Private ---------------
+
+    private int countContains(String[] strs) {
+        int count = 0;
+        for (String str: strs) {
+            if (trie.contains(str)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+}
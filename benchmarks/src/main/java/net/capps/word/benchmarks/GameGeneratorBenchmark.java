@@ -0,0 +1,48 @@
+package net.capps.word.benchmarks;
+
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.GameDensity;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Generating the starting board for a new game with a REGULAR density.
+ * The generator uses ThreadLocalRandom, so each call makes a different board, and the time is averaged over many.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameGeneratorBenchmark {
+
+    @Param({"TALL", "GRANDE", "VENTI"})
+    public BoardSize boardSize;
+
+    @Setup
+    public void setup() throws Exception {
+        SeededGames.init();
+    }
+
+    @Benchmark
+    public TileSet generateRandomFinishedGame() {
+        final int N = boardSize.getN();
+        return DefaultGameGenerator.getInstance().generateRandomFinishedGame(N, GameDensity.REGULAR.getNumWords(boardSize), N);
+    }
+}
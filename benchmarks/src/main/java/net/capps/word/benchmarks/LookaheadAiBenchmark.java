@@ -0,0 +1,57 @@
+package net.capps.word.benchmarks;
+
+import net.capps.word.game.ai.GameAI;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.common.AiType;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.move.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * The Grandmaster's moves per second against the Professor's, on the same seeded boards as AiBenchmark.
+ * The Grandmaster evaluates the opponent's replies to each of its top candidate moves, so this shows the cost of
+ * the lookahead on one thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Dghostwriters.bestMoveCacheSize=0"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LookaheadAiBenchmark {
+
+    @Param({"PROFESSOR_AI", "GRANDMASTER_AI"})
+    public AiType aiType;
+
+    @Param({"TALL", "GRANDE", "VENTI"})
+    public BoardSize boardSize;
+
+    private Game game;
+    private GameAI gameAI;
+
+    @Setup
+    public void setup() throws Exception {
+        SeededGames.init();
+        game = SeededGames.newGame(boardSize, SeededGames.DEFAULT_SEED);
+        gameAI = aiType.getGameAiInstance(boardSize);
+    }
+
+    @Benchmark
+    public Move getNextMove() {
+        return gameAI.getNextMove(game);
+    }
+}
@@ -0,0 +1,218 @@
+package net.capps.word.benchmarks;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+import net.capps.word.game.board.FixedLayouts;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.SquareSet;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.Dir;
+import net.capps.word.game.common.GameDensity;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.common.Placement;
+import net.capps.word.game.common.Pos;
+import net.capps.word.game.dict.Dictionaries;
+import net.capps.word.game.dict.WordConstraint;
+import net.capps.word.game.dict.sets.WordSets;
+import net.capps.word.game.gen.PositionLists;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.LetterPoints;
+import net.capps.word.game.tile.RackTile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Boards, racks and moves for the benchmarks, built from a seed so every run on every commit measures the same inputs.
+ *
+ * The game generators use ThreadLocalRandom, so instead the words are picked from the sorted English dictionary
+ * with a seeded Random, and placed wherever they're valid.
+ */
+public class SeededGames {
+    public static final long DEFAULT_SEED = 1234L;
+
+    // Letters are drawn for racks with about the frequency of tiles in a word game bag
+    private static final String RACK_LETTERS = "EEEEEEEEEEEEAAAAAAAAAIIIIIIIIIOOOOOOOONNNNNNRRRRRRTTTTTTLLLLSSSSUUUUDDDDGGGBBCCMMPPFFHHVVWWYYKJXQZ";
+    private static final int MAX_ATTEMPTS = 1000000;
+
+    private static boolean initialized = false;
+    private static ImmutableList<String> sortedWords;
+    private static final Map<Integer, WordSets> wordSetsByLength = new HashMap<>();
+
+    /**
+     * Loads the dictionaries and the game data. Doesn't need a database, unlike SetupHelper.
+     */
+    public static synchronized void init() throws Exception {
+        if (initialized) {
+            return;
+        }
+        Dictionaries.initializeAllDictionaries();
+        FixedLayouts.getInstance().initLayouts();
+        LetterPoints.getInstance().load();
+        PositionLists.getInstance().load();
+        sortedWords = ImmutableList.copyOf(Ordering.natural().sortedCopy(Dictionaries.getEnglishDictSet().getWordSet()));
+        final Map<Integer, List<String>> wordsByLength = new HashMap<>();
+        for (String word: sortedWords) {
+            wordsByLength.computeIfAbsent(word.length(), len -> new ArrayList<>()).add(word);
+        }
+        for (Map.Entry<Integer, List<String>> entry: wordsByLength.entrySet()) {
+            wordSetsByLength.put(entry.getKey(), new WordSets(entry.getKey(), entry.getValue()));
+        }
+        initialized = true;
+    }
+
+    public static ImmutableList<String> getSortedWords() {
+        return sortedWords;
+    }
+
+    public static String randomWord(Random random) {
+        return sortedWords.get(random.nextInt(sortedWords.size()));
+    }
+
+    /**
+     * A game with up to a REGULAR density of words on the fixed bonus layout, and N letter tiles in each rack.
+     * With at least N tiles the AIs always search for a play move first, rather than sometimes grabbing.
+     */
+    public static Game newGame(BoardSize boardSize, long seed) {
+        final Random random = new Random(seed);
+        final int N = boardSize.getN();
+        final TileSet tileSet = new TileSet(N);
+
+        int numWords = 0;
+        for (int i = 0; i < MAX_ATTEMPTS && numWords < GameDensity.REGULAR.getNumWords(boardSize); ++i) {
+            final String word = randomWord(random);
+            final Pos start = randomPos(random, N);
+            final Dir dir = randomDir(random);
+            if (!fitsOnBoard(word, start, dir, N)) {
+                continue;
+            }
+            final Placement placement = new Placement(word, start, dir);
+            if (tileSet.isValidPlacement(placement, null) && !touchesSideOfWord(tileSet, placement)) {
+                tileSet.placeWord(placement);
+                ++numWords;
+            }
+        }
+
+        final SquareSet squareSet = FixedLayouts.getInstance().getFixedLayout(boardSize);
+        return new Game(-1, GameResult.IN_PROGRESS, tileSet, squareSet, randomRack(random, N), randomRack(random, N),
+                0, 0, true, Optional.empty());
+    }
+
+    /**
+     * Valid play word moves for the game's board. Lines of empty and occupied squares are picked at random, and then
+     * a random word that fits the line's letters and cross-checks. Random words rarely fit a crowded board, so the
+     * words are found with the WordSets of each length.
+     */
+    public static List<Move> newValidPlayMoves(Game game, int numMoves, long seed) {
+        final Random random = new Random(seed);
+        final TileSet tileSet = game.getTileSet();
+        final int N = game.getN();
+
+        // Every line a word could be played on: from a start square, in a direction, with a length.
+        final List<Placement> lines = new ArrayList<>();
+        for (Pos start: tileSet) {
+            for (Dir dir: Dir.VALID_PLAY_DIRS) {
+                if (tileSet.isOccupiedAndValid(start.go(dir.negate()))) {
+                    continue;
+                }
+                final int startIndex = dir == Dir.E ? start.c : start.r;
+                for (int len = 2; startIndex + len <= N; ++len) {
+                    if (!tileSet.isOccupiedAndValid(start.go(dir, len))) {
+                        lines.add(new Placement(Strings.repeat("?", len), start, dir));
+                    }
+                }
+            }
+        }
+        Collections.shuffle(lines, random);
+
+        final List<Move> moves = new ArrayList<>(numMoves);
+        for (Placement line: lines) {
+            if (moves.size() >= numMoves) {
+                break;
+            }
+            final Optional<Move> move = newRandomPlayMoveOnLine(tileSet, line, random);
+            if (move.isPresent() && tileSet.isValidPlayWordMove(move.get(), null)) {
+                moves.add(move.get());
+            }
+        }
+        return moves;
+    }
+
+    // --------------- Private ---------------
+
+    private static Optional<Move> newRandomPlayMoveOnLine(TileSet tileSet, Placement line, Random random) {
+        final int len = line.getWord().length();
+        final List<WordConstraint> wcs = new ArrayList<>();
+        final int[] letterMasks = new int[len];
+        boolean hasEmptySquare = false;
+        for (int i = 0; i < len; ++i) {
+            final Pos p = line.getStart().go(line.getDir(), i);
+            if (tileSet.isOccupied(p)) {
+                wcs.add(WordConstraint.of(i, tileSet.getLetterAt(p)));
+                letterMasks[i] = TileSet.ALL_LETTERS;
+            } else {
+                letterMasks[i] = tileSet.getCrossCheck(p, line.getDir());
+                hasEmptySquare = true;
+            }
+        }
+        final WordSets wordSets = wordSetsByLength.get(len);
+        if (!hasEmptySquare || wordSets == null) {
+            return Optional.empty();
+        }
+        final String[] words = wordSets.getIntersection(wcs, letterMasks);
+        if (words.length == 0) {
+            return Optional.empty();
+        }
+
+        final String word = words[random.nextInt(words.length)];
+        final List<RackTile> tiles = new ArrayList<>();
+        for (int i = 0; i < len; ++i) {
+            if (!tileSet.isOccupied(line.getStart().go(line.getDir(), i))) {
+                tiles.add(RackTile.of(word.charAt(i)));
+            }
+        }
+        return Optional.of(new Move(-1, MoveType.PLAY_WORD, word, line.getStart(), line.getDir(), tiles));
+    }
+
+    // Words that only cross the words on the board, rather than running alongside them, leave room to play.
+    private static boolean touchesSideOfWord(TileSet tileSet, Placement placement) {
+        for (int i = 0; i < placement.getWord().length(); ++i) {
+            final Pos p = placement.getStart().go(placement.getDir(), i);
+            if (!tileSet.isOccupied(p) && tileSet.getCrossCheck(p, placement.getDir()) != TileSet.ALL_LETTERS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Pos randomPos(Random random, int N) {
+        return Pos.of(random.nextInt(N), random.nextInt(N));
+    }
+
+    private static boolean fitsOnBoard(String word, Pos start, Dir dir, int N) {
+        final int startIndex = dir == Dir.E ? start.c : start.r;
+        return startIndex + word.length() <= N;
+    }
+
+    private static Dir randomDir(Random random) {
+        return Dir.VALID_PLAY_DIRS[random.nextInt(Dir.VALID_PLAY_DIRS.length)];
+    }
+
+    private static String randomRack(Random random, int numTiles) {
+        final StringBuilder rack = new StringBuilder(numTiles);
+        for (int i = 0; i < numTiles; ++i) {
+            rack.append(RACK_LETTERS.charAt(random.nextInt(RACK_LETTERS.length())));
+        }
+        return rack.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package net.capps.word.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import net.capps.word.game.dict.WordConstraint;
+import net.capps.word.game.dict.sets.WordSets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * WordSets.getIntersection for the English words of one length, with the kinds of constraints the game generator
+ * uses: one or two letters taken from a real word, and optionally a mask of allowed letters for every position.
+ * Times are per intersection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WordSetsBenchmark {
+    private static final int NUM_QUERIES = 256;
+
+    @Param({"4", "7", "10"})
+    public int len;
+
+    private WordSets wordSets;
+    private final List<List<WordConstraint>> constraints = new ArrayList<>(NUM_QUERIES);
+    private final List<int[]> letterMasks = new ArrayList<>(NUM_QUERIES);
+
+    @Setup
+    public void setup() throws Exception {
+        SeededGames.init();
+        final List<String> wordsOfLen = new ArrayList<>();
+        for (String word: SeededGames.getSortedWords()) {
+            if (word.length() == len) {
+                wordsOfLen.add(word);
+            }
+        }
+        wordSets = new WordSets(len, wordsOfLen);
+
+        final Random random = new Random(SeededGames.DEFAULT_SEED);
+        for (int i = 0; i < NUM_QUERIES; ++i) {
+            final String word = wordsOfLen.get(random.nextInt(wordsOfLen.size()));
+            final int pos1 = random.nextInt(len);
+            final int pos2 = random.nextInt(len);
+            constraints.add(pos1 == pos2 ?
+                    ImmutableList.of(WordConstraint.of(pos1, word.charAt(pos1))) :
+                    ImmutableList.of(WordConstraint.of(pos1, word.charAt(pos1)), WordConstraint.of(pos2, word.charAt(pos2))));
+
+            // Allow the word's own letter and about half of the others at each position
+            final int[] masks = new int[len];
+            for (int j = 0; j < len; ++j) {
+                masks[j] = random.nextInt(1 << 26) | 1 << (word.charAt(j) - 'A');
+            }
+            letterMasks.add(masks);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_QUERIES)
+    public int getIntersection() {
+        int numWords = 0;
+        for (List<WordConstraint> wcs: constraints) {
+            numWords += wordSets.getIntersection(wcs).length;
+        }
+        return numWords;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_QUERIES)
+    public int getIntersectionWithLetterMasks() {
+        int numWords = 0;
+        for (int i = 0; i < NUM_QUERIES; ++i) {
+            numWords += wordSets.getIntersection(constraints.get(i), letterMasks.get(i)).length;
+        }
+        return numWords;
+    }
+}
@@ -13,8 +13,10 @@ public class WordConstants {
     public static final String RANDOM_AI_USERNAME = "Monkey";
     public static final String BOOKWORM_AI_USERNAME = "Bookworm";
     public static final String PROFESSOR_AI_USERNAME = "Professor";
+    public static final String GRANDMASTER_AI_USERNAME = "Grandmaster";
 
     public static final SingletonHolder<UserModel> RANDOM_AI_USER = SingletonHolder.absent();
     public static final SingletonHolder<UserModel> BOOKWORM_AI_USER = SingletonHolder.absent();
     public static final SingletonHolder<UserModel> PROFESSOR_AI_USER = SingletonHolder.absent();
+    public static final SingletonHolder<UserModel> GRANDMASTER_AI_USER = SingletonHolder.absent();
 }
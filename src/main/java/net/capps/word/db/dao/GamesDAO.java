@@ -61,6 +61,9 @@ public class GamesDAO {
     private static final String QUERY_GAME_BY_ID =
             "SELECT * FROM word_games WHERE id = ?;";
 
+    private static final String LOCK_GAME_BY_ID =
+            "SELECT id FROM word_games WHERE id = ? FOR UPDATE;";
+
     private static final String SELECT_GAMES_WITH_JOIN_ON_PLAYERS =
             "SELECT word_games.*, " +
                     "p1.username AS p1_username, p1.email AS p1_email, p1.is_system_user AS p1_is_system_user, p1.date_joined AS p1_date_joined, p1.rating AS p1_rating, " +
@@ -182,6 +185,18 @@ public class GamesDAO {
         return Optional.of(getGameByResultSetRow(result));
     }
 
+    /**
+     * Locks the game's row until the transaction ends, so no other transaction can update the game in the meantime.
+     * Must be called with autoCommit == false. Returns false if there's no game with the ID.
+     */
+    public boolean lockGame(int gameId, Connection dbConn) throws SQLException {
+        PreparedStatement stmt = dbConn.prepareStatement(LOCK_GAME_BY_ID);
+        stmt.setInt(1, gameId);
+
+        ResultSet result = stmt.executeQuery();
+        return result.next();
+    }
+
     public Optional<GameModel> getGameWithPlayerModelsById(int gameId, Connection dbConn) throws Exception {
         PreparedStatement stmt = dbConn.prepareStatement(QUERY_GAME_BY_ID_WITH_PLAYERS);
         stmt.setInt(1, gameId);
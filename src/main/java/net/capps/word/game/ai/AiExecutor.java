@@ -0,0 +1,185 @@
+package net.capps.word.game.ai;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Runs every AI computation the server does for players on a fixed number of worker threads, so a burst of slow AI
+ * moves can't tie up the threads the rest of the API needs.
+ *
+ * Interactive tasks, e.g. the Oracle tile, always run before background tasks, e.g. the AI's turn in a single player
+ * game. Within each priority, the users with queued tasks take turns, so one user's games can't starve everyone else.
+ *
+ * At most "ghostwriters.aiMaxQueuedTasks" tasks can wait, and submitting one more throws a BusyException.
+ * The number of threads is "ghostwriters.aiThreads", defaulting to the number of processors.
+ */
+public class AiExecutor {
+    private static final int NUM_THREADS = Integer.parseInt(System.getProperty("ghostwriters.aiThreads",
+            Integer.toString(Runtime.getRuntime().availableProcessors())));
+    private static final int MAX_QUEUED_TASKS = Integer.parseInt(System.getProperty("ghostwriters.aiMaxQueuedTasks", "64"));
+    private static final AiExecutor INSTANCE = new AiExecutor(NUM_THREADS, MAX_QUEUED_TASKS);
+
+    public enum Priority {
+        INTERACTIVE, BACKGROUND
+    }
+
+    /**
+     * Thrown when too many AI tasks are waiting. The caller should ask the client to retry later.
+     */
+    public static class BusyException extends RuntimeException {
+        private final int retryAfterSeconds;
+
+        public BusyException(int retryAfterSeconds) {
+            super("The server is busy. Please try again in a few seconds.");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    private final int numThreads;
+    private final int maxQueuedTasks;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasTasks = lock.newCondition();
+    // For each priority, the queued tasks of each user, with the user whose turn is next first
+    private final Map<Priority, LinkedHashMap<Integer, ArrayDeque<Runnable>>> queues = new EnumMap<>(Priority.class);
+    private int numQueuedTasks;
+    // Moving average of how long a task takes to run, to estimate when to retry. It's only an estimate,
+    // so it doesn't matter if workers race to update it.
+    private volatile long averageTaskNanos;
+
+    public static AiExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    public AiExecutor(int numThreads, int maxQueuedTasks) {
+        this.numThreads = numThreads;
+        this.maxQueuedTasks = maxQueuedTasks;
+        for (Priority priority: Priority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+        for (int i = 1; i <= numThreads; ++i) {
+            Thread worker = new Thread(this::runTasks, "AI Worker " + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues the task to run for the given user.
+     * @throws BusyException if the queue is full.
+     */
+    public <T> Future<T> submit(Priority priority, int userId, Callable<T> task) {
+        final FutureTask<T> futureTask = new FutureTask<>(task);
+        lock.lock();
+        try {
+            if (numQueuedTasks >= maxQueuedTasks) {
+                throw new BusyException(getRetryAfterSeconds());
+            }
+            queues.get(priority).computeIfAbsent(userId, id -> new ArrayDeque<>()).add(futureTask);
+            ++numQueuedTasks;
+            hasTasks.signal();
+        } finally {
+            lock.unlock();
+        }
+        return futureTask;
+    }
+
+    /**
+     * Runs the task for the given user, waiting for the result.
+     * @throws BusyException if the queue is full.
+     */
+    public <T> T call(Priority priority, int userId, Callable<T> task) throws Exception {
+        final Future<T> future = submit(priority, userId, task);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    public int getNumQueuedTasks() {
+        lock.lock();
+        try {
+            return numQueuedTasks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --------------- Private ---------------
+
+    private void runTasks() {
+        while (true) {
+            final Runnable task;
+            lock.lock();
+            try {
+                while (numQueuedTasks == 0) {
+                    hasTasks.await();
+                }
+                task = takeNextTask();
+                --numQueuedTasks;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            final long start = System.nanoTime();
+            task.run(); // A FutureTask, so it doesn't throw
+            final long taskNanos = System.nanoTime() - start;
+            averageTaskNanos += (taskNanos - averageTaskNanos) / 8;
+        }
+    }
+
+    // Must hold the lock, and a task must be queued.
+    private Runnable takeNextTask() {
+        for (LinkedHashMap<Integer, ArrayDeque<Runnable>> userQueues: queues.values()) {
+            final Iterator<Map.Entry<Integer, ArrayDeque<Runnable>>> it = userQueues.entrySet().iterator();
+            if (!it.hasNext()) {
+                continue;
+            }
+            // Take the first user's next task, then move the user to the back of the line.
+            final Map.Entry<Integer, ArrayDeque<Runnable>> entry = it.next();
+            final Integer userId = entry.getKey();
+            final ArrayDeque<Runnable> userQueue = entry.getValue();
+            it.remove();
+            final Runnable task = userQueue.poll();
+            if (!userQueue.isEmpty()) {
+                userQueues.put(userId, userQueue);
+            }
+            return task;
+        }
+        throw new IllegalStateException("No AI tasks are queued.");
+    }
+
+    // Must hold the lock.
+    private int getRetryAfterSeconds() {
+        final long waitNanos = (numQueuedTasks / numThreads + 1) * averageTaskNanos;
+        return (int) Math.max(1L, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+}
@@ -0,0 +1,30 @@
+package net.capps.word.game.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * The ForkJoinPool that AIs split their board searches across.
+ *
+ * It's separate from the web server's request threads and from the common pool, and is sized with the system property
+ * "ghostwriters.aiSearchThreads", defaulting to the number of processors. With 1 thread, searches run on the caller.
+ */
+public class AiSearchPool {
+    private static final int NUM_THREADS = Integer.parseInt(System.getProperty("ghostwriters.aiSearchThreads",
+            Integer.toString(Runtime.getRuntime().availableProcessors())));
+    private static final ForkJoinPool POOL = new ForkJoinPool(NUM_THREADS, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("AI Search " + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    public static ForkJoinPool getPool() {
+        return POOL;
+    }
+
+    public static boolean isParallel() {
+        return NUM_THREADS > 1;
+    }
+}
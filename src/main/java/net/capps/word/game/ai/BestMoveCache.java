@@ -0,0 +1,109 @@
+package net.capps.word.game.ai;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.dict.DictType;
+import net.capps.word.game.move.Move;
+import net.capps.word.rest.models.MoveModel;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A bounded cache of the best play move an AI found for a position, so the same position isn't searched twice.
+ * E.g. when a player uses the Oracle tile more than once before moving.
+ *
+ * Positions are identified by the game's Zobrist hash, along with everything else the search depends on.
+ * The least recently used entries are evicted once there are more than the system property
+ * "ghostwriters.bestMoveCacheSize", defaulting to 1000. A size of 0 turns the cache off.
+ */
+public class BestMoveCache {
+    private static final int MAX_SIZE = Integer.parseInt(System.getProperty("ghostwriters.bestMoveCacheSize", "1000"));
+    private static final BestMoveCache INSTANCE = new BestMoveCache(MAX_SIZE);
+
+    private final Cache<Key, Optional<Move>> cache;
+
+    public static BestMoveCache getInstance() {
+        return INSTANCE;
+    }
+
+    public BestMoveCache(int maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * The best move cached for the key, Optional.empty() if the search found no move, or null if it isn't cached.
+     */
+    public Optional<Move> get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, Optional<Move> bestMove) {
+        cache.put(key, bestMove);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @param aiParams identifies the AI and the parameters its search uses, e.g. the fraction of positions to search.
+     * @param dictionaryOrder the order in which dictionaries were chosen to be searched for this move.
+     * @param currentPlayerId the player the AI is moving for, or null if it isn't known.
+     * @param prevTwoMoves the previous two moves, since they rule out replaying grabbed tiles.
+     */
+    public static Key newKey(Game game, String aiParams, DictType[] dictionaryOrder, Integer currentPlayerId, List<MoveModel> prevTwoMoves) {
+        return new Key(game, aiParams, dictionaryOrder, currentPlayerId, prevTwoMoves);
+    }
+
+    public static class Key {
+        private final int gameId;
+        private final long positionHash;
+        private final String aiParams;
+        private final ImmutableList<DictType> dictionaryOrder;
+        private final Integer currentPlayerId;
+        private final ImmutableList<MoveModel> prevTwoMoves;
+        // MoveModel.equals() ignores who played the move, but replaying grabbed tiles depends on it.
+        private final ImmutableList<Optional<Integer>> prevTwoMovesPlayerIds;
+
+        private Key(Game game, String aiParams, DictType[] dictionaryOrder, Integer currentPlayerId, List<MoveModel> prevTwoMoves) {
+            this.gameId = game.getGameId();
+            this.positionHash = game.getPositionHash();
+            this.aiParams = aiParams;
+            this.dictionaryOrder = ImmutableList.copyOf(dictionaryOrder);
+            this.currentPlayerId = currentPlayerId;
+            this.prevTwoMoves = ImmutableList.copyOf(prevTwoMoves);
+            ImmutableList.Builder<Optional<Integer>> playerIds = ImmutableList.builder();
+            for (MoveModel moveModel: prevTwoMoves) {
+                playerIds.add(Optional.ofNullable(moveModel.getPlayerId()));
+            }
+            this.prevTwoMovesPlayerIds = playerIds.build();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return gameId == key.gameId &&
+                    positionHash == key.positionHash &&
+                    aiParams.equals(key.aiParams) &&
+                    dictionaryOrder.equals(key.dictionaryOrder) &&
+                    Objects.equals(currentPlayerId, key.currentPlayerId) &&
+                    prevTwoMoves.equals(key.prevTwoMoves) &&
+                    prevTwoMovesPlayerIds.equals(key.prevTwoMovesPlayerIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(gameId, positionHash, aiParams, dictionaryOrder, currentPlayerId, prevTwoMoves, prevTwoMovesPlayerIds);
+        }
+    }
+}
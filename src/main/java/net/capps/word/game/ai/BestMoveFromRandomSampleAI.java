@@ -2,26 +2,24 @@ package net.capps.word.game.ai;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import net.capps.word.game.board.Game;
 import net.capps.word.game.board.TileSet;
 import net.capps.word.game.common.Dir;
 import net.capps.word.game.common.Pos;
 import net.capps.word.game.common.Rack;
+import net.capps.word.game.dict.CombinedDictionaryTrie;
 import net.capps.word.game.dict.DictType;
+import net.capps.word.game.dict.Dictionaries;
 import net.capps.word.game.dict.common.DictHelpers;
 import net.capps.word.game.move.Move;
 import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.LetterPoints;
 import net.capps.word.game.tile.RackTile;
 import net.capps.word.rest.models.MoveModel;
 import net.capps.word.util.RandomUtil;
-import org.apache.commons.lang3.mutable.MutableInt;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -35,19 +33,32 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class BestMoveFromRandomSampleAI implements GameAI {
     private static final GrabTileHelper GRAB_TILE_HELPER = GrabTileHelper.getInstance();
+    private static final BestMoveCache BEST_MOVE_CACHE = BestMoveCache.getInstance();
     private static final int MAX_POSITIONS_TO_CHECK = 500;
+    private static final CombinedDictionaryTrie COMBINED_TRIE = Dictionaries.getCombinedDictTrie();
+    private static final LetterPoints LETTER_POINTS = LetterPoints.getInstance();
+    private static final ThreadLocal<SearchScratch> SCRATCH = ThreadLocal.withInitial(SearchScratch::new);
 
     private final float fractionOfPositionsToSearch;
     private final float probabilityToGrab;
     private final float probabilityToSelectWordFromSpecialDict;
     private final ImmutableList<MoveModel> prevTwoMoves;
     private final Integer currentPlayerId;
+    private final long searchTimeLimitMillis;
 
     public BestMoveFromRandomSampleAI(float fractionOfPositionsToSearch, float probabilityToGrab, float probabilityToSelectWordFromSpecialDict) {
         this(fractionOfPositionsToSearch, probabilityToGrab, probabilityToSelectWordFromSpecialDict, ImmutableList.of(), null);
     }
 
     public BestMoveFromRandomSampleAI(float fractionOfPositionsToSearch, float probabilityToGrab, float probabilityToSelectWordFromSpecialDict, List<MoveModel> prevTwoMoves, Integer currentPlayerId) {
+        this(fractionOfPositionsToSearch, probabilityToGrab, probabilityToSelectWordFromSpecialDict, prevTwoMoves, currentPlayerId, 0L);
+    }
+
+    /**
+     * With a searchTimeLimitMillis > 0, the search for a play move stops once the time is up and a move was found,
+     * even if it hasn't searched the given fraction of positions yet.
+     */
+    public BestMoveFromRandomSampleAI(float fractionOfPositionsToSearch, float probabilityToGrab, float probabilityToSelectWordFromSpecialDict, List<MoveModel> prevTwoMoves, Integer currentPlayerId, long searchTimeLimitMillis) {
         Preconditions.checkArgument(fractionOfPositionsToSearch > 0 && fractionOfPositionsToSearch <= 1.f);
         this.fractionOfPositionsToSearch = fractionOfPositionsToSearch;
         this.probabilityToGrab = probabilityToGrab;
@@ -56,22 +67,24 @@ public class BestMoveFromRandomSampleAI implements GameAI {
                 .addAll(prevTwoMoves)
                 .build();
         this.currentPlayerId = currentPlayerId;
+        this.searchTimeLimitMillis = searchTimeLimitMillis;
     }
 
     @Override
     public Move getNextMove(Game game) {
+        final SearchDeadline deadline = SearchDeadline.afterMillis(searchTimeLimitMillis);
 
         // If rack is smaller than largest possible word (N), attempt a grab tiles move first 75% of the time
         if (game.getCurrentPlayerRack().size() < game.getN()) {
             final float rand = ThreadLocalRandom.current().nextFloat();
             if (rand < probabilityToGrab) {
                 // Try a grab move first, then if no move is found, try playing
-                Optional<Move> grabMove = getBestGrabMoveFromSubsetOfPositions(game);
+                Optional<Move> grabMove = GRAB_TILE_HELPER.getBestGrabMove(game, fractionOfPositionsToSearch);
                 if (grabMove.isPresent()) {
                     return grabMove.get();
                 }
 
-                Optional<Move> playMove = getBestMoveFromRandomSubsetOfPositions(game, game.getCurrentPlayerRack(), game.getTileSet());
+                Optional<Move> playMove = getBestMoveFromRandomSubsetOfPositions(game, game.getCurrentPlayerRack(), game.getTileSet(), deadline);
                 if (playMove.isPresent()) {
                     return playMove.get();
                 }
@@ -82,12 +95,12 @@ public class BestMoveFromRandomSampleAI implements GameAI {
 
         // Otherwise...
         // Try a play move first, then if no move is found, try grabbing
-        Optional<Move> playMove = getBestMoveFromRandomSubsetOfPositions(game, game.getCurrentPlayerRack(), game.getTileSet());
+        Optional<Move> playMove = getBestMoveFromRandomSubsetOfPositions(game, game.getCurrentPlayerRack(), game.getTileSet(), deadline);
         if (playMove.isPresent()) {
             return playMove.get();
         }
 
-        Optional<Move> grabMove = getBestGrabMoveFromSubsetOfPositions(game);
+        Optional<Move> grabMove = GRAB_TILE_HELPER.getBestGrabMove(game, fractionOfPositionsToSearch);
         if (grabMove.isPresent()) {
             return grabMove.get();
         }
@@ -97,7 +110,7 @@ public class BestMoveFromRandomSampleAI implements GameAI {
 
     // --------------- Private ----------------
 
-    private Optional<Move> getBestMoveFromRandomSubsetOfPositions(Game game, Rack rack, TileSet tileSet) {
+    private Optional<Move> getBestMoveFromRandomSubsetOfPositions(Game game, Rack rack, TileSet tileSet, SearchDeadline deadline) {
         if (!rack.hasLetterTile()) {
             return Optional.empty();
         }
@@ -108,150 +121,159 @@ public class BestMoveFromRandomSampleAI implements GameAI {
         }
 
         final DictType[] dictionaryOrder = DictHelpers.selectDictionaryOrderForMove(game.getSpecialDict(), probabilityToSelectWordFromSpecialDict);
+        final BestMoveCache.Key cacheKey = BestMoveCache.newKey(game, getCacheParams(), dictionaryOrder, currentPlayerId, prevTwoMoves);
+        final Optional<Move> cachedMove = BEST_MOVE_CACHE.get(cacheKey);
+        if (cachedMove != null) {
+            return cachedMove;
+        }
 
         // Search the possible start positions in a random order.
         final List<Pos> randomOrderPositions = RandomUtil.shuffleList(unoccupiedPositions);
         final int numPositionsToCheck = (int)Math.ceil(fractionOfPositionsToSearch * randomOrderPositions.size());
 
-        for (DictType dictType: dictionaryOrder) {
-            Optional<Move> moveOptional = getBestMoveForDictType(dictType, game, rack, tileSet, randomOrderPositions, numPositionsToCheck);
-            if (moveOptional.isPresent()) {
-                return moveOptional;
-            }
+        // Search every dictionary in one pass over the combined trie, keeping the best move for each dictionary.
+        // The first dictionary in the order with a move wins, as if each dictionary were searched in turn.
+        // So once a dictionary has a move, the dictionaries after it are no longer searched.
+        final int[] dictMasks = new int[dictionaryOrder.length];
+        for (int i = 0; i < dictionaryOrder.length; ++i) {
+            dictMasks[i] = CombinedDictionaryTrie.getDictMask(dictionaryOrder[i]);
         }
-        return Optional.empty();
-    }
-
-    private Optional<Move> getBestMoveForDictType(DictType dictType, Game game, Rack rack, TileSet tileSet, List<Pos> randomOrderPositions, int numPositionsToCheck) {
-        Move bestMove = null;
+        final Move[] bestMoves = new Move[dictionaryOrder.length];
         int numChecked = 0;
 
         for (Pos p: randomOrderPositions) {
-            if (numChecked > numPositionsToCheck && bestMove != null) {
+            if (numChecked > numPositionsToCheck && bestMoves[0] != null) {
+                break;
+            }
+            // Out of time, so return the best move found so far
+            if (hasMove(bestMoves) && deadline.isExpired()) {
                 break;
             }
             Dir[] randomOrderDirs = RandomUtil.shuffleArray(Dir.VALID_PLAY_DIRS);
             for (Dir dir: randomOrderDirs) {
-                Optional<Move> bestMoveForPositionOpt = getBestMoveFromStartPos(game, dictType, tileSet, rack, p, dir);
-                if (bestMoveForPositionOpt.isPresent()) {
-                    if (bestMove == null || bestMoveForPositionOpt.get().getPoints() > bestMove.getPoints()) {
-                        bestMove = bestMoveForPositionOpt.get();
+                Move[] bestMovesForPosition = getBestMovesFromStartPos(game, dictMasks, getSearchMask(dictMasks, bestMoves), tileSet, rack, p, dir);
+                for (int i = 0; i < dictionaryOrder.length; ++i) {
+                    Move move = bestMovesForPosition[i];
+                    if (move != null && (bestMoves[i] == null || move.getPoints() > bestMoves[i].getPoints())) {
+                        bestMoves[i] = move;
                     }
                 }
             }
             ++numChecked;
         }
 
-        return Optional.ofNullable(bestMove);
-    }
-
-    private Optional<Move> getBestGrabMoveFromSubsetOfPositions(Game game) {
-        final TileSet tileSet = game.getTileSet();
-
-        int maxToGrab = game.isPlayer1Turn() ?
-                Rack.MAX_TILES_IN_RACK - game.getPlayer1Rack().size() :
-                Rack.MAX_TILES_IN_RACK - game.getPlayer2Rack().size();
-        maxToGrab = Math.min(maxToGrab, tileSet.N);
-
-        if (maxToGrab <= 0) {
-            return Optional.empty();
+        Optional<Move> bestMove = Optional.empty();
+        for (Move move: bestMoves) {
+            if (move != null) {
+                bestMove = Optional.of(move);
+                break;
+            }
         }
-
-        final List<Pos> startPosList = tileSet.getAllStartTilePositions();
-
-        if (startPosList.isEmpty()) {
-            return Optional.empty();
+        // A search cut short by the deadline may have missed the best move, so don't keep its result for later.
+        if (!deadline.wasReached()) {
+            BEST_MOVE_CACHE.put(cacheKey, bestMove);
         }
+        return bestMove;
+    }
 
-        List<Pos> startPosListRandom = RandomUtil.shuffleList(startPosList);
-        final int numToCheck = (int)Math.ceil(fractionOfPositionsToSearch * startPosListRandom.size());
-
-        int bestPointValue = 0;
-        Move bestMove = null;
+    private String getCacheParams() {
+        return String.format("BestMoveFromRandomSampleAI %f %d", fractionOfPositionsToSearch, searchTimeLimitMillis);
+    }
 
-        for (int i = 0; i < numToCheck; i++) {
-            Pos start = startPosListRandom.get(i);
-            Move grabMove = GRAB_TILE_HELPER.getLongestGrabMove(game, start, maxToGrab);
-            int pointValueOfLetters = grabMove.computeSumOfTilePoints();
-            if (bestMove == null || pointValueOfLetters > bestPointValue) {
-                bestMove = grabMove;
-                bestPointValue = pointValueOfLetters;
+    private static boolean hasMove(Move[] bestMoves) {
+        for (Move move: bestMoves) {
+            if (move != null) {
+                return true;
             }
         }
+        return false;
+    }
 
-        return Optional.of(bestMove); // Should be impossible for bestMove to be null.
+    // The dictionaries up to and including the first one that has a move
+    private static int getSearchMask(int[] dictMasks, Move[] bestMoves) {
+        int searchMask = 0;
+        for (int i = 0; i < dictMasks.length; ++i) {
+            searchMask |= dictMasks[i];
+            if (bestMoves[i] != null) {
+                break;
+            }
+        }
+        return searchMask;
     }
 
-    private Optional<Move> getBestMoveFromStartPos(Game game, DictType dictType, TileSet tileSet, Rack rack, Pos start, Dir dir) {
+    /**
+     * Get the best move for each of the given dictionaries in priority order, with null for a dictionary with no moves.
+     */
+    private Move[] getBestMovesFromStartPos(Game game, int[] dictMasks, int searchMask, TileSet tileSet, Rack rack, Pos start, Dir dir) {
         // Precondition: the start pos isn't an occupied tile.
+        final Move[] bestMoves = new Move[dictMasks.length];
         final Pos originalStart = start;
         Pos firstOccOrAdj = tileSet.getFirstOccupiedOrAdjacent(start, dir, rack.getNumLetterTiles());
         Pos occOrAdj = firstOccOrAdj != null ? firstOccOrAdj : start;
 
+        final SearchScratch scratch = SCRATCH.get();
+        scratch.reset(tileSet.N, rack);
+        int node = CombinedDictionaryTrie.ROOT;
+        int score = 0;
+
         // If the tile in the reverse direction is occupied, we must consider our play including all occupied tiles
         // in that direction.
-        String prefix = "";
-
-        // Compute the prefix if present.
         Pos p = tileSet.getEndOfOccupied(start, dir.negate());
 
         if (!p.equals(originalStart)) {
             start = p;
-            StringBuilder sb = new StringBuilder();
             do {
-                sb.append(tileSet.getLetterAt(p));
+                final char letter = tileSet.getLetterAt(p);
+                scratch.prefix[scratch.prefixLen++] = letter;
+                score += LETTER_POINTS.getPointValue(letter);
+                if (node != CombinedDictionaryTrie.NO_NODE) {
+                    node = COMBINED_TRIE.getChild(node, letter);
+                }
                 p = p.go(dir);
             } while (!p.equals(originalStart));
+        }
 
-            prefix = sb.toString();
+        if (node == CombinedDictionaryTrie.NO_NODE) {
+            return bestMoves;
         }
 
-        List<RackTile> rackCopy = rack.getLetterTiles();
-        List<RackTile> placements = new ArrayList<>();
-        List<Move> foundMoves = new ArrayList<>();
+        SearchState searchState = new SearchState(dictMasks, searchMask, bestMoves);
 
         final int diff = occOrAdj.minus(originalStart);
 
-        MutableInt numPositionsChecked = new MutableInt(0);
-        generateMoves(game, dictType, prefix, diff + 1, tileSet, start, originalStart, dir, placements, rackCopy, foundMoves, numPositionsChecked);
-
-        // If no moves are found, return Optional.empty()
-        if (foundMoves.isEmpty()) {
-            return Optional.empty();
-        }
+        generateMoves(game, scratch, node, score, diff + 1, tileSet, start, originalStart, dir, searchState);
 
-        int bestScore = 0;
-        Move bestMove = null;
-        for (Move move: foundMoves) {
-            int score = game.computeStandardPoints(move);
-            move.setPoints(score);
-            if (score > bestScore || bestMove == null) {
-                bestScore = score;
-                bestMove = move;
-            }
-        }
-
-        return Optional.of(bestMove);
+        return bestMoves;
     }
 
-    private void generateMoves(Game game, DictType dictType, String prefix, int minPlacements, TileSet tileSet, Pos start, Pos tryPos, Dir dir, List<RackTile> placements, List<RackTile> remaining, List<Move> moves, MutableInt numPositionsChecked) {
+    /**
+     * The scratch prefix holds the letters from start up to tryPos, and the scratch is restored before this returns.
+     * The score is the standard points of a move playing the prefix.
+     */
+    private void generateMoves(Game game, SearchScratch scratch, int node, int score, int minPlacements, TileSet tileSet, Pos start, Pos tryPos, Dir dir, SearchState searchState) {
 
-        if (!DictHelpers.isPrefix(prefix, dictType)) {
+        if (node == CombinedDictionaryTrie.NO_NODE) {
             return;
         }
 
-        if (!moves.isEmpty() && numPositionsChecked.getValue() > MAX_POSITIONS_TO_CHECK) {
+        // A dictionary that has found a move stops searching once enough positions were checked
+        if (searchState.numPositionsChecked > MAX_POSITIONS_TO_CHECK) {
+            searchState.searchMask &= ~searchState.foundMask;
+        }
+
+        if ((COMBINED_TRIE.getPrefixMask(node) & searchState.searchMask) == 0) {
             return;
         }
 
-        numPositionsChecked.increment();
+        ++searchState.numPositionsChecked;
 
-        if (placements.size() >= minPlacements && DictHelpers.isWord(prefix, dictType)) {
-            List<RackTile> usedTiles = ImmutableList.<RackTile>builder().addAll(placements).build();
-            Move move = new Move(game.getGameId(), MoveType.PLAY_WORD, prefix, start, dir, usedTiles);
+        final int wordMask = COMBINED_TRIE.getWordMask(node) & searchState.searchMask;
+        if (scratch.numPlaced >= minPlacements && wordMask != 0 && searchState.isBetterMove(wordMask, score)) {
+            Move move = new Move(game.getGameId(), MoveType.PLAY_WORD, scratch.getPrefix(), start, dir, scratch.getPlacedTiles());
             if (tileSet.isValidPlayWordMove(move, null) &&
                 !isReplayGrabbedTiles(move, game)) {
-                moves.add(move);
+                move.setPoints(score);
+                searchState.addMove(move, wordMask);
             }
         }
 
@@ -261,17 +283,31 @@ public class BestMoveFromRandomSampleAI implements GameAI {
         }
 
         if (tileSet.isOccupiedAndValid(tryPos)) {
-            prefix += tileSet.getLetterAt(tryPos);
-            generateMoves(game, dictType, prefix, minPlacements, tileSet, start, nextPos, dir, placements, remaining, moves, numPositionsChecked);
+            final char letter = tileSet.getLetterAt(tryPos);
+            scratch.prefix[scratch.prefixLen++] = letter;
+            generateMoves(game, scratch, COMBINED_TRIE.getChild(node, letter), score + LETTER_POINTS.getPointValue(letter), minPlacements, tileSet, start, nextPos, dir, searchState);
+            --scratch.prefixLen;
         } else {
-            Set<RackTile> remainingSet = Sets.newHashSet(remaining);
-            for (RackTile rackTile : remainingSet) {
-                String word = prefix + rackTile.getLetter();
-                List<RackTile> newPlacements = Lists.newArrayList(placements);
-                List<RackTile> newRemaining = Lists.newArrayList(remaining);
-                newPlacements.add(rackTile);
-                newRemaining.remove(rackTile);
-                generateMoves(game, dictType, word, minPlacements, tileSet, start, nextPos, dir, newPlacements, newRemaining, moves, numPositionsChecked);
+            // Only letters that form valid perpendicular words can be placed here
+            final int crossCheck = tileSet.getCrossCheck(tryPos, dir);
+            final int[] rackCounts = scratch.rackCounts;
+            for (int i = 0; i < rackCounts.length; ++i) {
+                if (rackCounts[i] == 0 || (crossCheck & (1 << i)) == 0) {
+                    continue;
+                }
+                final char letter = (char) ('A' + i);
+                final int childNode = COMBINED_TRIE.getChild(node, letter);
+                if (childNode == CombinedDictionaryTrie.NO_NODE) {
+                    continue;
+                }
+                --rackCounts[i];
+                scratch.placed[scratch.numPlaced++] = letter;
+                scratch.prefix[scratch.prefixLen++] = letter;
+                final int childScore = score + game.computePlacedTilePoints(tryPos, dir, letter);
+                generateMoves(game, scratch, childNode, childScore, minPlacements, tileSet, start, nextPos, dir, searchState);
+                --scratch.prefixLen;
+                --scratch.numPlaced;
+                ++rackCounts[i];
             }
         }
     }
@@ -283,4 +319,84 @@ public class BestMoveFromRandomSampleAI implements GameAI {
         MoveModel moveModel = move.toMoveModel(currentPlayerId, 0);
         return game.getReplayGrabbedTilesError(moveModel, prevTwoMoves).isPresent();
     }
+
+    // The best moves found from one start position, for each dictionary being searched
+    private static class SearchState {
+        private final int[] dictMasks;
+        private final Move[] bestMoves;
+        private int searchMask;
+        private int foundMask;
+        private int numPositionsChecked;
+
+        private SearchState(int[] dictMasks, int searchMask, Move[] bestMoves) {
+            this.dictMasks = dictMasks;
+            this.searchMask = searchMask;
+            this.bestMoves = bestMoves;
+        }
+
+        /**
+         * Whether a word with the given score would be the best move so far for the first dictionary in wordMask.
+         * Other moves don't change the search, so they aren't built or validated.
+         */
+        private boolean isBetterMove(int wordMask, int score) {
+            for (int i = 0; i < dictMasks.length; ++i) {
+                if ((wordMask & dictMasks[i]) != 0) {
+                    return bestMoves[i] == null || score > bestMoves[i].getPoints();
+                }
+            }
+            return false;
+        }
+
+        private void addMove(Move move, int wordMask) {
+            for (int i = 0; i < dictMasks.length; ++i) {
+                if ((wordMask & dictMasks[i]) != 0) {
+                    if (bestMoves[i] == null || move.getPoints() > bestMoves[i].getPoints()) {
+                        bestMoves[i] = move;
+                    }
+                    // Lower priority dictionaries can't be chosen anymore
+                    for (int j = i + 1; j < dictMasks.length; ++j) {
+                        searchMask &= ~dictMasks[j];
+                    }
+                    break;
+                }
+            }
+            foundMask |= wordMask;
+        }
+    }
+
+    /**
+     * Buffers for the search, reused by every search on the same thread so the recursion doesn't allocate.
+     * The rack is a count of each letter, and the prefix and the letters placed from the rack are stacks.
+     */
+    private static class SearchScratch {
+        private final int[] rackCounts = new int[26];
+        private char[] prefix = new char[0];
+        private char[] placed = new char[0];
+        private int prefixLen;
+        private int numPlaced;
+
+        private void reset(int N, Rack rack) {
+            if (prefix.length < N) {
+                prefix = new char[N];
+                placed = new char[N];
+            }
+            prefixLen = 0;
+            numPlaced = 0;
+            for (int i = 0; i < rackCounts.length; ++i) {
+                rackCounts[i] = rack.getLetterCount((char) ('A' + i));
+            }
+        }
+
+        private String getPrefix() {
+            return new String(prefix, 0, prefixLen);
+        }
+
+        private List<RackTile> getPlacedTiles() {
+            ImmutableList.Builder<RackTile> tiles = ImmutableList.builder();
+            for (int i = 0; i < numPlaced; ++i) {
+                tiles.add(RackTile.of(placed[i]));
+            }
+            return tiles.build();
+        }
+    }
 }
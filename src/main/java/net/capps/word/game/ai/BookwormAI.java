@@ -1,5 +1,6 @@
 package net.capps.word.game.ai;
 
+import com.google.common.collect.ImmutableList;
 import net.capps.word.game.board.Game;
 import net.capps.word.game.common.AiType;
 import net.capps.word.game.common.BoardSize;
@@ -22,7 +23,10 @@ public class BookwormAI implements GameAI {
         delegateAI = new BestMoveFromRandomSampleAI(
                 AiType.BOOKWORM_AI.getBoardSearchFraction(boardSize),
                 0.6f,
-                0.05f);
+                0.05f,
+                ImmutableList.of(),
+                null,
+                AiType.BOOKWORM_AI.getSearchTimeLimitMillis(boardSize));
     }
 
     public static BookwormAI getInstance(BoardSize boardSize) {
@@ -0,0 +1,562 @@
+package net.capps.word.game.ai;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.Dir;
+import net.capps.word.game.common.Pos;
+import net.capps.word.game.common.Rack;
+import net.capps.word.game.dict.CombinedDictionaryTrie;
+import net.capps.word.game.dict.DictType;
+import net.capps.word.game.dict.Dictionaries;
+import net.capps.word.game.dict.DictionaryGaddag;
+import net.capps.word.game.dict.common.DictHelpers;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.LetterPoints;
+import net.capps.word.game.tile.RackTile;
+import net.capps.word.rest.models.MoveModel;
+import net.capps.word.util.RandomUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Finds play moves with the DictionaryGaddag, growing words outward from anchor squares.
+ *
+ * An anchor is an empty square next to an occupied square, and every move that touches the board places a tile on one.
+ * From each anchor, words are grown backwards (West or North) and then forwards (East or South) after the GADDAG
+ * separator. So every move through the anchor is found without trying each empty square as a start position.
+ *
+ * A move is only generated from its first anchor: the backwards part never places a tile on another anchor.
+ * Letters are only placed on a square if the TileSet's cross-check allows them, so branches that form invalid
+ * perpendicular words are never searched.
+ *
+ * Grab moves and the choice of dictionary work the same as in BestMoveFromRandomSampleAI.
+ *
+ * In parallel mode, the anchors are split across the AiSearchPool, and the best moves found for each part are merged.
+ * The result is the same as searching the anchors in order on one thread.
+ *
+ * With a search time limit, the search stops once the time is up and returns the best move found so far.
+ */
+public class GaddagAI implements GameAI {
+    private static final GrabTileHelper GRAB_TILE_HELPER = GrabTileHelper.getInstance();
+    private static final BestMoveCache BEST_MOVE_CACHE = BestMoveCache.getInstance();
+    private static final DictionaryGaddag GADDAG = Dictionaries.getDictionaryGaddag();
+    private static final LetterPoints LETTER_POINTS = LetterPoints.getInstance();
+    private static final int MAX_ANCHORS_PER_TASK = 8;
+    private static final Comparator<Move> BY_POINTS_DESCENDING = Comparator.comparingInt(Move::getPoints).reversed();
+
+    private final float fractionOfAnchorsToSearch;
+    private final float probabilityToGrab;
+    private final float probabilityToSelectWordFromSpecialDict;
+    private final ImmutableList<MoveModel> prevTwoMoves;
+    private final Integer currentPlayerId;
+    private final boolean searchInParallel;
+    private final long searchTimeLimitMillis;
+
+    public GaddagAI(float fractionOfAnchorsToSearch, float probabilityToGrab, float probabilityToSelectWordFromSpecialDict) {
+        this(fractionOfAnchorsToSearch, probabilityToGrab, probabilityToSelectWordFromSpecialDict, ImmutableList.of(), null);
+    }
+
+    public GaddagAI(float fractionOfAnchorsToSearch, float probabilityToGrab, float probabilityToSelectWordFromSpecialDict, List<MoveModel> prevTwoMoves, Integer currentPlayerId) {
+        this(fractionOfAnchorsToSearch, probabilityToGrab, probabilityToSelectWordFromSpecialDict, prevTwoMoves, currentPlayerId, false, 0L);
+    }
+
+    /**
+     * A searchTimeLimitMillis of 0 or less means no time limit.
+     */
+    public GaddagAI(float fractionOfAnchorsToSearch, float probabilityToGrab, float probabilityToSelectWordFromSpecialDict, List<MoveModel> prevTwoMoves, Integer currentPlayerId, boolean searchInParallel, long searchTimeLimitMillis) {
+        Preconditions.checkArgument(fractionOfAnchorsToSearch > 0 && fractionOfAnchorsToSearch <= 1.f);
+        this.fractionOfAnchorsToSearch = fractionOfAnchorsToSearch;
+        this.probabilityToGrab = probabilityToGrab;
+        this.probabilityToSelectWordFromSpecialDict = probabilityToSelectWordFromSpecialDict;
+        this.prevTwoMoves = ImmutableList.<MoveModel>builder()
+                .addAll(prevTwoMoves)
+                .build();
+        this.currentPlayerId = currentPlayerId;
+        this.searchInParallel = searchInParallel;
+        this.searchTimeLimitMillis = searchTimeLimitMillis;
+    }
+
+    @Override
+    public Move getNextMove(Game game) {
+        final SearchDeadline deadline = SearchDeadline.afterMillis(searchTimeLimitMillis);
+
+        // If rack is smaller than largest possible word (N), attempt a grab tiles move first some of the time
+        if (game.getCurrentPlayerRack().size() < game.getN()) {
+            final float rand = ThreadLocalRandom.current().nextFloat();
+            if (rand < probabilityToGrab) {
+                // Try a grab move first, then if no move is found, try playing
+                Optional<Move> grabMove = GRAB_TILE_HELPER.getBestGrabMove(game, fractionOfAnchorsToSearch);
+                if (grabMove.isPresent()) {
+                    return grabMove.get();
+                }
+
+                Optional<Move> playMove = getBestPlayMove(game, deadline);
+                if (playMove.isPresent()) {
+                    return playMove.get();
+                }
+
+                return Move.passMove(game.getGameId());
+            }
+        }
+
+        // Otherwise...
+        // Try a play move first, then if no move is found, try grabbing
+        Optional<Move> playMove = getBestPlayMove(game, deadline);
+        if (playMove.isPresent()) {
+            return playMove.get();
+        }
+
+        Optional<Move> grabMove = GRAB_TILE_HELPER.getBestGrabMove(game, fractionOfAnchorsToSearch);
+        if (grabMove.isPresent()) {
+            return grabMove.get();
+        }
+
+        return Move.passMove(game.getGameId());
+    }
+
+    /**
+     * The highest scoring play moves for the given rack, best first, searching from every anchor until the deadline.
+     * Used to look ahead, e.g. to find the opponent's replies, so it always uses the English dictionary and never
+     * uses the best move cache.
+     */
+    public List<Move> getTopPlayMoves(Game game, Rack rack, int maxMoves, SearchDeadline deadline) {
+        Preconditions.checkArgument(maxMoves > 0, "maxMoves must be positive.");
+        if (!rack.hasLetterTile()) {
+            return ImmutableList.of();
+        }
+        final DictType[] dictionaryOrder = { DictType.ENGLISH_WORDS };
+        List<Move> moves = getTopPlayMoves(game, rack, dictionaryOrder, maxMoves, false, deadline);
+        if (moves.isEmpty()) {
+            moves = getTopPlayMoves(game, rack, dictionaryOrder, maxMoves, true, deadline);
+        }
+        return moves;
+    }
+
+    // --------------- Private ----------------
+
+    private Optional<Move> getBestPlayMove(Game game, SearchDeadline deadline) {
+        final Rack rack = game.getCurrentPlayerRack();
+        if (!rack.hasLetterTile()) {
+            return Optional.empty();
+        }
+
+        final DictType[] dictionaryOrder = DictHelpers.selectDictionaryOrderForMove(game.getSpecialDict(), probabilityToSelectWordFromSpecialDict);
+        final BestMoveCache.Key cacheKey = BestMoveCache.newKey(game, getCacheParams(), dictionaryOrder, currentPlayerId, prevTwoMoves);
+        Optional<Move> move = BEST_MOVE_CACHE.get(cacheKey);
+        if (move != null) {
+            return move;
+        }
+
+        move = getBestPlayMove(game, rack, dictionaryOrder, false, deadline);
+        if (!move.isPresent()) {
+            // Words don't have to touch the board, so if nothing touching it can be played, try every empty square.
+            move = getBestPlayMove(game, rack, dictionaryOrder, true, deadline);
+        }
+        // A search cut short by the deadline may have missed the best move, so don't keep its result for later.
+        if (!deadline.wasReached()) {
+            BEST_MOVE_CACHE.put(cacheKey, move);
+        }
+        return move;
+    }
+
+    private String getCacheParams() {
+        return String.format("GaddagAI %f %d", fractionOfAnchorsToSearch, searchTimeLimitMillis);
+    }
+
+    private Optional<Move> getBestPlayMove(Game game, Rack rack, DictType[] dictionaryOrder, boolean anchorEverySquare, SearchDeadline deadline) {
+        final List<Pos> anchors = anchorEverySquare ?
+                game.getTileSet().getAllUnoccupiedPositions() :
+                game.getTileSet().getAnchors();
+        if (anchors.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Search the anchors in a random order, until the fraction to search is done and the first dictionary has a move.
+        final List<Pos> randomOrderAnchors = RandomUtil.shuffleList(anchors);
+        final int numAnchorsToCheck = (int)Math.ceil(fractionOfAnchorsToSearch * randomOrderAnchors.size());
+        final Optional<ForkJoinPool> pool = searchInParallel && AiSearchPool.isParallel() ?
+                Optional.of(AiSearchPool.getPool()) :
+                Optional.empty();
+        return getBestPlayMove(game, rack, dictionaryOrder, anchorEverySquare, randomOrderAnchors, numAnchorsToCheck, pool, deadline);
+    }
+
+    /**
+     * Search the anchors in the given order, as AnchorSearch.searchAnchors() does. With a pool, the first
+     * numAnchorsToCheck anchors are split across it, and the result is the same as without one.
+     */
+    Optional<Move> getBestPlayMove(Game game, Rack rack, DictType[] dictionaryOrder, boolean anchorEverySquare,
+                                   List<Pos> orderedAnchors, int numAnchorsToCheck, Optional<ForkJoinPool> pool,
+                                   SearchDeadline deadline) {
+        final AnchorSearch search = new AnchorSearch(game, dictionaryOrder, rack, anchorEverySquare, deadline);
+        if (pool.isPresent()) {
+            // The TileSet computes its anchors when first asked, so they must be computed before the tasks read them.
+            game.getTileSet().getAnchors();
+            final List<Pos> anchorsToCheck = orderedAnchors.subList(0, numAnchorsToCheck);
+            search.mergeBestMoves(pool.get().invoke(
+                    new AnchorSearchTask(game, dictionaryOrder, rack, anchorEverySquare, deadline, anchorsToCheck)));
+            search.searchAnchors(orderedAnchors.subList(numAnchorsToCheck, orderedAnchors.size()), 0);
+        } else {
+            search.searchAnchors(orderedAnchors, numAnchorsToCheck);
+        }
+
+        for (Move move: search.bestMoves) {
+            if (move != null) {
+                return Optional.of(move);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<Move> getTopPlayMoves(Game game, Rack rack, DictType[] dictionaryOrder, int maxMoves, boolean anchorEverySquare, SearchDeadline deadline) {
+        final AnchorSearch search = new AnchorSearch(game, dictionaryOrder, rack, anchorEverySquare, deadline, maxMoves);
+        final List<Pos> anchors = anchorEverySquare ?
+                game.getTileSet().getAllUnoccupiedPositions() :
+                game.getTileSet().getAnchors();
+        search.searchAnchors(RandomUtil.shuffleList(anchors), anchors.size());
+
+        final List<Move> topMoves = new ArrayList<>(search.topMoves);
+        topMoves.sort(BY_POINTS_DESCENDING);
+        return topMoves;
+    }
+
+    private boolean isReplayGrabbedTiles(Move move, Game game) {
+        if (currentPlayerId == null) {
+            return false;
+        }
+        MoveModel moveModel = move.toMoveModel(currentPlayerId, 0);
+        return game.getReplayGrabbedTilesError(moveModel, prevTwoMoves).isPresent();
+    }
+
+    /**
+     * The state of a search for one move. Positions along the line being searched are indexes into letters:
+     * the column when playing East, and the row when playing South.
+     */
+    private class AnchorSearch {
+        private final Game game;
+        private final TileSet tileSet;
+        private final int N;
+        private final boolean anchorEverySquare;
+        private final SearchDeadline deadline;
+        private final int[] dictMasks;
+        private final Move[] bestMoves;
+        // When searching for the top moves, the best maxTopMoves found so far, lowest scoring first. Otherwise null.
+        private final PriorityQueue<Move> topMoves;
+        private final int maxTopMoves;
+        private final int[] rackCounts = new int[26];
+        private final char[] letters;
+        private int searchMask;
+
+        // The line being searched
+        private Pos anchor;
+        private Dir dir;
+        private int anchorIndex;
+        private int wordStart;
+
+        private AnchorSearch(Game game, DictType[] dictionaryOrder, Rack rack, boolean anchorEverySquare, SearchDeadline deadline) {
+            this(game, dictionaryOrder, rack, anchorEverySquare, deadline, 0);
+        }
+
+        /**
+         * With a positive maxTopMoves, finds the top moves instead of the best move for each dictionary.
+         */
+        private AnchorSearch(Game game, DictType[] dictionaryOrder, Rack rack, boolean anchorEverySquare, SearchDeadline deadline, int maxTopMoves) {
+            this.game = game;
+            this.tileSet = game.getTileSet();
+            this.N = tileSet.N;
+            this.anchorEverySquare = anchorEverySquare;
+            this.deadline = deadline;
+            this.letters = new char[N];
+            this.dictMasks = new int[dictionaryOrder.length];
+            for (int i = 0; i < dictionaryOrder.length; ++i) {
+                dictMasks[i] = CombinedDictionaryTrie.getDictMask(dictionaryOrder[i]);
+                searchMask |= dictMasks[i];
+            }
+            this.bestMoves = new Move[dictionaryOrder.length];
+            this.maxTopMoves = maxTopMoves;
+            this.topMoves = maxTopMoves > 0 ? new PriorityQueue<>(maxTopMoves + 1, Comparator.comparingInt(Move::getPoints)) : null;
+            for (int i = 0; i < rackCounts.length; ++i) {
+                rackCounts[i] = rack.getLetterCount((char) ('A' + i));
+            }
+        }
+
+        /**
+         * Search the anchors in order. After the first numToCheck, stop as soon as the first dictionary has a move.
+         * Once the deadline has passed, stop as soon as any dictionary has a move.
+         */
+        private void searchAnchors(List<Pos> anchors, int numToCheck) {
+            int numChecked = 0;
+            for (Pos anchor: anchors) {
+                if (numChecked >= numToCheck && bestMoves[0] != null) {
+                    break;
+                }
+                if (hasMove() && deadline.isExpired()) {
+                    break;
+                }
+                for (Dir dir: Dir.VALID_PLAY_DIRS) {
+                    searchFromAnchor(anchor, dir);
+                }
+                ++numChecked;
+            }
+        }
+
+        /**
+         * Merge in the best moves of a search of the anchors after the ones searched so far.
+         * On a tie, the move found first is kept, as it would be searching all the anchors in order.
+         */
+        private void mergeBestMoves(Move[] laterBestMoves) {
+            for (int i = 0; i < bestMoves.length; ++i) {
+                final Move move = laterBestMoves[i];
+                if (move != null && (bestMoves[i] == null || move.getPoints() > bestMoves[i].getPoints())) {
+                    bestMoves[i] = move;
+                }
+            }
+            for (int i = 0; i < bestMoves.length; ++i) {
+                if (bestMoves[i] != null) {
+                    // Lower priority dictionaries can't be chosen anymore
+                    for (int j = i + 1; j < dictMasks.length; ++j) {
+                        searchMask &= ~dictMasks[j];
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean hasMove() {
+            if (topMoves != null) {
+                return !topMoves.isEmpty();
+            }
+            for (Move move: bestMoves) {
+                if (move != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void searchFromAnchor(Pos anchor, Dir dir) {
+            this.anchor = anchor;
+            this.dir = dir;
+            this.anchorIndex = indexOf(anchor);
+            searchBackwards(anchorIndex, DictionaryGaddag.ROOT, 0);
+        }
+
+        /**
+         * The score is the standard points of the letters placed so far, counting the perpendicular words they form.
+         */
+        private void searchBackwards(int index, int node, int score) {
+            final Pos p = toPos(index);
+            if (tileSet.isOccupied(p)) {
+                final char letter = tileSet.getLetterAt(p);
+                continueBackwards(index, letter, GADDAG.getChild(node, letter), score + LETTER_POINTS.getPointValue(letter));
+                return;
+            }
+            if (index != anchorIndex && (anchorEverySquare || tileSet.isAnchor(p))) {
+                return;
+            }
+            final int crossCheck = tileSet.getCrossCheck(p, dir);
+            for (int i = 0; i < 26; ++i) {
+                if (rackCounts[i] == 0 || (crossCheck & (1 << i)) == 0) {
+                    continue;
+                }
+                final char letter = (char) ('A' + i);
+                final int child = GADDAG.getChild(node, letter);
+                if (child == DictionaryGaddag.NO_NODE) {
+                    continue;
+                }
+                --rackCounts[i];
+                continueBackwards(index, letter, child, score + game.computePlacedTilePoints(p, dir, letter));
+                ++rackCounts[i];
+            }
+        }
+
+        private void continueBackwards(int index, char letter, int node, int score) {
+            if (node == DictionaryGaddag.NO_NODE || (GADDAG.getPrefixMask(node) & searchMask) == 0) {
+                return;
+            }
+            letters[index] = letter;
+            final boolean canStartHere = !isOccupiedAt(index - 1);
+
+            // Without the separator, the path spells a word that ends at the anchor.
+            final int wordMask = GADDAG.getWordMask(node) & searchMask;
+            if (wordMask != 0 && canStartHere && !isOccupiedAt(anchorIndex + 1)) {
+                addMove(index, anchorIndex, wordMask, score);
+            }
+
+            if (index > 0) {
+                searchBackwards(index - 1, node, score);
+            }
+
+            if (canStartHere && anchorIndex + 1 < N) {
+                final int separatorNode = GADDAG.getChild(node, DictionaryGaddag.SEPARATOR);
+                if (separatorNode != DictionaryGaddag.NO_NODE) {
+                    wordStart = index;
+                    searchForwards(anchorIndex + 1, separatorNode, score);
+                }
+            }
+        }
+
+        private void searchForwards(int index, int node, int score) {
+            final Pos p = toPos(index);
+            if (tileSet.isOccupied(p)) {
+                final char letter = tileSet.getLetterAt(p);
+                continueForwards(index, letter, GADDAG.getChild(node, letter), score + LETTER_POINTS.getPointValue(letter));
+                return;
+            }
+            final int crossCheck = tileSet.getCrossCheck(p, dir);
+            for (int i = 0; i < 26; ++i) {
+                if (rackCounts[i] == 0 || (crossCheck & (1 << i)) == 0) {
+                    continue;
+                }
+                final char letter = (char) ('A' + i);
+                final int child = GADDAG.getChild(node, letter);
+                if (child == DictionaryGaddag.NO_NODE) {
+                    continue;
+                }
+                --rackCounts[i];
+                continueForwards(index, letter, child, score + game.computePlacedTilePoints(p, dir, letter));
+                ++rackCounts[i];
+            }
+        }
+
+        private void continueForwards(int index, char letter, int node, int score) {
+            if (node == DictionaryGaddag.NO_NODE || (GADDAG.getPrefixMask(node) & searchMask) == 0) {
+                return;
+            }
+            letters[index] = letter;
+
+            final int wordMask = GADDAG.getWordMask(node) & searchMask;
+            if (wordMask != 0 && !isOccupiedAt(index + 1)) {
+                addMove(wordStart, index, wordMask, score);
+            }
+
+            if (index + 1 < N) {
+                searchForwards(index + 1, node, score);
+            }
+        }
+
+        private void addMove(int startIndex, int endIndex, int wordMask, int score) {
+            if (topMoves != null) {
+                addTopMove(startIndex, endIndex, score);
+                return;
+            }
+            // Only a move that would be the best so far for its dictionary is built and validated.
+            final int dictIndex = getFirstDictIndex(wordMask);
+            if (bestMoves[dictIndex] != null && score <= bestMoves[dictIndex].getPoints()) {
+                return;
+            }
+            final Move move = newValidMove(startIndex, endIndex);
+            if (move == null) {
+                return;
+            }
+
+            move.setPoints(score);
+            bestMoves[dictIndex] = move;
+            // Lower priority dictionaries can't be chosen anymore
+            for (int j = dictIndex + 1; j < dictMasks.length; ++j) {
+                searchMask &= ~dictMasks[j];
+            }
+        }
+
+        private void addTopMove(int startIndex, int endIndex, int score) {
+            // Only a move that would be one of the top moves so far is built and validated.
+            if (topMoves.size() >= maxTopMoves && score <= topMoves.peek().getPoints()) {
+                return;
+            }
+            final Move move = newValidMove(startIndex, endIndex);
+            if (move == null) {
+                return;
+            }
+            move.setPoints(score);
+            topMoves.add(move);
+            if (topMoves.size() > maxTopMoves) {
+                topMoves.poll();
+            }
+        }
+
+        // The move placing the letters from startIndex to endIndex, or null if it isn't valid.
+        private Move newValidMove(int startIndex, int endIndex) {
+            final String word = new String(letters, startIndex, endIndex - startIndex + 1);
+            final List<RackTile> placements = new ArrayList<>();
+            for (int i = startIndex; i <= endIndex; ++i) {
+                if (!tileSet.isOccupied(toPos(i))) {
+                    placements.add(RackTile.of(letters[i]));
+                }
+            }
+            final Move move = new Move(game.getGameId(), MoveType.PLAY_WORD, word, toPos(startIndex), dir, placements);
+            if (!tileSet.isValidPlayWordMove(move, null) || isReplayGrabbedTiles(move, game)) {
+                return null;
+            }
+            return move;
+        }
+
+        private int getFirstDictIndex(int wordMask) {
+            for (int i = 0; i < dictMasks.length; ++i) {
+                if ((wordMask & dictMasks[i]) != 0) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("No dictionary has the word.");
+        }
+
+        private boolean isOccupiedAt(int index) {
+            return index >= 0 && index < N && tileSet.isOccupied(toPos(index));
+        }
+
+        private int indexOf(Pos p) {
+            return dir == Dir.E ? p.c : p.r;
+        }
+
+        private Pos toPos(int index) {
+            return dir == Dir.E ? Pos.of(anchor.r, index) : Pos.of(index, anchor.c);
+        }
+    }
+
+    /**
+     * Searches a list of anchors by splitting it in halves until the parts are small, returning the best moves.
+     */
+    private class AnchorSearchTask extends RecursiveTask<Move[]> {
+        private final Game game;
+        private final DictType[] dictionaryOrder;
+        private final Rack rack;
+        private final boolean anchorEverySquare;
+        private final SearchDeadline deadline;
+        private final List<Pos> anchors;
+
+        private AnchorSearchTask(Game game, DictType[] dictionaryOrder, Rack rack, boolean anchorEverySquare, SearchDeadline deadline, List<Pos> anchors) {
+            this.game = game;
+            this.dictionaryOrder = dictionaryOrder;
+            this.rack = rack;
+            this.anchorEverySquare = anchorEverySquare;
+            this.deadline = deadline;
+            this.anchors = anchors;
+        }
+
+        @Override
+        protected Move[] compute() {
+            final AnchorSearch search = new AnchorSearch(game, dictionaryOrder, rack, anchorEverySquare, deadline);
+            if (anchors.size() <= MAX_ANCHORS_PER_TASK) {
+                search.searchAnchors(anchors, anchors.size());
+                return search.bestMoves;
+            }
+            final int mid = anchors.size() / 2;
+            final AnchorSearchTask second = new AnchorSearchTask(game, dictionaryOrder, rack, anchorEverySquare, deadline, anchors.subList(mid, anchors.size()));
+            second.fork();
+            final AnchorSearchTask first = new AnchorSearchTask(game, dictionaryOrder, rack, anchorEverySquare, deadline, anchors.subList(0, mid));
+            search.mergeBestMoves(first.compute());
+            search.mergeBestMoves(second.join());
+            return search.bestMoves;
+        }
+    }
+}
@@ -6,12 +6,15 @@ import net.capps.word.game.board.Game;
 import net.capps.word.game.board.TileSet;
 import net.capps.word.game.common.Dir;
 import net.capps.word.game.common.Pos;
+import net.capps.word.game.common.Rack;
 import net.capps.word.game.move.Move;
 import net.capps.word.game.move.MoveType;
 import net.capps.word.game.tile.RackTile;
+import net.capps.word.util.RandomUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -27,6 +30,46 @@ public class GrabTileHelper {
     private GrabTileHelper() {
     }
 
+    /**
+     * The grab move taking the most points of tiles, from a random sample of the start tiles on the board.
+     */
+    public Optional<Move> getBestGrabMove(Game game, float fractionOfPositionsToSearch) {
+        final TileSet tileSet = game.getTileSet();
+
+        int maxToGrab = game.isPlayer1Turn() ?
+                Rack.MAX_TILES_IN_RACK - game.getPlayer1Rack().size() :
+                Rack.MAX_TILES_IN_RACK - game.getPlayer2Rack().size();
+        maxToGrab = Math.min(maxToGrab, tileSet.N);
+
+        if (maxToGrab <= 0) {
+            return Optional.empty();
+        }
+
+        final List<Pos> startPosList = tileSet.getAllStartTilePositions();
+
+        if (startPosList.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Pos> startPosListRandom = RandomUtil.shuffleList(startPosList);
+        final int numToCheck = (int)Math.ceil(fractionOfPositionsToSearch * startPosListRandom.size());
+
+        int bestPointValue = 0;
+        Move bestMove = null;
+
+        for (int i = 0; i < numToCheck; i++) {
+            Pos start = startPosListRandom.get(i);
+            Move grabMove = getLongestGrabMove(game, start, maxToGrab);
+            int pointValueOfLetters = grabMove.computeSumOfTilePoints();
+            if (bestMove == null || pointValueOfLetters > bestPointValue) {
+                bestMove = grabMove;
+                bestPointValue = pointValueOfLetters;
+            }
+        }
+
+        return Optional.of(bestMove); // Should be impossible for bestMove to be null.
+    }
+
     public Move getLongestGrabMove(Game game, Pos start, final int maxToGrab) {
         Preconditions.checkArgument(maxToGrab > 0, "Can't get a grab move when maxToGrab isn't positive!");
         final TileSet tileSet = game.getTileSet();
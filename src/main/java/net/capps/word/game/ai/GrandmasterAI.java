@@ -0,0 +1,197 @@
+package net.capps.word.game.ai;
+
+import net.capps.word.game.board.Game;
+import net.capps.word.game.common.AiType;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.common.Rack;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.tile.LetterPoints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Looks two moves ahead, instead of greedily playing the highest scoring move like the Professor.
+ *
+ * The candidates are the top scoring play moves and the best grab move. Each candidate is applied to the game, then
+ * the opponent's top replies and best grab are applied in turn, and the position after each reply is evaluated.
+ * A candidate is worth its worst outcome, since the racks are known and the opponent can choose any reply.
+ *
+ * A position is worth the difference in points, plus the weighted point value of the tiles in each rack, because
+ * tiles in a rack are points still to be played. So grabbing good tiles, or leaving the opponent a poor reply, can beat
+ * a few more points now.
+ *
+ * The replies of a candidate stop being searched as soon as one makes it worse than the best candidate so far. The
+ * candidates are searched best first, and the search stops at the time limit with the best candidate found so far.
+ * A candidate whose replies were cut short by the time limit isn't used, unless it's the first, since its value is
+ * the worst of only some replies.
+ */
+public class GrandmasterAI implements GameAI {
+    private static final GrandmasterAI TALL_INSTANCE = new GrandmasterAI(BoardSize.TALL);
+    private static final GrandmasterAI GRANDE_INSTANCE = new GrandmasterAI(BoardSize.GRANDE);
+    private static final GrandmasterAI VENTI_INSTANCE = new GrandmasterAI(BoardSize.VENTI);
+
+    private static final GrabTileHelper GRAB_TILE_HELPER = GrabTileHelper.getInstance();
+    private static final LetterPoints LETTER_POINTS = LetterPoints.getInstance();
+
+    private static final int NUM_CANDIDATES = 8;
+    private static final int NUM_REPLIES = 4;
+    // How much a tile's point value is worth while still in a rack. Tuned with Tournament games against the Professor:
+    // a tile is worth more in the rack than on the board, since a bigger rack can make a longer word over more bonuses.
+    private static final float RACK_TILE_WEIGHT = 3f;
+    private static final float WIN_VALUE = 10000f;
+
+    private final GaddagAI moveGenerator;
+    private final float boardSearchFraction;
+    private final long searchTimeLimitMillis;
+
+    private GrandmasterAI(BoardSize boardSize) {
+        this(boardSize, AiType.GRANDMASTER_AI.getSearchTimeLimitMillis(boardSize));
+    }
+
+    GrandmasterAI(BoardSize boardSize, long searchTimeLimitMillis) {
+        this.boardSearchFraction = AiType.GRANDMASTER_AI.getBoardSearchFraction(boardSize);
+        this.searchTimeLimitMillis = searchTimeLimitMillis;
+        this.moveGenerator = new GaddagAI(boardSearchFraction, 0f, 0f);
+    }
+
+    public static GrandmasterAI getInstance(BoardSize boardSize) {
+        switch (boardSize) {
+            case TALL:
+                return TALL_INSTANCE;
+            case GRANDE:
+                return GRANDE_INSTANCE;
+            case VENTI:
+                return VENTI_INSTANCE;
+        }
+        throw new IllegalArgumentException("Invalid board size: " + boardSize);
+    }
+
+    @Override
+    public Move getNextMove(Game game) {
+        final SearchDeadline deadline = SearchDeadline.afterMillis(searchTimeLimitMillis);
+
+        final List<Move> candidates = getCandidateMoves(game, NUM_CANDIDATES, deadline);
+        if (candidates.isEmpty()) {
+            return Move.passMove(game.getGameId());
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        return chooseCandidate(game, candidates, deadline);
+    }
+
+    // --------------- Package-private ---------------
+
+    /**
+     * The candidate with the best value after the opponent's replies, searching the candidates in order until the
+     * deadline. The first candidate is always evaluated, and any later candidate is only chosen if its replies were
+     * all searched before the deadline.
+     */
+    Move chooseCandidate(Game game, List<Move> candidates, SearchDeadline deadline) {
+        final boolean player1 = game.isPlayer1Turn();
+        Move bestMove = null;
+        float bestValue = Float.NEGATIVE_INFINITY;
+        for (Move candidate: candidates) {
+            if (bestMove != null && deadline.isExpired()) {
+                break;
+            }
+            final float value = evaluateCandidate(game, candidate, player1, bestValue, deadline);
+            if (bestMove != null && deadline.wasReached()) {
+                // Only some of the replies were searched, so the value could be too high.
+                break;
+            }
+            if (bestMove == null || value > bestValue) {
+                bestMove = candidate;
+                bestValue = value;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * The top play moves for the current player, best first, then the best grab move.
+     */
+    List<Move> getCandidateMoves(Game game, int numPlayMoves, SearchDeadline deadline) {
+        final List<Move> moves = new ArrayList<>(numPlayMoves + 1);
+        moves.addAll(moveGenerator.getTopPlayMoves(game, game.getCurrentPlayerRack(), numPlayMoves, deadline));
+        final Optional<Move> grabMove = GRAB_TILE_HELPER.getBestGrabMove(game, boardSearchFraction);
+        if (grabMove.isPresent()) {
+            moves.add(grabMove.get());
+        }
+        return moves;
+    }
+
+    // --------------- Private ---------------
+
+    /**
+     * The value of the candidate for the given player, after the opponent's worst reply for them.
+     * Once the value is known to be at most alpha, it's returned without searching the rest of the replies.
+     */
+    private float evaluateCandidate(Game game, Move candidate, boolean player1, float alpha, SearchDeadline deadline) {
+        game.apply(candidate);
+        try {
+            if (game.getGameResult() != GameResult.IN_PROGRESS) {
+                return evaluate(game, player1);
+            }
+            List<Move> replies = getCandidateMoves(game, NUM_REPLIES, deadline);
+            if (replies.isEmpty()) {
+                replies = new ArrayList<>();
+                replies.add(Move.passMove(game.getGameId()));
+            }
+
+            float minValue = Float.POSITIVE_INFINITY;
+            for (Move reply: replies) {
+                game.apply(reply);
+                try {
+                    minValue = Math.min(minValue, evaluate(game, player1));
+                } finally {
+                    game.undo();
+                }
+                if (minValue <= alpha) {
+                    break;
+                }
+            }
+            return minValue;
+        } finally {
+            game.undo();
+        }
+    }
+
+    private static float evaluate(Game game, boolean player1) {
+        final int pointsDiff = player1 ?
+                game.getPlayer1Points() - game.getPlayer2Points() :
+                game.getPlayer2Points() - game.getPlayer1Points();
+
+        switch (game.getGameResult()) {
+            case IN_PROGRESS:
+                final int rackDiff = player1 ?
+                        getRackValue(game.getPlayer1Rack()) - getRackValue(game.getPlayer2Rack()) :
+                        getRackValue(game.getPlayer2Rack()) - getRackValue(game.getPlayer1Rack());
+                return pointsDiff + RACK_TILE_WEIGHT * rackDiff;
+            case PLAYER1_WIN:
+            case PLAYER2_RESIGN:
+                return (player1 ? WIN_VALUE : -WIN_VALUE) + pointsDiff;
+            case PLAYER2_WIN:
+            case PLAYER1_RESIGN:
+                return (player1 ? -WIN_VALUE : WIN_VALUE) + pointsDiff;
+            default:
+                return pointsDiff;
+        }
+    }
+
+    private static int getRackValue(Rack rack) {
+        int value = 0;
+        for (char c = 'A'; c <= 'Z'; ++c) {
+            final int count = rack.getLetterCount(c);
+            if (count > 0) {
+                value += count * LETTER_POINTS.getPointValue(c);
+            }
+        }
+        return value;
+    }
+}
@@ -11,17 +11,17 @@ import java.util.List;
  * <p/>
  * The "Scry AI" for the powerup Scry Tiles.
  *
- * Examines 90% of positions on the board for the best possible move.
+ * Examines every anchor square on the board for the best possible move, split across the AiSearchPool.
  *
  * Always prefers a play tiles move over trying to grab.
  *
  * Always tries a word from the special dictionary first (if present).
  */
 public class OracleTileAI implements GameAI {
-    private final BestMoveFromRandomSampleAI delegateAI;
+    private final GaddagAI delegateAI;
 
     public OracleTileAI(List<MoveModel> prevTwoMoves, Integer currentPlayerId) {
-        delegateAI = new BestMoveFromRandomSampleAI(1f, 0f, 1f, prevTwoMoves, currentPlayerId);
+        delegateAI = new GaddagAI(1f, 0f, 1f, prevTwoMoves, currentPlayerId, true, 0L);
     }
 
     @Override
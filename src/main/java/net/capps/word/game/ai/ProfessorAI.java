@@ -1,5 +1,6 @@
 package net.capps.word.game.ai;
 
+import com.google.common.collect.ImmutableList;
 import net.capps.word.game.board.Game;
 import net.capps.word.game.common.AiType;
 import net.capps.word.game.common.BoardSize;
@@ -19,10 +20,14 @@ public class ProfessorAI implements GameAI {
     private static final ProfessorAI VENTI_INSTANCE = new ProfessorAI(BoardSize.VENTI);
 
     private ProfessorAI(BoardSize boardSize) {
-        delegateAI = new BestMoveFromRandomSampleAI(
+        delegateAI = new GaddagAI(
                 AiType.PROFESSOR_AI.getBoardSearchFraction(boardSize),
                 0.8f,
-                0.15f);
+                0.15f,
+                ImmutableList.of(),
+                null,
+                true,
+                AiType.PROFESSOR_AI.getSearchTimeLimitMillis(boardSize));
     }
 
     public static ProfessorAI getInstance(BoardSize boardSize) {
@@ -38,7 +43,7 @@ public class ProfessorAI implements GameAI {
 
     }
 
-    private final BestMoveFromRandomSampleAI delegateAI;
+    private final GaddagAI delegateAI;
 
     @Override
     public Move getNextMove(Game game) {
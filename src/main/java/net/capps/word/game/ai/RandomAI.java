@@ -9,8 +9,8 @@ import net.capps.word.game.common.Dir;
 import net.capps.word.game.common.Pos;
 import net.capps.word.game.common.Rack;
 import net.capps.word.game.dict.Dictionaries;
-import net.capps.word.game.dict.DictionarySet;
 import net.capps.word.game.dict.DictionaryTrie;
+import net.capps.word.game.dict.tries.TrieCursor;
 import net.capps.word.game.gen.PositionLists;
 import net.capps.word.game.move.Move;
 import net.capps.word.game.move.MoveType;
@@ -43,7 +43,6 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class RandomAI implements GameAI {
     private static final PositionLists POSITION_LISTS = PositionLists.getInstance();
-    private static final DictionarySet SET = Dictionaries.getEnglishDictSet();
     private static final DictionaryTrie TRIE = Dictionaries.getEnglishDictTrie();
     private static final GrabTileHelper GRAB_TILE_HELPER = GrabTileHelper.getInstance();
 
@@ -150,20 +149,19 @@ public class RandomAI implements GameAI {
 
         // If the tile in the reverse direction is occupied, we must consider our play including all occupied tiles
         // in that direction.
-        String prefix = "";
+        final TrieCursor cursor = TRIE.newCursor();
 
-        // Compute the prefix if present.
+        // Advance the cursor through the prefix if present.
         Pos p = tileSet.getEndOfOccupied(start, dir.negate());
 
         if (!p.equals(originalStart)) {
             start = p;
-            StringBuilder sb = new StringBuilder();
             do {
-                sb.append(tileSet.getLetterAt(p));
+                if (!cursor.advance(tileSet.getLetterAt(p))) {
+                    return Optional.empty();
+                }
                 p = p.go(dir);
             } while (!p.equals(originalStart));
-
-            prefix = sb.toString();
         }
 
         final List<RackTile> rackCopy = rack.getLetterTiles();
@@ -172,7 +170,7 @@ public class RandomAI implements GameAI {
 
         final int diff = occOrAdj.minus(start);
 
-        generateMoves(gameId, prefix, diff + 1, tileSet, start, originalStart, dir, placements, rackCopy, foundMoves);
+        generateMoves(gameId, cursor, diff + 1, tileSet, start, originalStart, dir, placements, rackCopy, foundMoves);
 
         // If no moves are found, return Optional.empty()
         if (foundMoves.isEmpty()) {
@@ -185,41 +183,52 @@ public class RandomAI implements GameAI {
 
     }
 
-    private void generateMoves(int gameId, String prefix, int minPlacements, TileSet tileSet, Pos start, Pos tryPos, Dir dir, List<RackTile> placements, List<RackTile> remaining, List<Move> moves) {
-
-        if (!TRIE.isPrefix(prefix)) {
-            return;
-        }
+    /**
+     * Precondition: the cursor is at the letters from start up to tryPos, which are a prefix of some word.
+     * The cursor is back at the same place when this returns.
+     */
+    private void generateMoves(int gameId, TrieCursor cursor, int minPlacements, TileSet tileSet, Pos start, Pos tryPos, Dir dir, List<RackTile> placements, List<RackTile> remaining, List<Move> moves) {
 
         if (moves.size() > MAX_MOVES_TO_TRY) {
             return;
         }
 
-        if (placements.size() >= minPlacements && SET.contains(prefix)) {
+        if (placements.size() >= minPlacements && cursor.isWord()) {
             List<RackTile> usedTiles = ImmutableList.<RackTile>builder().addAll(placements).build();
-            Move move = new Move(gameId, MoveType.PLAY_WORD, prefix, start, dir, usedTiles);
+            Move move = new Move(gameId, MoveType.PLAY_WORD, cursor.getPrefix(), start, dir, usedTiles);
             if (tileSet.isValidPlayWordMove(move, null)) {
                 moves.add(move);
             }
         }
 
+        if (!cursor.hasChildren()) {
+            return;
+        }
+
         Pos nextPos = tryPos.go(dir);
         if (!tileSet.isValid(nextPos)) {
             return;
         }
 
         if (tileSet.isOccupiedAndValid(tryPos)) {
-            prefix += tileSet.getLetterAt(tryPos);
-            generateMoves(gameId, prefix, minPlacements, tileSet, start, nextPos, dir, placements, remaining, moves);
+            if (cursor.advance(tileSet.getLetterAt(tryPos))) {
+                generateMoves(gameId, cursor, minPlacements, tileSet, start, nextPos, dir, placements, remaining, moves);
+                cursor.retreat();
+            }
         } else {
+            // Only letters that form valid perpendicular words can be placed here
+            final int crossCheck = tileSet.getCrossCheck(tryPos, dir);
             Set<RackTile> remainingSet = Sets.newHashSet(remaining);
             for (RackTile rackTile : remainingSet) {
-                String word = prefix + rackTile.getLetter();
+                if ((crossCheck & (1 << (rackTile.getLetter() - 'A'))) == 0 || !cursor.advance(rackTile.getLetter())) {
+                    continue;
+                }
                 List<RackTile> newPlacements = Lists.newArrayList(placements);
                 List<RackTile> newRemaining = Lists.newArrayList(remaining);
                 newPlacements.add(rackTile);
                 newRemaining.remove(rackTile);
-                generateMoves(gameId, word, minPlacements, tileSet, start, nextPos, dir, newPlacements, newRemaining, moves);
+                generateMoves(gameId, cursor, minPlacements, tileSet, start, nextPos, dir, newPlacements, newRemaining, moves);
+                cursor.retreat();
             }
         }
     }
@@ -0,0 +1,71 @@
+package net.capps.word.game.ai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * The time by which an AI should stop searching and return the best move it has found so far.
+ */
+public class SearchDeadline {
+    private static final SearchDeadline NONE = new SearchDeadline(false, 0L, null);
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    // If present, the deadline passes when this becomes true, instead of at deadlineNanos
+    private final BooleanSupplier condition;
+    // Set once isExpired() returns true, i.e. once a search was cut short. Searches can run on several threads.
+    private volatile boolean reached;
+
+    /**
+     * A deadline the given number of milliseconds from now, or no deadline if millis is 0 or less.
+     */
+    public static SearchDeadline afterMillis(long millis) {
+        if (millis <= 0) {
+            return NONE;
+        }
+        return new SearchDeadline(true, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis), null);
+    }
+
+    /**
+     * A deadline that passes once the condition is true, so tests can cut a search short at a known point.
+     */
+    static SearchDeadline when(BooleanSupplier condition) {
+        return new SearchDeadline(true, 0L, condition);
+    }
+
+    public static SearchDeadline none() {
+        return NONE;
+    }
+
+    private SearchDeadline(boolean hasDeadline, long deadlineNanos, BooleanSupplier condition) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.condition = condition;
+    }
+
+    /**
+     * Whether the deadline has passed. Searches only call this when they'd stop if it returns true.
+     */
+    public boolean isExpired() {
+        if (reached) {
+            return true;
+        }
+        if (!hasDeadline) {
+            return false;
+        }
+        if (condition != null ? condition.getAsBoolean() : System.nanoTime() - deadlineNanos >= 0) {
+            reached = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether isExpired() ever returned true, i.e. whether a search stopped early and may have missed better moves.
+     */
+    public boolean wasReached() {
+        return reached;
+    }
+}
@@ -8,6 +8,7 @@ import net.capps.word.game.common.Dir;
 import net.capps.word.game.common.GameResult;
 import net.capps.word.game.common.Pos;
 import net.capps.word.game.common.Rack;
+import net.capps.word.game.common.ZobristKeys;
 import net.capps.word.game.dict.SpecialDict;
 import net.capps.word.game.move.Move;
 import net.capps.word.game.move.MoveType;
@@ -22,7 +23,9 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,7 +53,8 @@ public class Game {
     private boolean player1Turn;
     private GameResult gameResult;
     private Optional<Move> previousMoveOpt;
-
+    // The state before each move played with apply(), most recent first
+    private final Deque<UndoRecord> undoRecords = new ArrayDeque<>();
 
     public Game(GameModel gameModel, Optional<Move> previousMoveOpt) throws Exception {
         Preconditions.checkNotNull(gameModel);
@@ -59,12 +63,11 @@ public class Game {
         Preconditions.checkNotNull(gameModel.getSquares());
         this.gameId = Preconditions.checkNotNull(gameModel.getId());
         this.specialDict = gameModel.getSpecialDict();
-        Reader squareReader = new StringReader(gameModel.getSquares());
-        Reader tileReader = new StringReader(gameModel.getTiles());
         N = gameModel.getBoardSize().getN();
         squareSet = new SquareSet(N);
         tileSet = new TileSet(N);
-        load(squareReader, tileReader);
+        squareSet.load(new StringReader(gameModel.getSquares()));
+        tileSet.load(gameModel.getTiles());
         player1Rack = new Rack(gameModel.getPlayer1Rack());
         player2Rack = new Rack(gameModel.getPlayer2Rack());
         player1Points = gameModel.getPlayer1Points();
@@ -111,6 +114,14 @@ public class Game {
         return squareSet;
     }
 
+    /**
+     * A 64-bit Zobrist hash of the tiles on the board, the letter tiles in the current player's rack, and whose turn it is.
+     */
+    public long getPositionHash() {
+        final long turnKey = player1Turn ? ZobristKeys.player1TurnKey() : 0L;
+        return tileSet.getZobristHash() ^ getCurrentPlayerRack().getLetterTilesZobristHash() ^ turnKey;
+    }
+
     public TileSet getTileSet() {
         return tileSet;
     }
@@ -147,6 +158,10 @@ public class Game {
         return gameResult;
     }
 
+    public Optional<Move> getPreviousMoveOpt() {
+        return previousMoveOpt;
+    }
+
     public Optional<ErrorModel> getMoveError(Move move) {
         if (gameResult != GameResult.IN_PROGRESS && gameResult != GameResult.OFFERED) {
             return ERR_CANNOT_PLAY;
@@ -250,6 +265,10 @@ public class Game {
         if (gameResult != GameResult.IN_PROGRESS && gameResult != GameResult.OFFERED) {
             throw new IllegalStateException("Can't play a move for a finished game!");
         }
+        if (undoRecords.isEmpty()) {
+            // Nothing can be undone, so the board doesn't need to keep a log of this move.
+            tileSet.clearUndoLog();
+        }
         switch (validatedMove.getMoveType()) {
             case PLAY_WORD:
                 return playWordMove(validatedMove);
@@ -267,6 +286,47 @@ public class Game {
         }
     }
 
+    /**
+     * Plays a validated move like playMove(), so that undo() can revert it. Moves can be applied and undone to any depth,
+     * for searching ahead without copying the game.
+     */
+    public PlayResult apply(Move validatedMove) {
+        final UndoRecord undoRecord = new UndoRecord(this);
+        // The mover's rack is changed, so play the move on a copy and keep the original to restore.
+        if (player1Turn) {
+            player1Rack = new Rack(player1Rack);
+        } else {
+            player2Rack = new Rack(player2Rack);
+        }
+        undoRecords.push(undoRecord);
+        try {
+            return playMove(validatedMove);
+        } catch (RuntimeException e) {
+            undo();
+            throw e;
+        }
+    }
+
+    /**
+     * Reverts the most recent move played with apply(), restoring the tiles, racks, points, turn, result and previous move.
+     */
+    public void undo() {
+        Preconditions.checkState(!undoRecords.isEmpty(), "There's no applied move to undo.");
+        final UndoRecord undoRecord = undoRecords.pop();
+        tileSet.undoTo(undoRecord.tileUndoLogSize);
+        player1Rack = undoRecord.player1Rack;
+        player2Rack = undoRecord.player2Rack;
+        player1Points = undoRecord.player1Points;
+        player2Points = undoRecord.player2Points;
+        player1Turn = undoRecord.player1Turn;
+        gameResult = undoRecord.gameResult;
+        previousMoveOpt = undoRecord.previousMoveOpt;
+    }
+
+    public int getNumUndoableMoves() {
+        return undoRecords.size();
+    }
+
     public int computeStandardPoints(Move move) {
         if (move.getMoveType() != MoveType.PLAY_WORD) {
             return 0;
@@ -301,6 +361,21 @@ public class Game {
         return totalPoints;
     }
 
+    /**
+     * The points that placing a tile with letter c on the empty square p adds to a move in the given direction,
+     * counting the perpendicular word it forms. The standard points of a move are the sum of this for each tile placed,
+     * plus the point value of each tile already on the board that's part of the word.
+     */
+    public int computePlacedTilePoints(Pos p, Dir dir, char c) {
+        final int tilePoints = letterPoints.getPointValue(c) * squareSet.get(p).getLetterMultiplier();
+        final int perpWordBaseScore = tileSet.getPerpWordBaseScore(p, dir);
+        if (perpWordBaseScore == TileSet.NO_PERP_WORD) {
+            return tilePoints;
+        }
+        // The tile counts once in the word played and once in the perpendicular word.
+        return 2 * tilePoints + perpWordBaseScore;
+    }
+
     /**
      * Precondition: move.getMoveType == MoveType.PLAY_WORD_MOVE
      */
@@ -490,6 +565,28 @@ public class Game {
         return tileSet.isValidGrabTilesMove(move);
     }
 
+    private static class UndoRecord {
+        private final int tileUndoLogSize;
+        private final Rack player1Rack;
+        private final Rack player2Rack;
+        private final int player1Points;
+        private final int player2Points;
+        private final boolean player1Turn;
+        private final GameResult gameResult;
+        private final Optional<Move> previousMoveOpt;
+
+        private UndoRecord(Game game) {
+            this.tileUndoLogSize = game.tileSet.getUndoLogSize();
+            this.player1Rack = game.player1Rack;
+            this.player2Rack = game.player2Rack;
+            this.player1Points = game.player1Points;
+            this.player2Points = game.player2Points;
+            this.player1Turn = game.player1Turn;
+            this.gameResult = game.gameResult;
+            this.previousMoveOpt = game.previousMoveOpt;
+        }
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
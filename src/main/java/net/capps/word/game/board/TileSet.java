@@ -1,16 +1,21 @@
 package net.capps.word.game.board;
 
 import com.google.common.base.Preconditions;
+import com.google.common.io.CharStreams;
 import net.capps.word.exceptions.InvalidBoardException;
 import net.capps.word.game.common.Dir;
 import net.capps.word.game.common.Placement;
 import net.capps.word.game.common.Pos;
 import net.capps.word.game.common.PosIterator;
+import net.capps.word.game.common.ZobristKeys;
 import net.capps.word.game.dict.Dictionaries;
 import net.capps.word.game.dict.DictionarySet;
+import net.capps.word.game.dict.DictionaryTrie;
 import net.capps.word.game.dict.SpecialDict;
+import net.capps.word.game.dict.tries.TrieCursor;
 import net.capps.word.game.move.Move;
 import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.LetterPoints;
 import net.capps.word.game.tile.LetterUtils;
 import net.capps.word.game.tile.RackTile;
 import net.capps.word.game.tile.Tile;
@@ -20,6 +25,8 @@ import net.capps.word.rest.models.ErrorWordModel;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +38,12 @@ import static java.lang.String.format;
  */
 public class TileSet implements Iterable<Pos> {
     private static final DictionarySet DICTIONARY_SET = Dictionaries.getEnglishDictSet();
+    private static final DictionaryTrie DICTIONARY_TRIE = Dictionaries.getEnglishDictTrie();
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final int UNKNOWN_CROSS_CHECK = -1;
+    public static final int NO_PERP_WORD = -1;
+    private static final int UNKNOWN_PERP_SCORE = -2;
+    private static final LetterPoints LETTER_POINTS = LetterPoints.getInstance();
 
     // ----------- Errors ----------
     private static final Optional<String> ERR_GRAB_TILES_ON_EMPTY = Optional.of("Grab tiles move must start on an occupied tile");
@@ -38,18 +51,53 @@ public class TileSet implements Iterable<Pos> {
     private static final Optional<String> ERR_INVALID_MOVE_START = Optional.of("A move can't start in the middle of a word on the board!");
     private static final Optional<String> ERR_MUST_PLAY_ALL_TILES = Optional.of("All tiles being played must be used in the word formed.");
 
-    public final Tile[][] tiles;
+    // Only changed through replaceTile(), which keeps the bitboards and the Zobrist hash in step
+    private final Tile[][] tiles;
     public final int N;
+    private final long fullRowMask;
+
+    // Bitboards of the tiles: bit c of row r's long, and bit r of column c's long, are set for a tile at (r, c).
+    // Played tiles are the occupied squares that aren't start tiles.
+    private final long[] occupiedRows;
+    private final long[] occupiedCols;
+    private final long[] startTileRows;
+
+    // Computed as needed and cached until the tiles change. Indexed by r * N + c.
+    // Several threads may read the caches of an unchanging TileSet once getAnchors() has been called:
+    // each cross-check is one int, and computing it twice gives the same value.
+    private final int[] crossChecksE;
+    private final int[] crossChecksS;
+    private final int[] perpScoresE;
+    private final int[] perpScoresS;
+    private List<Pos> anchors;
+    private long[] anchorRows;
+
+    // Zobrist hash of the tiles, updated as each tile changes
+    private long zobristHash;
+
+    // Undo log of the tiles changed by moves: the index r * N + c of each changed tile, and the tile it replaced.
+    private int[] undoLogIndices = new int[16];
+    private Tile[] undoLogTiles = new Tile[16];
+    private int undoLogSize;
 
     public TileSet(int N) {
         Preconditions.checkArgument(N >= 5, "The board size, N, must be at least 5.");
         this.N = N;
+        this.fullRowMask = (1L << N) - 1;
+        this.occupiedRows = new long[N];
+        this.occupiedCols = new long[N];
+        this.startTileRows = new long[N];
         this.tiles = new Tile[N][N];
         for (int r = 0; r < N; r++) {
             for (int c = 0; c < N; c++) {
                 tiles[r][c] = Tile.absentTile();
             }
         }
+        this.crossChecksE = new int[N * N];
+        this.crossChecksS = new int[N * N];
+        this.perpScoresE = new int[N * N];
+        this.perpScoresS = new int[N * N];
+        invalidateCaches();
     }
 
     public Tile get(Pos p) {
@@ -57,7 +105,43 @@ public class TileSet implements Iterable<Pos> {
     }
 
     public void set(Pos p, Tile tile) {
-        tiles[p.r][p.c] = tile;
+        replaceTile(p.r, p.c, tile);
+        invalidateCaches();
+    }
+
+    /**
+     * The number of tile changes in the undo log. Every tile changed by playWordMove or playGrabTilesMove is logged,
+     * so undoTo(getUndoLogSize()) later reverts every move played in between.
+     */
+    public int getUndoLogSize() {
+        return undoLogSize;
+    }
+
+    /**
+     * Reverts the tile changes logged since the undo log had the given size, most recent first.
+     */
+    public void undoTo(int undoLogSize) {
+        Preconditions.checkArgument(undoLogSize >= 0 && undoLogSize <= this.undoLogSize,
+                "Invalid undo log size: %s. The undo log has %s tile changes.", undoLogSize, this.undoLogSize);
+        while (this.undoLogSize > undoLogSize) {
+            --this.undoLogSize;
+            final int index = undoLogIndices[this.undoLogSize];
+            replaceTile(index / N, index % N, undoLogTiles[this.undoLogSize]);
+            undoLogTiles[this.undoLogSize] = null;
+        }
+        invalidateCaches();
+    }
+
+    public void clearUndoLog() {
+        Arrays.fill(undoLogTiles, 0, undoLogSize, null);
+        undoLogSize = 0;
+    }
+
+    /**
+     * A 64-bit Zobrist hash of the tiles on the board. Boards with the same tiles have the same hash.
+     */
+    public long getZobristHash() {
+        return zobristHash;
     }
 
     public boolean isValid(Pos p) {
@@ -66,30 +150,23 @@ public class TileSet implements Iterable<Pos> {
 
     public List<Pos> getAllStartTilePositions() {
         List<Pos> posList = new ArrayList<>();
-        for (Pos p: this) {
-            Tile tile = get(p);
-            if (tile.isStartTile()) {
-                posList.add(p);
-            }
+        for (int r = 0; r < N; ++r) {
+            addPositions(posList, r, startTileRows[r]);
         }
         return posList;
     }
 
     public List<Pos> getAllUnoccupiedPositions() {
         List<Pos> posList = new ArrayList<>();
-        for (Pos p: this) {
-            Tile tile = get(p);
-            if (tile.isAbsent()) {
-                posList.add(p);
-            }
+        for (int r = 0; r < N; ++r) {
+            addPositions(posList, r, ~occupiedRows[r] & fullRowMask);
         }
         return posList;
     }
 
     public boolean areAllTilesPlayed() {
-        for (Pos p: this) {
-            Tile tile = get(p);
-            if (tile.isStartTile()) {
+        for (long startTileRow: startTileRows) {
+            if (startTileRow != 0) {
                 return false;
             }
         }
@@ -97,9 +174,8 @@ public class TileSet implements Iterable<Pos> {
     }
 
     public boolean isEmpty() {
-        for (Pos p: this) {
-            Tile tile = get(p);
-            if (!tile.isAbsent()) {
+        for (long occupiedRow: occupiedRows) {
+            if (occupiedRow != 0) {
                 return false;
             }
         }
@@ -127,18 +203,14 @@ public class TileSet implements Iterable<Pos> {
     }
 
     public void load(Reader reader) throws IOException, InvalidBoardException {
-        final char[] input = new char[256];
-        StringBuilder sb = new StringBuilder();
-        int numRead;
-        do {
-            numRead = reader.read(input);
-            if (numRead > 0) {
-                sb.append(input, 0, numRead);
-            }
-        } while (numRead != -1);
-
-        String tileConfig = sb.toString();
+        load(CharStreams.toString(reader));
+    }
 
+    /**
+     * Loads the tiles from their serialized form, as stored in the database, without copying the string.
+     * Whitespace is ignored, and a '*' marks the next tile as wild.
+     */
+    public void load(String tileConfig) {
         boolean wild = false;
         int numTilesRead = 0;
         for (int i = 0; i < tileConfig.length(); i++) {
@@ -148,9 +220,11 @@ public class TileSet implements Iterable<Pos> {
             }
             // If the char is alphabetic, add a Tile to the matrix.
             if (LetterUtils.isLowercase(c) || LetterUtils.isUppercase(c) || c == Tile.ABSENT_TILE) {
-                int row = numTilesRead / N;
-                int col = numTilesRead % N;
-                tiles[row][col] = Tile.fromSerializedForm(c, wild);
+                if (numTilesRead == N * N) {
+                    throw new IllegalStateException(
+                            format("The input tileconfig had more than N*N = %d characters:\n%s", N * N, tileConfig));
+                }
+                replaceTile(numTilesRead / N, numTilesRead % N, Tile.fromSerializedForm(c, wild));
                 ++numTilesRead;
             }
             // If a '*' is encountered, the subsequent Tile is marked as a Wildcard
@@ -160,6 +234,32 @@ public class TileSet implements Iterable<Pos> {
             throw new IllegalStateException(
                     format("The input tileconfig didn't have N*N = %d characters:\n%s", N * N, tileConfig));
         }
+        invalidateCaches();
+    }
+
+    /**
+     * Loads the tiles from the compact form returned by toTileCodes(): the code of each tile, one byte per square.
+     */
+    public void load(byte[] tileCodes) {
+        Preconditions.checkArgument(tileCodes.length == N * N,
+                "The tile codes must have N*N = %s bytes, but had %s.", N * N, tileCodes.length);
+        for (int i = 0; i < tileCodes.length; i++) {
+            replaceTile(i / N, i % N, Tile.fromCode(tileCodes[i]));
+        }
+        invalidateCaches();
+    }
+
+    /**
+     * The tiles in compact form: the code of the tile on each square, in row major order.
+     */
+    public byte[] toTileCodes() {
+        final byte[] tileCodes = new byte[N * N];
+        for (int r = 0; r < N; r++) {
+            for (int c = 0; c < N; c++) {
+                tileCodes[r * N + c] = tiles[r][c].getCode();
+            }
+        }
+        return tileCodes;
     }
 
     public void playWordMove(Move move) {
@@ -169,26 +269,30 @@ public class TileSet implements Iterable<Pos> {
         List<RackTile> tilesPlayed = move.getTiles();
         String word = move.getLetters();
 
-        int rackIndex = 0;
-        Pos p = start;
-        for (int i = 0; i < word.length(); i++, p = p.go(dir)) {
-            char letter = word.charAt(i);
-            Tile existing = get(p);
-            if (existing.isAbsent()) {
-                RackTile rackTile = tilesPlayed.get(rackIndex++);
-                set(p, rackTile.toTile(letter));
-                turnPerpWordToStone(p, dir);
-            } else {
-                if (existing.getLetter() != letter) {
-                    throw new IllegalStateException("Attempting to place invalid move: " + move);
+        // The caches are invalidated once for the whole move, rather than for every tile changed
+        try {
+            int rackIndex = 0;
+            Pos p = start;
+            for (int i = 0; i < word.length(); i++, p = p.go(dir)) {
+                char letter = word.charAt(i);
+                Tile existing = get(p);
+                if (existing.isAbsent()) {
+                    RackTile rackTile = tilesPlayed.get(rackIndex++);
+                    setAndLog(p, rackTile.toTile(letter));
+                    turnPerpWordToStone(p, dir);
+                } else {
+                    if (existing.getLetter() != letter) {
+                        throw new IllegalStateException("Attempting to place invalid move: " + move);
+                    }
+                    setAndLog(p, Tile.playedTile(letter)); // Any tile that is part of the played word is now "set in stone"
                 }
-                set(p, Tile.playedTile(letter)); // Any tile that is part of the played word is now "set in stone"
             }
+            if (rackIndex != tilesPlayed.size()) {
+                throw new IllegalStateException("All the played tiles should have been used. Invalid move: " + move);
+            }
+        } finally {
+            invalidateCaches();
         }
-        if (rackIndex != tilesPlayed.size()) {
-            throw new IllegalStateException("All the played tiles should have been used. Invalid move: " + move);
-        }
-
     }
 
     private void turnPerpWordToStone(Pos base, Dir dir) {
@@ -205,7 +309,7 @@ public class TileSet implements Iterable<Pos> {
 
         for (Pos p = start; !p.equals(afterEnd); p = p.go(perpDir)) {
             if (isOccupied(p)) {
-                set(p, Tile.playedTile(getLetterAt(p)));
+                setAndLog(p, Tile.playedTile(getLetterAt(p)));
             }
         }
     }
@@ -218,22 +322,25 @@ public class TileSet implements Iterable<Pos> {
         final String word = move.getLetters();
 
         final int wordLen = word.length();
-        Pos p = start;
-        for (int i = 0; i < wordLen; ++i, p = p.go(dir)) {
-            Tile existing = get(p);
-            if (existing.isAbsent()) {
-                throw new IllegalStateException("Cannot grab an empty tile!");
-            }
-            RackTile rackTile = existing.toRackTile();
-            if (!rackTile.equals(tilesGrabbed.get(i))) {
-                throw new IllegalStateException(
-                        format("For grab tiles move, at index %d, board has %s but tile grabbed is %s. Move: %s",
-                                i, existing.toString(), tilesGrabbed.get(i).toString(), move.toString()));
+        try {
+            Pos p = start;
+            for (int i = 0; i < wordLen; ++i, p = p.go(dir)) {
+                Tile existing = get(p);
+                if (existing.isAbsent()) {
+                    throw new IllegalStateException("Cannot grab an empty tile!");
+                }
+                RackTile rackTile = existing.toRackTile();
+                if (!rackTile.equals(tilesGrabbed.get(i))) {
+                    throw new IllegalStateException(
+                            format("For grab tiles move, at index %d, board has %s but tile grabbed is %s. Move: %s",
+                                    i, existing.toString(), tilesGrabbed.get(i).toString(), move.toString()));
+                }
+                // Remove the tile being grabbed.
+                setAndLog(p, Tile.absentTile());
             }
-            // Remove the tile being grabbed.
-            set(p, Tile.absentTile());
+        } finally {
+            invalidateCaches();
         }
-
     }
 
     public void placeWord(Placement placement) {
@@ -245,16 +352,17 @@ public class TileSet implements Iterable<Pos> {
             case E:
                 final int r = start.r;
                 for (int i = 0; i < word.length(); i++) {
-                    tiles[r][start.c + i] = Tile.startTile(word.charAt(i));
+                    replaceTile(r, start.c + i, Tile.startTile(word.charAt(i)));
                 }
                 break;
             case S:
                 final int c = start.c;
                 for (int i = 0; i < word.length(); i++) {
-                    tiles[start.r + i][c] = Tile.startTile(word.charAt(i));
+                    replaceTile(start.r + i, c, Tile.startTile(word.charAt(i)));
                 }
                 break;
         }
+        invalidateCaches();
     }
 
     public Optional<ErrorModel> getPlayWordMoveError(Move move, SpecialDict specialDict) {
@@ -486,7 +594,7 @@ public class TileSet implements Iterable<Pos> {
             }
 
             // Letter must match occupied tiles
-            if (!tiles[p.r][p.c].isAbsent()) {
+            if (isOccupied(p)) {
                 if (getLetterAt(p) != word.charAt(i)) {
                     return Optional.of("Word played must match existing tiles!");
                 }
@@ -512,7 +620,7 @@ public class TileSet implements Iterable<Pos> {
             }
 
             // Letter must match occupied tiles
-            if (!tiles[p.r][p.c].isAbsent()) {
+            if (isOccupied(p)) {
                 if (tiles[p.r][p.c].getLetter() != word.charAt(i)) {
                     return false;
                 }
@@ -530,7 +638,7 @@ public class TileSet implements Iterable<Pos> {
         Pos p = start;
         for (int i = 0; i < word.length(); ++i, p = p.go(dir)) {
             // Don't need to check already occupied squares.
-            if (!tiles[p.r][p.c].isAbsent()) {
+            if (isOccupied(p)) {
                 continue;
             }
             char c = word.charAt(i);
@@ -563,7 +671,7 @@ public class TileSet implements Iterable<Pos> {
         Pos p = start;
         for (int i = 0; i < wordLen; ++i, p = p.go(dir)) {
             // Don't need to check already occupied squares.
-            if (!tiles[p.r][p.c].isAbsent()) {
+            if (isOccupied(p)) {
                 continue;
             }
             char c = word.charAt(i);
@@ -607,34 +715,37 @@ public class TileSet implements Iterable<Pos> {
         if (!isValid(p)) {
             return false;
         }
-        return !tiles[p.r][p.c].isAbsent() || isOccupiedE(p) || isOccupiedS(p) || isOccupiedN(p) || isOccupiedW(p);
+        // The square and its neighbours in the row, then its neighbours in the column
+        final long rowNeighbours = 0b111L << p.c >>> 1;
+        final long colNeighbours = 0b101L << p.r >>> 1;
+        return (occupiedRows[p.r] & rowNeighbours) != 0 || (occupiedCols[p.c] & colNeighbours) != 0;
     }
 
     public boolean isOccupiedAndValid(Pos p) {
         if (p.r < 0 || p.r >= N || p.c < 0 || p.c >= N) {
             return false;
         }
-        return !tiles[p.r][p.c].isAbsent();
+        return isOccupied(p);
     }
 
     public boolean isOccupied(Pos p) {
-        return !tiles[p.r][p.c].isAbsent();
+        return (occupiedRows[p.r] & 1L << p.c) != 0;
     }
 
     public boolean isOccupiedE(Pos p) {
-        return p.c + 1 < N && !tiles[p.r][p.c + 1].isAbsent();
+        return (occupiedRows[p.r] & 1L << (p.c + 1)) != 0;
     }
 
     public boolean isOccupiedW(Pos p) {
-        return p.c - 1 >= 0 && !tiles[p.r][p.c - 1].isAbsent();
+        return p.c > 0 && (occupiedRows[p.r] & 1L << (p.c - 1)) != 0;
     }
 
     public boolean isOccupiedS(Pos p) {
-        return p.r + 1 < N && !tiles[p.r + 1][p.c].isAbsent();
+        return (occupiedCols[p.c] & 1L << (p.r + 1)) != 0;
     }
 
     public boolean isOccupiedN(Pos p) {
-        return p.r - 1 >= 0 && !tiles[p.r - 1][p.c].isAbsent();
+        return p.r > 0 && (occupiedCols[p.c] & 1L << (p.r - 1)) != 0;
     }
 
     /**
@@ -666,31 +777,227 @@ public class TileSet implements Iterable<Pos> {
     }
 
     public Pos getEndOfOccupiedE(Pos p) {
-        do {
-            p = p.e();
-        } while (p.c < N && !tiles[p.r][p.c].isAbsent());
-        return p.w();
+        return Pos.of(p.r, getEndOfOccupiedAfter(occupiedRows[p.r], p.c));
     }
 
     public Pos getEndOfOccupiedW(Pos p) {
-        do {
-            p = p.w();
-        } while (p.c >= 0 && !tiles[p.r][p.c].isAbsent());
-        return p.e();
+        return Pos.of(p.r, getEndOfOccupiedBefore(occupiedRows[p.r], p.c));
     }
 
     public Pos getEndOfOccupiedS(Pos p) {
-        do {
-            p = p.s();
-        } while (p.r < N && !tiles[p.r][p.c].isAbsent());
-        return p.n();
+        return Pos.of(getEndOfOccupiedAfter(occupiedCols[p.c], p.r), p.c);
     }
 
     public Pos getEndOfOccupiedN(Pos p) {
-        do {
-            p = p.n();
-        } while (p.r >= 0 && !tiles[p.r][p.c].isAbsent());
-        return p.s();
+        return Pos.of(getEndOfOccupiedBefore(occupiedCols[p.c], p.r), p.c);
+    }
+
+    // The last index of the occupied squares in the line that follow index i, or i if the next square is empty.
+    // The bits past the end of the line are never set, so the run always stops at the edge of the board.
+    private static int getEndOfOccupiedAfter(long line, int i) {
+        return i + Long.numberOfTrailingZeros(~line >>> (i + 1));
+    }
+
+    // The first index of the occupied squares in the line that come before index i, or i if the previous square is empty.
+    private static int getEndOfOccupiedBefore(long line, int i) {
+        final long emptyBefore = ~line & ((1L << i) - 1);
+        return emptyBefore == 0 ? 0 : 64 - Long.numberOfLeadingZeros(emptyBefore);
+    }
+
+    // Adds the position of each set bit in the row
+    private static void addPositions(List<Pos> posList, int r, long row) {
+        while (row != 0) {
+            posList.add(Pos.of(r, Long.numberOfTrailingZeros(row)));
+            row &= row - 1;
+        }
+    }
+
+    // ----------- Anchors and cross-checks ----------
+
+    /**
+     * Whether p is an anchor: an empty square next to an occupied square.
+     * Every move that touches the tiles on the board places a tile on an anchor.
+     */
+    public boolean isAnchor(Pos p) {
+        computeAnchors();
+        return (anchorRows[p.r] & 1L << p.c) != 0;
+    }
+
+    public List<Pos> getAnchors() {
+        computeAnchors();
+        return anchors;
+    }
+
+    /**
+     * The letters that can be placed on the empty square p when playing in the given direction, with bit i set for 'A' + i.
+     * A letter is allowed if it forms an English word with the tiles perpendicular to the play, or if there are no such tiles.
+     */
+    public int getCrossCheck(Pos p, Dir dir) {
+        final int[] crossChecks;
+        switch (dir) {
+            case E:
+                crossChecks = crossChecksE;
+                break;
+            case S:
+                crossChecks = crossChecksS;
+                break;
+            default:
+                throw new IllegalStateException("Invalid direction for word placement: " + dir);
+        }
+        final int index = p.r * N + p.c;
+        if (crossChecks[index] == UNKNOWN_CROSS_CHECK) {
+            crossChecks[index] = computeCrossCheck(p, dir);
+        }
+        return crossChecks[index];
+    }
+
+    /**
+     * The sum of the point values of the tiles that a tile placed on the empty square p would join, perpendicular to
+     * a play in the given direction. NO_PERP_WORD if the tile wouldn't form a perpendicular word.
+     */
+    public int getPerpWordBaseScore(Pos p, Dir dir) {
+        final int[] perpScores;
+        switch (dir) {
+            case E:
+                perpScores = perpScoresE;
+                break;
+            case S:
+                perpScores = perpScoresS;
+                break;
+            default:
+                throw new IllegalStateException("Invalid direction for word placement: " + dir);
+        }
+        final int index = p.r * N + p.c;
+        if (perpScores[index] == UNKNOWN_PERP_SCORE) {
+            perpScores[index] = computePerpWordBaseScore(p, dir);
+        }
+        return perpScores[index];
+    }
+
+    private void setAndLog(Pos p, Tile tile) {
+        if (undoLogSize == undoLogIndices.length) {
+            undoLogIndices = Arrays.copyOf(undoLogIndices, 2 * undoLogSize);
+            undoLogTiles = Arrays.copyOf(undoLogTiles, 2 * undoLogSize);
+        }
+        undoLogIndices[undoLogSize] = p.r * N + p.c;
+        undoLogTiles[undoLogSize] = tiles[p.r][p.c];
+        ++undoLogSize;
+        replaceTile(p.r, p.c, tile); // The caller invalidates the caches once it's done changing tiles.
+    }
+
+    private void replaceTile(int r, int c, Tile tile) {
+        zobristHash ^= getZobristKey(r, c, tiles[r][c]) ^ getZobristKey(r, c, tile);
+        tiles[r][c] = tile;
+
+        final long rowBit = 1L << c;
+        final long colBit = 1L << r;
+        if (tile.isAbsent()) {
+            occupiedRows[r] &= ~rowBit;
+            occupiedCols[c] &= ~colBit;
+        } else {
+            occupiedRows[r] |= rowBit;
+            occupiedCols[c] |= colBit;
+        }
+        if (tile.isStartTile()) {
+            startTileRows[r] |= rowBit;
+        } else {
+            startTileRows[r] &= ~rowBit;
+        }
+    }
+
+    private static long getZobristKey(int r, int c, Tile tile) {
+        if (tile.isAbsent()) {
+            return 0L;
+        }
+        final int tileKind = (tile.getLetter() - 'A') * 4 + (tile.isStartTile() ? 2 : 0) + (tile.isWild() ? 1 : 0);
+        return ZobristKeys.tileKey(r, c, tileKind);
+    }
+
+    private void invalidateCaches() {
+        Arrays.fill(crossChecksE, UNKNOWN_CROSS_CHECK);
+        Arrays.fill(crossChecksS, UNKNOWN_CROSS_CHECK);
+        Arrays.fill(perpScoresE, UNKNOWN_PERP_SCORE);
+        Arrays.fill(perpScoresS, UNKNOWN_PERP_SCORE);
+        anchors = null;
+        anchorRows = null;
+    }
+
+    private void computeAnchors() {
+        if (anchors != null) {
+            return;
+        }
+        final long[] newAnchorRows = new long[N];
+        final List<Pos> newAnchors = new ArrayList<>();
+        for (int r = 0; r < N; ++r) {
+            // Empty squares with an occupied square to the West, East, North or South
+            final long row = occupiedRows[r];
+            long adjacent = row << 1 | row >>> 1;
+            if (r > 0) {
+                adjacent |= occupiedRows[r - 1];
+            }
+            if (r + 1 < N) {
+                adjacent |= occupiedRows[r + 1];
+            }
+            newAnchorRows[r] = adjacent & ~row & fullRowMask;
+            addPositions(newAnchors, r, newAnchorRows[r]);
+        }
+        anchorRows = newAnchorRows;
+        anchors = Collections.unmodifiableList(newAnchors);
+    }
+
+    private int computePerpWordBaseScore(final Pos p, Dir dir) {
+        // Precondition: p isn't an occupied tile.
+        final Dir perpDir = dir.perp();
+        final Pos start = getEndOfOccupied(p, perpDir.negate());
+        final Pos end = getEndOfOccupied(p, perpDir);
+        if (start.equals(p) && end.equals(p)) {
+            return NO_PERP_WORD;
+        }
+        int score = 0;
+        for (Pos q = start; !q.equals(end.go(perpDir)); q = q.go(perpDir)) {
+            if (!q.equals(p)) {
+                score += LETTER_POINTS.getPointValue(getLetterAt(q));
+            }
+        }
+        return score;
+    }
+
+    private int computeCrossCheck(final Pos p, Dir dir) {
+        // Precondition: p isn't an occupied tile.
+        final Dir perpDir = dir.perp();
+        final Pos start = getEndOfOccupied(p, perpDir.negate());
+        final Pos end = getEndOfOccupied(p, perpDir);
+        if (start.equals(p) && end.equals(p)) {
+            return ALL_LETTERS;
+        }
+
+        final TrieCursor cursor = DICTIONARY_TRIE.newCursor();
+        for (Pos q = start; !q.equals(p); q = q.go(perpDir)) {
+            if (!cursor.advance(getLetterAt(q))) {
+                return 0;
+            }
+        }
+
+        int crossCheck = 0;
+        for (int i = 0; i < 26; ++i) {
+            if (!cursor.advance((char) ('A' + i))) {
+                continue;
+            }
+            final int depth = cursor.getDepth();
+            Pos q = p;
+            boolean isPrefix = true;
+            while (isPrefix && !q.equals(end)) {
+                q = q.go(perpDir);
+                isPrefix = cursor.advance(getLetterAt(q));
+            }
+            if (isPrefix && cursor.isWord()) {
+                crossCheck |= 1 << i;
+            }
+            while (cursor.getDepth() >= depth) {
+                cursor.retreat();
+            }
+        }
+        return crossCheck;
     }
 
     @Override
@@ -3,6 +3,7 @@ package net.capps.word.game.common;
 import net.capps.word.constants.WordConstants;
 import net.capps.word.game.ai.BookwormAI;
 import net.capps.word.game.ai.GameAI;
+import net.capps.word.game.ai.GrandmasterAI;
 import net.capps.word.game.ai.ProfessorAI;
 import net.capps.word.game.ai.RandomAI;
 
@@ -12,7 +13,8 @@ import net.capps.word.game.ai.RandomAI;
 public enum AiType {
     RANDOM_AI(WordConstants.RANDOM_AI_USERNAME),
     BOOKWORM_AI(WordConstants.BOOKWORM_AI_USERNAME),
-    PROFESSOR_AI(WordConstants.PROFESSOR_AI_USERNAME);
+    PROFESSOR_AI(WordConstants.PROFESSOR_AI_USERNAME),
+    GRANDMASTER_AI(WordConstants.GRANDMASTER_AI_USERNAME);
 
     private final String systemUsername;
 
@@ -35,10 +37,38 @@ public enum AiType {
                     case VENTI: return 0.3f;
                 }
             case PROFESSOR_AI:
+            case GRANDMASTER_AI:
+                // The Professor searches from anchor squares, which is fast enough to cover the whole board.
+                return 1f;
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * The time an AI has to search for a play move before it returns the best move found so far. 0 means no limit.
+     */
+    public long getSearchTimeLimitMillis(BoardSize boardSize) {
+        switch (this) {
+            case RANDOM_AI:
+                return 0L;
+            case BOOKWORM_AI:
+                switch (boardSize) {
+                    case TALL: return 100L;
+                    case GRANDE: return 150L;
+                    case VENTI: return 200L;
+                }
+            case PROFESSOR_AI:
+                switch (boardSize) {
+                    case TALL: return 150L;
+                    case GRANDE: return 250L;
+                    case VENTI: return 400L;
+                }
+            case GRANDMASTER_AI:
+                // For the whole two move search, not just for finding play moves
                 switch (boardSize) {
-                    case TALL: return 1f;
-                    case GRANDE: return 0.75f;
-                    case VENTI: return 0.5f;
+                    case TALL: return 300L;
+                    case GRANDE: return 500L;
+                    case VENTI: return 800L;
                 }
         }
         throw new IllegalStateException();
@@ -49,6 +79,7 @@ public enum AiType {
             case RANDOM_AI: return RandomAI.getInstance();
             case BOOKWORM_AI: return BookwormAI.getInstance(boardSize);
             case PROFESSOR_AI: return ProfessorAI.getInstance(boardSize);
+            case GRANDMASTER_AI: return GrandmasterAI.getInstance(boardSize);
         }
         throw new IllegalStateException();
     }
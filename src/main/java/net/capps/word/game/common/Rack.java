@@ -1,7 +1,6 @@
 package net.capps.word.game.common;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import net.capps.word.game.tile.RackTile;
 
 import java.util.ArrayList;
@@ -13,16 +12,42 @@ import static java.lang.String.format;
  * Created by charlescapps on 1/24/15.
  */
 public class Rack {
-    private final List<RackTile> tiles;
+    private static final int NUM_LETTERS = 26;
+    private static final int WILD_INDEX = NUM_LETTERS;
+    private static final int SCRY_INDEX = NUM_LETTERS + 1;
+
+    // The number of each kind of tile, indexed by tile: 'A' - 'Z', then wild, then scry
+    private final int[] counts = new int[NUM_LETTERS + 2];
+    // The tiles in the order they were added, for toString()
+    private final char[] order = new char[MAX_TILES_IN_RACK];
+    private int size;
+    private int numLetterTiles;
+    // Zobrist hash of the letter tile counts
+    private long letterTilesHash;
 
     public static final int MAX_TILES_IN_RACK = 20;
 
     public Rack(String letters) {
-        tiles = lettersToTiles(letters);
-        if (tiles.size() > MAX_TILES_IN_RACK) {
+        Preconditions.checkNotNull(letters);
+        for (int i = 0; i < letters.length(); ++i) {
+            Preconditions.checkArgument(RackTile.isValidRackTile(letters.charAt(i)),
+                    "Rack Tile character must be uppercase alphabetic or '*' for a wild tile.");
+        }
+        if (letters.length() > MAX_TILES_IN_RACK) {
             throw new IllegalArgumentException(
                     format("Cannot have more than %d tiles in rack. Invalid rack: %s", MAX_TILES_IN_RACK, letters));
         }
+        for (int i = 0; i < letters.length(); ++i) {
+            add(letters.charAt(i));
+        }
+    }
+
+    public Rack(Rack other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        System.arraycopy(other.order, 0, order, 0, other.size);
+        size = other.size;
+        numLetterTiles = other.numLetterTiles;
+        letterTilesHash = other.letterTilesHash;
     }
 
     public static List<RackTile> lettersToTiles(String letters) {
@@ -37,48 +62,62 @@ public class Rack {
     }
 
     public boolean isEmpty() {
-        return tiles.isEmpty();
+        return size == 0;
     }
 
     public boolean hasPlayableTile() {
-        for (RackTile tile: tiles) {
-            if (tile.isLetter() || tile.isWild()) {
-                return true;
-            }
-        }
-        return false;
+        return numLetterTiles > 0 || counts[WILD_INDEX] > 0;
     }
 
     public boolean hasLetterTile() {
-        for (RackTile tile: tiles) {
-            if (tile.isLetter()) {
-                return true;
-            }
-        }
-        return false;
+        return numLetterTiles > 0;
+    }
+
+    /**
+     * The number of tiles in the rack with the given letter, 'A' - 'Z'.
+     */
+    public int getLetterCount(char letter) {
+        Preconditions.checkArgument(letter >= 'A' && letter <= 'Z', "Invalid letter: %s", letter);
+        return counts[letter - 'A'];
+    }
+
+    /**
+     * A 64-bit Zobrist hash of the letter tiles in the rack, ignoring their order.
+     * Wild and scry tiles aren't included, since the AIs only play letter tiles.
+     */
+    public long getLetterTilesZobristHash() {
+        return letterTilesHash;
     }
 
     public List<RackTile> getLetterTiles() {
-        List<RackTile> letterTiles = new ArrayList<>();
-        for (RackTile tile: tiles) {
-            if (tile.isLetter()) {
-                letterTiles.add(tile);
+        List<RackTile> letterTiles = new ArrayList<>(numLetterTiles);
+        for (int i = 0; i < size; ++i) {
+            if (order[i] != RackTile.WILD_RACK_TILE && order[i] != RackTile.SCRY_RACK_TILE) {
+                letterTiles.add(RackTile.of(order[i]));
             }
         }
         return letterTiles;
     }
 
     public boolean hasTiles(List<RackTile> tilesToPlay) {
-        List<RackTile> copyTilesToPlay = Lists.newArrayList(tilesToPlay);
-        List<RackTile> copyTiles = Lists.newArrayList(tiles);
-
-        while (!copyTilesToPlay.isEmpty()) {
-            RackTile first = copyTilesToPlay.get(0);
-            if (!copyTiles.contains(first)) {
+        if (tilesToPlay.size() > size) {
+            return false;
+        }
+        // Check each kind of tile at its first occurrence, by counting how many times it's played.
+        for (int i = 0; i < tilesToPlay.size(); ++i) {
+            final int index = indexOf(tilesToPlay.get(i));
+            if (isCountedBefore(tilesToPlay, i, index)) {
+                continue;
+            }
+            int numPlayed = 1;
+            for (int j = i + 1; j < tilesToPlay.size(); ++j) {
+                if (indexOf(tilesToPlay.get(j)) == index) {
+                    ++numPlayed;
+                }
+            }
+            if (numPlayed > counts[index]) {
                 return false;
             }
-            copyTilesToPlay.remove(first);
-            copyTiles.remove(first);
         }
         return true;
     }
@@ -86,35 +125,31 @@ public class Rack {
     public void addTiles(List<RackTile> tilesToAdd) {
         Preconditions.checkArgument(canAddTiles(tilesToAdd),
                 format("Cannot add tiles, because rack would exceed %d tiles", MAX_TILES_IN_RACK));
-        tiles.addAll(tilesToAdd);
+        for (RackTile tile: tilesToAdd) {
+            add(tile.getLetter());
+        }
     }
 
     public void removeTiles(List<RackTile> tilesToRemove) {
         if (!hasTiles(tilesToRemove)) {
             throw new IllegalArgumentException(format("Cannot remove tiles \"%s\" from Rack \"%s\"",
-                    tilesToString(tilesToRemove), tilesToString(tiles)));
+                    tilesToString(tilesToRemove), toString()));
         }
         for (RackTile tileToRemove: tilesToRemove) {
-            tiles.remove(tileToRemove);
+            remove(tileToRemove.getLetter());
         }
     }
 
     public int getNumLetterTiles() {
-        int num = 0;
-        for (RackTile tile: tiles) {
-            if (tile.isLetter()) {
-                ++num;
-            }
-        }
-        return num;
+        return numLetterTiles;
     }
 
     public int size() {
-        return tiles.size();
+        return size;
     }
 
     public boolean canAddTiles(List<RackTile> tilesToAdd) {
-        return tiles.size() + tilesToAdd.size() <= MAX_TILES_IN_RACK;
+        return size + tilesToAdd.size() <= MAX_TILES_IN_RACK;
     }
 
     public static String tilesToString(List<RackTile> rackTiles) {
@@ -127,6 +162,62 @@ public class Rack {
 
     @Override
     public String toString() {
-        return tilesToString(tiles);
+        return new String(order, 0, size);
+    }
+
+    // --------------- Private ---------------
+
+    private static int indexOf(RackTile tile) {
+        return indexOf(tile.getLetter());
+    }
+
+    private static int indexOf(char c) {
+        switch (c) {
+            case RackTile.WILD_RACK_TILE:
+                return WILD_INDEX;
+            case RackTile.SCRY_RACK_TILE:
+                return SCRY_INDEX;
+            default:
+                return c - 'A';
+        }
+    }
+
+    private static long getZobristKey(int index, int count) {
+        return count == 0 ? 0L : ZobristKeys.rackKey(index, count);
+    }
+
+    private static boolean isCountedBefore(List<RackTile> tiles, int end, int index) {
+        for (int i = 0; i < end; ++i) {
+            if (indexOf(tiles.get(i)) == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(char c) {
+        final int index = indexOf(c);
+        ++counts[index];
+        if (c != RackTile.WILD_RACK_TILE && c != RackTile.SCRY_RACK_TILE) {
+            ++numLetterTiles;
+            letterTilesHash ^= getZobristKey(index, counts[index] - 1) ^ getZobristKey(index, counts[index]);
+        }
+        order[size++] = c;
+    }
+
+    // Removes the first tile with the given character, like List.remove()
+    private void remove(char c) {
+        final int index = indexOf(c);
+        --counts[index];
+        if (c != RackTile.WILD_RACK_TILE && c != RackTile.SCRY_RACK_TILE) {
+            --numLetterTiles;
+            letterTilesHash ^= getZobristKey(index, counts[index] + 1) ^ getZobristKey(index, counts[index]);
+        }
+        int i = 0;
+        while (order[i] != c) {
+            ++i;
+        }
+        System.arraycopy(order, i + 1, order, i, size - i - 1);
+        --size;
     }
 }
@@ -0,0 +1,44 @@
+package net.capps.word.game.common;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Pseudo-random 64-bit keys for Zobrist hashing. A position's hash is the XOR of the keys of its features, so when
+ * one feature changes, the hash is updated by XORing out the old key and XORing in the new one.
+ *
+ * Keys are computed from the feature's index with the SplitMix64 finalizer instead of being stored in a table, so
+ * they're the same on every server and there's no limit on the board size.
+ */
+public class ZobristKeys {
+    // Each kind of feature gets its own range of indexes
+    private static final long TILE_SALT = 0x9E3779B97F4A7C15L;
+    private static final long RACK_SALT = 0xC2B2AE3D27D4EB4FL;
+    private static final long TURN_KEY = mix(0x165667B19E3779F9L);
+
+    /**
+     * The key for a tile of the given kind at (r, c).
+     */
+    public static long tileKey(int r, int c, int tileKind) {
+        return mix(TILE_SALT + (((long) r << 40) | ((long) c << 20) | tileKind));
+    }
+
+    /**
+     * The key for a rack holding exactly count tiles of the given kind.
+     */
+    public static long rackKey(int tileKind, int count) {
+        return mix(RACK_SALT + (((long) tileKind << 20) | count));
+    }
+
+    /**
+     * The key XORed in when it's player 1's turn.
+     */
+    public static long player1TurnKey() {
+        return TURN_KEY;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
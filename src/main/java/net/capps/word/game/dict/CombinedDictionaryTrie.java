@@ -0,0 +1,80 @@
+package net.capps.word.game.dict;
+
+import com.google.common.collect.Lists;
+import net.capps.word.game.dict.tries.MultiDictTrie;
+import net.capps.word.util.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A single trie over every playable dictionary, so the AI can search English and a special dictionary in one pass.
+ * Nodes are addressed by int handles. Dictionaries are identified by bitmasks from getDictMask().
+ */
+public class CombinedDictionaryTrie {
+    // ---------------- Static ----------------
+    private static final Logger LOG = LoggerFactory.getLogger(CombinedDictionaryTrie.class);
+    public static final int ROOT = MultiDictTrie.ROOT;
+    public static final int NO_NODE = MultiDictTrie.NO_NODE;
+
+    public static int getDictMask(DictType dictType) {
+        return 1 << dictType.ordinal();
+    }
+
+    // ---------------- Constructor -----------
+    CombinedDictionaryTrie() { }
+
+    // ---------------- Private fields ---------------
+    private MultiDictTrie trie;
+
+    // ---------------- Public ----------------
+    public void loadDictionaries(Map<DictType, ? extends Set<String>> dictionaries) {
+        final long START = System.currentTimeMillis();
+        List<Set<String>> dictsByOrdinal = Lists.newArrayList();
+        for (DictType dictType: DictType.values()) {
+            Set<String> words = dictionaries.get(dictType);
+            dictsByOrdinal.add(words == null ? Collections.<String>emptySet() : words);
+        }
+        loadTrie(MultiDictTrie.build(dictsByOrdinal));
+        LOG.info(format("SUCCESS - loaded combined trie of %s with %d nodes in %s", dictionaries.keySet(),
+                trie.getNumNodes(), DateUtil.getDurationPretty(System.currentTimeMillis() - START)));
+    }
+
+    public int getChild(int node, char c) {
+        return trie.getChild(node, c);
+    }
+
+    /**
+     * The dictionaries in which the node's prefix is a word.
+     */
+    public int getWordMask(int node) {
+        return trie.getWordMask(node);
+    }
+
+    /**
+     * The dictionaries with some word starting with the node's prefix.
+     */
+    public int getPrefixMask(int node) {
+        return trie.getPrefixMask(node);
+    }
+
+    // ---------------- Package-private ----------------
+    void loadTrie(MultiDictTrie multiDictTrie) {
+        if (trie != null) {
+            throw new IllegalStateException("Cannot load CombinedDictionaryTrie twice!");
+        }
+        trie = multiDictTrie;
+    }
+
+    MultiDictTrie getMultiDictTrie() {
+        return trie;
+    }
+}
@@ -1,16 +1,32 @@
 package net.capps.word.game.dict;
 
+import com.google.common.collect.ImmutableMap;
 import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.dict.tries.TrieType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by charlescapps on 3/14/15.
  */
 public class Dictionaries {
+    private static final Logger LOG = LoggerFactory.getLogger(Dictionaries.class);
     private static final int MIN_WORD_LEN = 2;
     private static final int MAX_WORD_LEN = BoardSize.VENTI.getN();
+    private static final TrieType DEFAULT_TRIE_TYPE = TrieType.valueOf(System.getProperty("ghostwriters.trieType", TrieType.ARRAY_TRIE.name()));
+    private static final boolean USE_DICTIONARY_IMAGE = Boolean.parseBoolean(System.getProperty("ghostwriters.useDictionaryImage", "true"));
+    private static final String DICTIONARY_IMAGE_PATH = System.getProperty("ghostwriters.dictionaryImage", "target/ghostwriters-dictionaries.img");
+    private static final int INIT_THREADS = Integer.parseInt(System.getProperty("ghostwriters.dictionaryInitThreads",
+            Integer.toString(Runtime.getRuntime().availableProcessors())));
+    private static final Map<String, Long> LOAD_TIMES_MS = new ConcurrentSkipListMap<>();
 
     private static final DictionarySet BANNED_SET = new DictionarySet();
 
@@ -30,6 +46,9 @@ public class Dictionaries {
     private static final DictionaryTrie MYTHOS_DICT_TRIE = new DictionaryTrie();
     private static final DictionaryWordSets MYTHOS_WORD_SETS = new DictionaryWordSets();
 
+    private static final CombinedDictionaryTrie COMBINED_DICT_TRIE = new CombinedDictionaryTrie();
+    private static final DictionaryGaddag DICTIONARY_GADDAG = new DictionaryGaddag();
+
     private static final DictionarySet ADJECTIVES_SET = new DictionarySet();
     private static final DictionaryPicker ADJECTIVES_PICKER = new DictionaryPicker();
 
@@ -37,29 +56,220 @@ public class Dictionaries {
     private static final DictionaryPicker NOUNS_PICKER = new DictionaryPicker();
 
     public static void initializeAllDictionaries() throws IOException {
-        BANNED_SET.loadDictionary(DictType.BANNED.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.empty(), false);
+        initializeAllDictionaries(DEFAULT_TRIE_TYPE);
+    }
 
-        ENGLISH_DICT_SET.loadDictionary(DictType.ENGLISH_WORDS.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), false);
-        ENGLISH_DICT_TRIE.loadDictionary(ENGLISH_DICT_SET.getWordSet());
-        ENGLISH_WORD_SETS.loadDictionarySets(ENGLISH_DICT_SET.getWordSet());
+    public static void initializeAllDictionaries(TrieType trieType) throws IOException {
+        if (trieType == TrieType.ARRAY_TRIE && USE_DICTIONARY_IMAGE) {
+            initializeAllDictionariesWithImage(Paths.get(DICTIONARY_IMAGE_PATH));
+        } else {
+            loadFromResources(trieType);
+        }
+    }
 
-        POE_DICT_SET.loadDictionary(DictType.POE.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), true);
-        POE_DICT_TRIE.loadDictionary(POE_DICT_SET.getWordSet());
-        POE_WORD_SETS.loadDictionarySets(POE_DICT_SET.getWordSet());
+    /**
+     * Load the dictionaries from the image at the given path. If it's missing or stale, parse the dictionary files
+     * and write a fresh image for next time.
+     */
+    static void initializeAllDictionariesWithImage(Path imagePath) throws IOException {
+        final long fingerprint = DictionaryImage.computeFingerprint(MIN_WORD_LEN, MAX_WORD_LEN);
+        Optional<DictionaryImage> image = Optional.empty();
+        try {
+            image = DictionaryImage.read(imagePath, fingerprint);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to read dictionary image, falling back to the dictionary files.", e);
+        }
+
+        if (image.isPresent()) {
+            loadFromImage(image.get());
+            return;
+        }
+
+        loadFromResources(TrieType.ARRAY_TRIE);
+        try {
+            DictionaryImage.write(imagePath, fingerprint, getDictionarySets(), getDictionaryTries(), getDictionaryWordSets(),
+                    COMBINED_DICT_TRIE, DICTIONARY_GADDAG);
+        } catch (IOException e) {
+            LOG.warn("Failed to write dictionary image to " + imagePath, e);
+        }
+    }
 
-        LOVECRAFT_DICT_SET.loadDictionary(DictType.LOVECRAFT.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), true);
-        LOVECRAFT_DICT_TRIE.loadDictionary(LOVECRAFT_DICT_SET.getWordSet());
-        LOVECRAFT_WORD_SETS.loadDictionarySets(LOVECRAFT_DICT_SET.getWordSet());
+    /**
+     * How long each structure took to load during the last initialization, in milliseconds.
+     * Structures are loaded concurrently, so the entries may add up to more than the "total" entry.
+     */
+    public static ImmutableMap<String, Long> getLoadTimesMs() {
+        return ImmutableMap.copyOf(LOAD_TIMES_MS);
+    }
 
-        MYTHOS_DICT_SET.loadDictionary(DictType.MYTHOS.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), true);
-        MYTHOS_DICT_TRIE.loadDictionary(MYTHOS_DICT_SET.getWordSet());
-        MYTHOS_WORD_SETS.loadDictionarySets(MYTHOS_DICT_SET.getWordSet());
+    // After the banned set is loaded, every dictionary is independent. Within a dictionary, the trie and the word sets
+    // only depend on the set.
+    private static void loadFromResources(TrieType trieType) throws IOException {
+        final long START = System.currentTimeMillis();
+        ExecutorService pool = newInitPool();
+        try {
+            timed("BANNED.set", () -> BANNED_SET.loadDictionary(DictType.BANNED.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.empty(), false));
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            CompletableFuture<Void> englishSet = loadDictionaryAsync(DictType.ENGLISH_WORDS, ENGLISH_DICT_SET, ENGLISH_DICT_TRIE, ENGLISH_WORD_SETS, false, trieType, pool, futures);
+            CompletableFuture<Void> poeSet = loadDictionaryAsync(DictType.POE, POE_DICT_SET, POE_DICT_TRIE, POE_WORD_SETS, true, trieType, pool, futures);
+            CompletableFuture<Void> lovecraftSet = loadDictionaryAsync(DictType.LOVECRAFT, LOVECRAFT_DICT_SET, LOVECRAFT_DICT_TRIE, LOVECRAFT_WORD_SETS, true, trieType, pool, futures);
+            CompletableFuture<Void> mythosSet = loadDictionaryAsync(DictType.MYTHOS, MYTHOS_DICT_SET, MYTHOS_DICT_TRIE, MYTHOS_WORD_SETS, true, trieType, pool, futures);
+            CompletableFuture<Void> playableSets = CompletableFuture.allOf(englishSet, poeSet, lovecraftSet, mythosSet);
+            futures.add(playableSets.thenCompose(
+                    v -> runTimedAsync("COMBINED.trie", () -> COMBINED_DICT_TRIE.loadDictionaries(getPlayableWordSets()), pool)));
+            futures.add(playableSets.thenCompose(
+                    v -> runTimedAsync("COMBINED.gaddag", () -> DICTIONARY_GADDAG.loadDictionaries(getPlayableWordSets()), pool)));
+            futures.add(loadPickerAsync(DictType.ADJECTIVES, ADJECTIVES_SET, ADJECTIVES_PICKER, pool));
+            futures.add(loadPickerAsync(DictType.NOUNS, NOUNS_SET, NOUNS_PICKER, pool));
+            awaitAll(futures);
+        } finally {
+            pool.shutdown();
+        }
+        logTotalLoadTime(START);
+    }
+
+    private static void loadFromImage(DictionaryImage image) throws IOException {
+        final long START = System.currentTimeMillis();
+        for (Map.Entry<DictType, DictionarySet> entry: getDictionarySets().entrySet()) {
+            timed(entry.getKey() + ".set", () -> image.loadInto(entry.getKey(), entry.getValue()));
+        }
+        for (Map.Entry<DictType, DictionaryTrie> entry: getDictionaryTries().entrySet()) {
+            timed(entry.getKey() + ".trie", () -> image.loadInto(entry.getKey(), entry.getValue()));
+        }
+        for (Map.Entry<DictType, DictionaryWordSets> entry: getDictionaryWordSets().entrySet()) {
+            timed(entry.getKey() + ".wordSets", () -> image.loadInto(entry.getKey(), entry.getValue()));
+        }
+        timed("COMBINED.trie", () -> image.loadInto(COMBINED_DICT_TRIE));
+        timed("COMBINED.gaddag", () -> image.loadInto(DICTIONARY_GADDAG));
+
+        ExecutorService pool = newInitPool();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            futures.add(runTimedAsync(DictType.ADJECTIVES + ".picker", () -> ADJECTIVES_PICKER.loadDictionary(ADJECTIVES_SET.getWordSet()), pool));
+            futures.add(runTimedAsync(DictType.NOUNS + ".picker", () -> NOUNS_PICKER.loadDictionary(NOUNS_SET.getWordSet()), pool));
+            awaitAll(futures);
+        } finally {
+            pool.shutdown();
+        }
+        logTotalLoadTime(START);
+    }
 
-        ADJECTIVES_SET.loadDictionary(DictType.ADJECTIVES.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), true);
-        ADJECTIVES_PICKER.loadDictionary(ADJECTIVES_SET.getWordSet());
+    /**
+     * Start loading a dictionary, adding the futures for its trie and word sets to the given list.
+     * Returns the future for the dictionary set, which the trie and word sets depend on.
+     */
+    private static CompletableFuture<Void> loadDictionaryAsync(DictType dictType, DictionarySet set, DictionaryTrie trie,
+                                                               DictionaryWordSets wordSets, boolean storeList,
+                                                               TrieType trieType, Executor pool,
+                                                               List<CompletableFuture<Void>> futures) {
+        CompletableFuture<Void> setFuture = runTimedAsync(dictType + ".set",
+                () -> set.loadDictionary(dictType.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), storeList), pool);
+        CompletableFuture<Void> trieFuture = setFuture.thenCompose(
+                v -> runTimedAsync(dictType + ".trie", () -> trie.loadDictionary(set.getWordSet(), trieType), pool));
+        CompletableFuture<Void> wordSetsFuture = setFuture.thenCompose(
+                v -> runTimedAsync(dictType + ".wordSets", () -> wordSets.loadDictionarySets(set.getWordSet()), pool));
+        futures.add(trieFuture);
+        futures.add(wordSetsFuture);
+        return setFuture;
+    }
+
+    private static CompletableFuture<Void> loadPickerAsync(DictType dictType, DictionarySet set, DictionaryPicker picker,
+                                                           Executor pool) {
+        return runTimedAsync(dictType + ".set",
+                () -> set.loadDictionary(dictType.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), true), pool)
+                .thenCompose(v -> runTimedAsync(dictType + ".picker", () -> picker.loadDictionary(set.getWordSet()), pool));
+    }
+
+    private interface LoadStep {
+        void load() throws IOException;
+    }
+
+    private static CompletableFuture<Void> runTimedAsync(String name, LoadStep step, Executor pool) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                timed(name, step);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, pool);
+    }
+
+    private static void timed(String name, LoadStep step) throws IOException {
+        final long START = System.currentTimeMillis();
+        step.load();
+        final long durationMs = System.currentTimeMillis() - START;
+        LOAD_TIMES_MS.put(name, durationMs);
+        LOG.info("Loaded {} in {} ms", name, durationMs);
+    }
 
-        NOUNS_SET.loadDictionary(DictType.NOUNS.getResourcePath(), MIN_WORD_LEN, MAX_WORD_LEN, Optional.of(BANNED_SET), true);
-        NOUNS_PICKER.loadDictionary(NOUNS_SET.getWordSet());
+    private static void awaitAll(List<CompletableFuture<Void>> futures) throws IOException {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void logTotalLoadTime(long startMs) {
+        final long durationMs = System.currentTimeMillis() - startMs;
+        LOAD_TIMES_MS.put("total", durationMs);
+        LOG.info("Finished loading all dictionaries with {} threads in {} ms", INIT_THREADS, durationMs);
+    }
+
+    private static ExecutorService newInitPool() {
+        final AtomicInteger threadNum = new AtomicInteger();
+        return Executors.newFixedThreadPool(INIT_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "Dictionary Init " + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Map<DictType, DictionarySet> getDictionarySets() {
+        Map<DictType, DictionarySet> sets = new EnumMap<>(DictType.class);
+        sets.put(DictType.BANNED, BANNED_SET);
+        sets.put(DictType.ENGLISH_WORDS, ENGLISH_DICT_SET);
+        sets.put(DictType.POE, POE_DICT_SET);
+        sets.put(DictType.LOVECRAFT, LOVECRAFT_DICT_SET);
+        sets.put(DictType.MYTHOS, MYTHOS_DICT_SET);
+        sets.put(DictType.ADJECTIVES, ADJECTIVES_SET);
+        sets.put(DictType.NOUNS, NOUNS_SET);
+        return sets;
+    }
+
+    private static Map<DictType, Set<String>> getPlayableWordSets() {
+        Map<DictType, Set<String>> wordSets = new EnumMap<>(DictType.class);
+        wordSets.put(DictType.ENGLISH_WORDS, ENGLISH_DICT_SET.getWordSet());
+        wordSets.put(DictType.POE, POE_DICT_SET.getWordSet());
+        wordSets.put(DictType.LOVECRAFT, LOVECRAFT_DICT_SET.getWordSet());
+        wordSets.put(DictType.MYTHOS, MYTHOS_DICT_SET.getWordSet());
+        return wordSets;
+    }
+
+    private static Map<DictType, DictionaryWordSets> getDictionaryWordSets() {
+        Map<DictType, DictionaryWordSets> wordSets = new EnumMap<>(DictType.class);
+        wordSets.put(DictType.ENGLISH_WORDS, ENGLISH_WORD_SETS);
+        wordSets.put(DictType.POE, POE_WORD_SETS);
+        wordSets.put(DictType.LOVECRAFT, LOVECRAFT_WORD_SETS);
+        wordSets.put(DictType.MYTHOS, MYTHOS_WORD_SETS);
+        return wordSets;
+    }
+
+    private static Map<DictType, DictionaryTrie> getDictionaryTries() {
+        Map<DictType, DictionaryTrie> tries = new EnumMap<>(DictType.class);
+        tries.put(DictType.ENGLISH_WORDS, ENGLISH_DICT_TRIE);
+        tries.put(DictType.POE, POE_DICT_TRIE);
+        tries.put(DictType.LOVECRAFT, LOVECRAFT_DICT_TRIE);
+        tries.put(DictType.MYTHOS, MYTHOS_DICT_TRIE);
+        return tries;
     }
 
     public static DictionarySet getEnglishDictSet() {
@@ -74,6 +284,14 @@ public class Dictionaries {
         return ENGLISH_WORD_SETS;
     }
 
+    public static CombinedDictionaryTrie getCombinedDictTrie() {
+        return COMBINED_DICT_TRIE;
+    }
+
+    public static DictionaryGaddag getDictionaryGaddag() {
+        return DICTIONARY_GADDAG;
+    }
+
     public static DictionarySet getLovecraftDictSet() {
         return LOVECRAFT_DICT_SET;
     }
@@ -0,0 +1,150 @@
+package net.capps.word.game.dict;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Byte-level parser for the dictionary resource files. Each line is either a word, or a word followed by spaces
+ * and a quoted definition, in which quotes are escaped as \". Surrounding whitespace is ignored.
+ *
+ * Words are upper-cased in the line buffer, so the only String made per word is the word itself, and only if its
+ * length is in range. Definitions are UTF-8.
+ */
+class DictionaryFileParser {
+    // ---------------- Static ----------------
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryFileParser.class);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    interface EntryConsumer {
+        void accept(String word, @Nullable String definition);
+    }
+
+    // ---------------- Constructor -----------
+    DictionaryFileParser(int minWordLength, int maxWordLength) {
+        this.minWordLength = minWordLength;
+        this.maxWordLength = maxWordLength;
+    }
+
+    // ---------------- Private fields ---------------
+    private final int minWordLength;
+    private final int maxWordLength;
+    private byte[] line = new byte[256];
+
+    // ---------------- Package-private ----------------
+    void parse(InputStream in, EntryConsumer consumer) throws IOException {
+        final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int lineLength = 0;
+        int numRead;
+        while ((numRead = in.read(buffer)) != -1) {
+            for (int i = 0; i < numRead; ++i) {
+                final byte b = buffer[i];
+                if (b == '\n') {
+                    parseLine(lineLength, consumer);
+                    lineLength = 0;
+                } else {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, 2 * line.length);
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+        }
+        if (lineLength > 0) {
+            parseLine(lineLength, consumer);
+        }
+    }
+
+    // --------------- Private ---------------
+
+    private void parseLine(int lineLength, EntryConsumer consumer) {
+        // Trim whitespace and control characters, like String.trim()
+        int start = 0;
+        int end = lineLength;
+        while (start < end && isTrimmed(line[start])) {
+            ++start;
+        }
+        while (end > start && isTrimmed(line[end - 1])) {
+            --end;
+        }
+
+        int pos = start;
+        while (pos < end && isLetter(line[pos])) {
+            ++pos;
+        }
+        final int wordLength = pos - start;
+        if (wordLength == 0) {
+            logInvalidLine(start, end);
+            return;
+        }
+
+        String definition = null;
+        if (pos < end) {
+            definition = parseDefinition(pos, end);
+            if (definition == null) {
+                logInvalidLine(start, end);
+                return;
+            }
+        }
+
+        if (wordLength > maxWordLength || wordLength < minWordLength) {
+            return;
+        }
+        for (int i = start; i < pos; ++i) {
+            line[i] &= ~0x20; // Upper-case ASCII letter
+        }
+        consumer.accept(new String(line, start, wordLength, StandardCharsets.US_ASCII), definition);
+    }
+
+    /**
+     * Parse one or more spaces followed by a quoted definition ending the line, or return null if it's invalid.
+     */
+    @Nullable
+    private String parseDefinition(int pos, int end) {
+        final int spacesStart = pos;
+        while (pos < end && line[pos] == ' ') {
+            ++pos;
+        }
+        final int contentStart = pos + 1;
+        final int contentEnd = end - 1;
+        if (pos == spacesStart || contentStart >= contentEnd || line[pos] != '"' || line[contentEnd] != '"') {
+            return null;
+        }
+
+        // Every quote in the definition must be escaped
+        for (int i = contentStart; i < contentEnd; ++i) {
+            if (line[i] == '"' && line[i - 1] != '\\') {
+                return null;
+            }
+        }
+
+        // Unescape in place, since the definition is last on the line
+        int out = contentStart;
+        for (int i = contentStart; i < contentEnd; ++i) {
+            if (line[i] == '\\' && i + 1 < contentEnd && line[i + 1] == '"') {
+                ++i;
+            }
+            line[out++] = line[i];
+        }
+        return new String(line, contentStart, out - contentStart, StandardCharsets.UTF_8);
+    }
+
+    private void logInvalidLine(int start, int end) {
+        LOG.error("Error - invalid line found in dictionary: '{}'", new String(line, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isLetter(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+    }
+
+    private static boolean isTrimmed(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+}
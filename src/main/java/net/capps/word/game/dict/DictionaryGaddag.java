@@ -0,0 +1,80 @@
+package net.capps.word.game.dict;
+
+import com.google.common.collect.Lists;
+import net.capps.word.game.dict.tries.Gaddag;
+import net.capps.word.util.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A GADDAG over every playable dictionary, so the AI can grow words in both directions from an anchor square.
+ * Nodes are addressed by int handles. Dictionaries are identified by the same bitmasks as in CombinedDictionaryTrie.
+ */
+public class DictionaryGaddag {
+    // ---------------- Static ----------------
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryGaddag.class);
+    public static final int ROOT = Gaddag.ROOT;
+    public static final int NO_NODE = Gaddag.NO_NODE;
+    public static final char SEPARATOR = Gaddag.SEPARATOR;
+
+    // ---------------- Constructor -----------
+    DictionaryGaddag() { }
+
+    // ---------------- Private fields ---------------
+    private Gaddag gaddag;
+
+    // ---------------- Public ----------------
+    public void loadDictionaries(Map<DictType, ? extends Set<String>> dictionaries) {
+        final long START = System.currentTimeMillis();
+        List<Set<String>> dictsByOrdinal = Lists.newArrayList();
+        for (DictType dictType: DictType.values()) {
+            Set<String> words = dictionaries.get(dictType);
+            dictsByOrdinal.add(words == null ? Collections.<String>emptySet() : words);
+        }
+        loadGaddag(Gaddag.build(dictsByOrdinal));
+        LOG.info(format("SUCCESS - loaded GADDAG of %s with %d nodes in %s", dictionaries.keySet(),
+                gaddag.getNumNodes(), DateUtil.getDurationPretty(System.currentTimeMillis() - START)));
+    }
+
+    /**
+     * Get the child of the given node for a letter or SEPARATOR, or NO_NODE if there's no such edge.
+     */
+    public int getChild(int node, char c) {
+        return gaddag.getChild(node, c);
+    }
+
+    /**
+     * The dictionaries with a word spelled by the path to the node.
+     */
+    public int getWordMask(int node) {
+        return gaddag.getWordMask(node);
+    }
+
+    /**
+     * The dictionaries with some path continuing from the node.
+     */
+    public int getPrefixMask(int node) {
+        return gaddag.getPrefixMask(node);
+    }
+
+    // ---------------- Package-private ----------------
+    void loadGaddag(Gaddag newGaddag) {
+        if (gaddag != null) {
+            throw new IllegalStateException("Cannot load DictionaryGaddag twice!");
+        }
+        gaddag = newGaddag;
+    }
+
+    Gaddag getGaddag() {
+        return gaddag;
+    }
+}
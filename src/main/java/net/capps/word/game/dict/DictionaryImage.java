@@ -0,0 +1,360 @@
+package net.capps.word.game.dict;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import net.capps.word.game.dict.sets.WordSets;
+import net.capps.word.game.dict.tries.ArrayTrie;
+import net.capps.word.game.dict.tries.Gaddag;
+import net.capps.word.game.dict.tries.MultiDictTrie;
+import net.capps.word.game.dict.tries.WordTrie;
+import net.capps.word.util.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A prebuilt binary image of every dictionary, so a server boot doesn't have to re-parse the text files and rebuild
+ * the tries. The image is memory-mapped when read; the ArrayTries are views of the mapped file and stay off-heap.
+ * Words and definitions are still copied into Strings, since the DictionarySets hand out ImmutableSet<String>.
+ * The WordSets bitsets are copied onto the heap; their words are the dictionary's words, so they aren't stored twice.
+ * The CombinedDictionaryTrie and the DictionaryGaddag are stored after the dictionaries.
+ *
+ * The header holds a fingerprint of the dictionary resources, so a stale image is ignored and rewritten.
+ */
+public class DictionaryImage {
+    // ---------------- Static ----------------
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryImage.class);
+    private static final int MAGIC = 0x47574449; // "GWDI"
+    private static final int FORMAT_VERSION = 4;
+    private static final int STORE_LIST_FLAG = 1;
+    private static final int HAS_TRIE_FLAG = 1 << 1;
+    private static final int HAS_WORD_SETS_FLAG = 1 << 2;
+
+    /**
+     * Prebuild the image at build time, so the first boot of a deploy doesn't pay for it.
+     * Usage: DictionaryImage <image path>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: DictionaryImage <image path>");
+        }
+        Dictionaries.initializeAllDictionariesWithImage(Paths.get(args[0]));
+    }
+
+    // ---------------- Constructor -----------
+    private DictionaryImage(Map<DictType, Entry> entries, MultiDictTrie combinedTrie, Gaddag gaddag) {
+        this.entries = entries;
+        this.combinedTrie = combinedTrie;
+        this.gaddag = gaddag;
+    }
+
+    // ---------------- Private fields ---------------
+    private final Map<DictType, Entry> entries;
+    private final MultiDictTrie combinedTrie;
+    private final Gaddag gaddag;
+
+    // ---------------- Package-private ----------------
+
+    /**
+     * CRC32 of every dictionary resource plus the parameters that affect which words get loaded.
+     * Resources are read as streams, so this works when the dictionaries are packaged inside a jar.
+     */
+    static long computeFingerprint(int minWordLen, int maxWordLen) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        for (DictType dictType: DictType.values()) {
+            try (InputStream in = DictionaryImage.class.getClassLoader().getResourceAsStream(dictType.getResourcePath())) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Invalid dictionary file: " + dictType.getResourcePath());
+                }
+                int numRead;
+                while ((numRead = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, numRead);
+                }
+            }
+        }
+        ByteBuffer params = ByteBuffer.allocate(12);
+        params.putInt(FORMAT_VERSION).putInt(minWordLen).putInt(maxWordLen);
+        crc.update(params.array(), 0, params.capacity());
+        return crc.getValue();
+    }
+
+    /**
+     * Read the image at the given path, or return empty if it doesn't exist or was built from other dictionaries.
+     */
+    static Optional<DictionaryImage> read(Path imagePath, long fingerprint) throws IOException {
+        if (!Files.isRegularFile(imagePath)) {
+            LOG.info("No dictionary image found at {}", imagePath);
+            return Optional.empty();
+        }
+        final long START = System.currentTimeMillis();
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(imagePath, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.nativeOrder());
+
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION ||
+                buffer.getLong() != fingerprint) {
+            LOG.info("Dictionary image at {} is stale, ignoring it.", imagePath);
+            return Optional.empty();
+        }
+
+        Map<DictType, Entry> entries = new EnumMap<>(DictType.class);
+        final int numDicts = buffer.getInt();
+        for (int i = 0; i < numDicts; ++i) {
+            DictType dictType = DictType.values()[buffer.getInt()];
+            entries.put(dictType, readEntry(buffer));
+        }
+        MultiDictTrie combinedTrie = MultiDictTrie.readFrom(buffer);
+        Gaddag gaddag = Gaddag.readFrom(buffer);
+        LOG.info("Read dictionary image from {} in {}", imagePath,
+                DateUtil.getDurationPretty(System.currentTimeMillis() - START));
+        return Optional.of(new DictionaryImage(entries, combinedTrie, gaddag));
+    }
+
+    /**
+     * Write an image of the loaded dictionaries. The image is written to a temp file and moved into place,
+     * so a concurrent reader never sees a partial image.
+     */
+    static void write(Path imagePath, long fingerprint, Map<DictType, DictionarySet> sets,
+                      Map<DictType, DictionaryTrie> tries, Map<DictType, DictionaryWordSets> wordSets,
+                      CombinedDictionaryTrie combinedTrie, DictionaryGaddag dictionaryGaddag) throws IOException {
+        final long START = System.currentTimeMillis();
+        int size = 4 + 4 + 8 + 4;
+        for (Map.Entry<DictType, DictionarySet> entry: sets.entrySet()) {
+            size += 4 + getSerializedSize(entry.getValue(), getArrayTrie(tries.get(entry.getKey())),
+                    wordSets.get(entry.getKey()));
+        }
+        size += combinedTrie.getMultiDictTrie().getSerializedSize();
+        size += dictionaryGaddag.getGaddag().getSerializedSize();
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.nativeOrder());
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putLong(fingerprint);
+        buffer.putInt(sets.size());
+        for (Map.Entry<DictType, DictionarySet> entry: sets.entrySet()) {
+            buffer.putInt(entry.getKey().ordinal());
+            writeEntry(buffer, entry.getValue(), getArrayTrie(tries.get(entry.getKey())), wordSets.get(entry.getKey()));
+        }
+        combinedTrie.getMultiDictTrie().writeTo(buffer);
+        dictionaryGaddag.getGaddag().writeTo(buffer);
+        buffer.flip();
+
+        Path absolutePath = imagePath.toAbsolutePath();
+        Files.createDirectories(absolutePath.getParent());
+        Path tmpPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tmpPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+        LOG.info(format("Wrote dictionary image of %d bytes to %s in %s", size, absolutePath,
+                DateUtil.getDurationPretty(System.currentTimeMillis() - START)));
+    }
+
+    boolean hasEntry(DictType dictType) {
+        return entries.containsKey(dictType);
+    }
+
+    void loadInto(DictType dictType, DictionarySet dictionarySet) {
+        Entry entry = getEntry(dictType);
+        dictionarySet.loadWords(entry.words, entry.definitions, entry.storeList);
+    }
+
+    void loadInto(DictType dictType, DictionaryTrie dictionaryTrie) {
+        Entry entry = getEntry(dictType);
+        if (entry.trie == null) {
+            throw new IllegalStateException("Dictionary image has no trie for " + dictType);
+        }
+        dictionaryTrie.loadTrie(entry.words, entry.trie);
+    }
+
+    void loadInto(DictType dictType, DictionaryWordSets dictionaryWordSets) {
+        Entry entry = getEntry(dictType);
+        if (entry.wordSets == null) {
+            throw new IllegalStateException("Dictionary image has no word sets for " + dictType);
+        }
+        dictionaryWordSets.loadWordSets(entry.words, entry.wordSets);
+    }
+
+    void loadInto(CombinedDictionaryTrie combinedDictionaryTrie) {
+        combinedDictionaryTrie.loadTrie(combinedTrie);
+    }
+
+    void loadInto(DictionaryGaddag dictionaryGaddag) {
+        dictionaryGaddag.loadGaddag(gaddag);
+    }
+
+    // --------------- Private ---------------
+
+    private static class Entry {
+        private final ImmutableSet<String> words;
+        private final ImmutableMap<String, String> definitions;
+        private final boolean storeList;
+        private final ArrayTrie trie;
+        private final Map<Integer, WordSets> wordSets;
+
+        private Entry(ImmutableSet<String> words, ImmutableMap<String, String> definitions, boolean storeList,
+                      ArrayTrie trie, Map<Integer, WordSets> wordSets) {
+            this.words = words;
+            this.definitions = definitions;
+            this.storeList = storeList;
+            this.trie = trie;
+            this.wordSets = wordSets;
+        }
+    }
+
+    private Entry getEntry(DictType dictType) {
+        Entry entry = entries.get(dictType);
+        if (entry == null) {
+            throw new IllegalStateException("Dictionary image has no entry for " + dictType);
+        }
+        return entry;
+    }
+
+    private static ArrayTrie getArrayTrie(DictionaryTrie dictionaryTrie) {
+        if (dictionaryTrie == null) {
+            return null;
+        }
+        WordTrie wordTrie = dictionaryTrie.getWordTrie();
+        if (!(wordTrie instanceof ArrayTrie)) {
+            throw new IllegalArgumentException("Only an ArrayTrie can be written to a dictionary image, found: " + wordTrie);
+        }
+        return (ArrayTrie) wordTrie;
+    }
+
+    private static int getSerializedSize(DictionarySet dictionarySet, ArrayTrie trie, DictionaryWordSets wordSets) {
+        int size = 4 + 4;
+        for (String word: dictionarySet.getWordSet()) {
+            size += 1 + word.length();
+        }
+        size += 4;
+        for (Map.Entry<String, String> definition: dictionarySet.getDefinitions().entrySet()) {
+            size += 1 + definition.getKey().length() + 4 + definition.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (trie != null) {
+            size += trie.getSerializedSize();
+        }
+        if (wordSets != null) {
+            size += 4;
+            for (WordSets wordSetsOfLen: wordSets.getWordSetsByLength().values()) {
+                size += wordSetsOfLen.getSerializedSize();
+            }
+        }
+        return size;
+    }
+
+    private static void writeEntry(ByteBuffer out, DictionarySet dictionarySet, ArrayTrie trie, DictionaryWordSets wordSets) {
+        final boolean storeList = !dictionarySet.getWordList().isEmpty();
+        out.putInt((storeList ? STORE_LIST_FLAG : 0) | (trie != null ? HAS_TRIE_FLAG : 0) |
+                (wordSets != null ? HAS_WORD_SETS_FLAG : 0));
+        out.putInt(dictionarySet.getWordSet().size());
+        for (String word: dictionarySet.getWordSet()) {
+            putWord(out, word);
+        }
+        out.putInt(dictionarySet.getDefinitions().size());
+        for (Map.Entry<String, String> definition: dictionarySet.getDefinitions().entrySet()) {
+            putWord(out, definition.getKey());
+            byte[] bytes = definition.getValue().getBytes(StandardCharsets.UTF_8);
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+        if (trie != null) {
+            trie.writeTo(out);
+        }
+        if (wordSets != null) {
+            // In order of length, which is the order readEntry() reads them in
+            Map<Integer, WordSets> wordSetsByLength = new TreeMap<>(wordSets.getWordSetsByLength());
+            out.putInt(wordSetsByLength.size());
+            for (WordSets wordSetsOfLen: wordSetsByLength.values()) {
+                wordSetsOfLen.writeTo(out);
+            }
+        }
+    }
+
+    private static Entry readEntry(ByteBuffer in) {
+        final int flags = in.getInt();
+        byte[] bytes = new byte[256];
+
+        final int numWords = in.getInt();
+        ImmutableSet.Builder<String> words = ImmutableSet.builder();
+        for (int i = 0; i < numWords; ++i) {
+            words.add(getWord(in, bytes));
+        }
+
+        final int numDefinitions = in.getInt();
+        ImmutableMap.Builder<String, String> definitions = ImmutableMap.builder();
+        for (int i = 0; i < numDefinitions; ++i) {
+            String word = getWord(in, bytes);
+            final int len = in.getInt();
+            if (len > bytes.length) {
+                bytes = new byte[len];
+            }
+            in.get(bytes, 0, len);
+            definitions.put(word, new String(bytes, 0, len, StandardCharsets.UTF_8));
+        }
+
+        ImmutableSet<String> wordSet = words.build();
+        ArrayTrie trie = (flags & HAS_TRIE_FLAG) != 0 ? ArrayTrie.readFrom(in) : null;
+        Map<Integer, WordSets> wordSets = (flags & HAS_WORD_SETS_FLAG) != 0 ? readWordSets(in, wordSet) : null;
+        return new Entry(wordSet, definitions.build(), (flags & STORE_LIST_FLAG) != 0, trie, wordSets);
+    }
+
+    // The words are stored once, in the entry, so each WordSets is read with the entry's words of its length.
+    private static Map<Integer, WordSets> readWordSets(ByteBuffer in, ImmutableSet<String> words) {
+        Map<Integer, List<String>> wordsByLength = DictionaryWordSets.getWordsByLength(words);
+        final int numLengths = in.getInt();
+        if (numLengths != wordsByLength.size()) {
+            throw new IllegalStateException(format("Dictionary image has word sets for %d lengths, expected %d",
+                    numLengths, wordsByLength.size()));
+        }
+        Map<Integer, WordSets> wordSets = new TreeMap<>();
+        for (Map.Entry<Integer, List<String>> entry: wordsByLength.entrySet()) {
+            wordSets.put(entry.getKey(), WordSets.readFrom(in, entry.getValue()));
+        }
+        return wordSets;
+    }
+
+    // Words are upper-case A-Z only, so they are stored as single-byte ASCII with a one-byte length.
+    private static void putWord(ByteBuffer out, String word) {
+        out.put((byte) word.length());
+        for (int i = 0; i < word.length(); ++i) {
+            out.put((byte) word.charAt(i));
+        }
+    }
+
+    private static String getWord(ByteBuffer in, byte[] bytes) {
+        final int len = in.get() & 0xFF;
+        in.get(bytes, 0, len);
+        return new String(bytes, 0, len, StandardCharsets.US_ASCII).intern();
+    }
+}
@@ -1,6 +1,5 @@
 package net.capps.word.game.dict;
 
-import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -8,19 +7,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
-import java.io.*;
-import java.net.URL;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by charlescapps on 1/15/15.
  */
 public class DictionarySet {
     // ---------------- Static ----------------
-    private static final Pattern WORD_PATTERN = Pattern.compile("[a-zA-Z]+");
-    private static final Pattern WORD_WITH_DEFINITION_PATTERN = Pattern.compile("([a-zA-Z]+) +\"((?:[^\"]|\\\\\")+)\" *");
     private static final Logger LOG = LoggerFactory.getLogger(DictionarySet.class);
 
     // ---------------- Constructor -----------
@@ -36,7 +32,7 @@ public class DictionarySet {
     /**
      * Load in dictionary from a file.
      *
-     * @param resourceFile path to a resource text file containing a dictionary.
+     * @param resourceFile path to a resource text file containing a dictionary. Read as a stream, so it may be inside a jar.
      * @param bannedWords
      * @param storeList
      * @throws FileNotFoundException
@@ -48,68 +44,63 @@ public class DictionarySet {
                     String.format("Cannot load dictionary twice! Dictionary already has %d entries!", wordSet.size()));
         }
 
-        URL resource = getClass().getClassLoader().getResource(resourceFile);
-        if (resource == null || Strings.isNullOrEmpty(resource.getPath())) {
-            throw new IllegalArgumentException("Invalid dictionary file: " + resourceFile);
-        }
-        File file = new File(resource.getPath());
-
-        LOG.info("***** Starting to load dictionary set from file: {} *****", file.getName());
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file)))) {
-
-            ImmutableSet.Builder<String> setBuilder = ImmutableSet.builder();
-            ImmutableList.Builder<String> listBuilder = ImmutableList.builder();
-            ImmutableMap.Builder<String, Integer> wordToIndexBuilder = ImmutableMap.builder();
-            ImmutableMap.Builder<String, String> definitionsBuilder = ImmutableMap.builder();
-
-            int wordIndex = 0;
-            String line;
-            while ((line = br.readLine()) != null) {
-                String wordAndDefinition = line.trim();
-                String word, definition = null;
-
-                Matcher wordAndDefinitionMatcher = WORD_WITH_DEFINITION_PATTERN.matcher(wordAndDefinition);
-
-                if (wordAndDefinitionMatcher.matches()) {
-                    word = wordAndDefinitionMatcher.group(1);
-                    definition = wordAndDefinitionMatcher.group(2);
-                } else {
-                    Matcher wordMatcher = WORD_PATTERN.matcher(wordAndDefinition);
-                    if (!wordMatcher.matches()) {
-                        LOG.error("Error - invalid line found in dictionary: '{}'", wordAndDefinition);
-                        continue;
-                    }
-                    word = wordAndDefinition;
-                }
-                word = word.toUpperCase();
+        LOG.info("***** Starting to load dictionary set from resource: {} *****", resourceFile);
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resourceFile)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Invalid dictionary file: " + resourceFile);
+            }
 
-                if (word.length() > maxWordLength || word.length() < minWordLength) {
-                    LOG.trace("Ignoring word longer than {} or shorter than {}: {}", maxWordLength, minWordLength, wordAndDefinition);
-                    continue;
-                }
+            final ImmutableSet.Builder<String> setBuilder = ImmutableSet.builder();
+            final ImmutableList.Builder<String> listBuilder = ImmutableList.builder();
+            final ImmutableMap.Builder<String, Integer> wordToIndexBuilder = ImmutableMap.builder();
+            final ImmutableMap.Builder<String, String> definitionsBuilder = ImmutableMap.builder();
+            final int[] wordIndex = { 0 };
 
+            new DictionaryFileParser(minWordLength, maxWordLength).parse(in, (word, definition) -> {
                 if (bannedWords.isPresent() && bannedWords.get().contains(word)) {
-                    LOG.trace("Not including banned word '{}'", wordAndDefinition);
-                    continue;
+                    LOG.trace("Not including banned word '{}'", word);
+                    return;
                 }
                 word = word.intern(); // Avoid duplicate strings being stored elsewhere in the JVM
                 setBuilder.add(word);
                 if (storeList) {
                     listBuilder.add(word);
-                    wordToIndexBuilder.put(word, wordIndex);
-                    ++wordIndex;
+                    wordToIndexBuilder.put(word, wordIndex[0]);
+                    ++wordIndex[0];
                 }
                 if (definition != null) {
-                    String unescapedDef = definition.replace("\\\"", "\"");
-                    definitionsBuilder.put(word, unescapedDef);
+                    definitionsBuilder.put(word, definition);
                 }
-            }
+            });
             wordSet = setBuilder.build();
             wordList = listBuilder.build();
             wordToIndex = wordToIndexBuilder.build();
             definitions = definitionsBuilder.build();
         }
-        LOG.info("SUCCESS - loaded {} words, and {} definitions from file {}!", wordSet.size(), definitions.size(), file.getName());
+        LOG.info("SUCCESS - loaded {} words, and {} definitions from resource {}!", wordSet.size(), definitions.size(), resourceFile);
+    }
+
+    /**
+     * Load the dictionary from words that were already parsed and filtered, e.g. from a DictionaryImage.
+     */
+    void loadWords(ImmutableSet<String> words, ImmutableMap<String, String> definitions, boolean storeList) {
+        if (wordSet != null) {
+            throw new IllegalStateException(
+                    String.format("Cannot load dictionary twice! Dictionary already has %d entries!", wordSet.size()));
+        }
+        wordSet = words;
+        this.definitions = definitions;
+        if (storeList) {
+            wordList = words.asList();
+            ImmutableMap.Builder<String, Integer> wordToIndexBuilder = ImmutableMap.builder();
+            for (int i = 0; i < wordList.size(); ++i) {
+                wordToIndexBuilder.put(wordList.get(i), i);
+            }
+            wordToIndex = wordToIndexBuilder.build();
+        } else {
+            wordList = ImmutableList.of();
+            wordToIndex = ImmutableMap.of();
+        }
     }
 
     public boolean contains(String word) {
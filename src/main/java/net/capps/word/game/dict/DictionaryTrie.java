@@ -1,6 +1,9 @@
 package net.capps.word.game.dict;
 
 import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.dict.tries.TrieCursor;
+import net.capps.word.game.dict.tries.TrieType;
+import net.capps.word.game.dict.tries.WordTrie;
 import net.capps.word.util.DateUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +24,7 @@ public class DictionaryTrie {
     DictionaryTrie() { }
 
     // ---------------- Private fields ---------------
-    private final TrieNode root = new TrieNode("");
+    private WordTrie trie;
     private final int[] numWordsByLength = new int[BoardSize.VENTI.getN() + 1];
 
     // ---------------- Public ----------------
@@ -32,56 +35,54 @@ public class DictionaryTrie {
      * @throws java.io.IOException
      */
     public void loadDictionary(Set<String> validDictionary) throws IOException {
-        if (!root.isLeaf()) {
+        loadDictionary(validDictionary, TrieType.NODE_TRIE);
+    }
+
+    public void loadDictionary(Set<String> validDictionary, TrieType trieType) throws IOException {
+        if (trie != null) {
             throw new IllegalStateException("Cannot load DictionaryTrie twice!");
         }
 
-        LOG.info("Starting to load dictionary into Trie...");
+        LOG.info("Starting to load dictionary into Trie of type {}...", trieType);
         long START = System.currentTimeMillis();
-        for (String word: validDictionary) {
-            ++numWordsByLength[word.length()];
-            insertWord(word, root);
-        }
+        loadTrie(validDictionary, trieType.build(validDictionary));
         long END = System.currentTimeMillis();
 
 
-        LOG.info(format("SUCCESS - loaded dictionary into DictionaryTrie in %s.", DateUtil.getDurationPretty(END - START)));
+        LOG.info(format("SUCCESS - loaded dictionary into DictionaryTrie with %d nodes in %s.",
+                trie.getNumNodes(), DateUtil.getDurationPretty(END - START)));
     }
 
-    public boolean contains(String str) {
-        TrieNode node = root;
-        for (int pos = 0; pos < str.length(); ++pos) {
-            final char c = str.charAt(pos);
-            node = node.getChild(c);
-            if (node == null) {
-                return false;
-            }
+    /**
+     * Load a trie that was already built for the given words, e.g. from a DictionaryImage.
+     */
+    void loadTrie(Set<String> validDictionary, WordTrie wordTrie) {
+        if (trie != null) {
+            throw new IllegalStateException("Cannot load DictionaryTrie twice!");
+        }
+        for (String word: validDictionary) {
+            ++numWordsByLength[word.length()];
         }
-        return node.isValidWord();
+        trie = wordTrie;
     }
 
-    public boolean isPrefix(String str) {
-        TrieNode node = root;
-        for (int pos = 0; pos < str.length(); ++pos) {
-            final char c = str.charAt(pos);
-            node = node.getChild(c);
-            if (node == null) {
-                return false;
-            }
-        }
-        return true;
+    WordTrie getWordTrie() {
+        return trie;
     }
 
-    // --------------- Private ---------------
+    /**
+     * A new cursor at the root of the trie, for searches that build words one letter at a time.
+     */
+    public TrieCursor newCursor() {
+        return trie.newCursor();
+    }
 
-    private static void insertWord(String word, TrieNode trieNode) {
-        if (word.isEmpty()) {
-            trieNode.setValidWord(true);
-            return;
-        }
-        char c = word.charAt(0);
-        TrieNode child = trieNode.addChild(c);
-        insertWord(word.substring(1), child);
+    public boolean contains(String str) {
+        return trie.contains(str);
+    }
+
+    public boolean isPrefix(String str) {
+        return trie.isPrefix(str);
     }
 
 }
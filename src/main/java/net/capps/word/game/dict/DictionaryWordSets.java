@@ -3,13 +3,13 @@ package net.capps.word.game.dict;
 import net.capps.word.game.dict.iterators.ArrayIterator;
 import net.capps.word.game.dict.iterators.EmptyStringIterator;
 import net.capps.word.game.dict.sets.WordSets;
+import net.capps.word.util.DateUtil;
 import net.capps.word.util.RandomUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
@@ -28,22 +28,45 @@ public class DictionaryWordSets {
         this.words = words;
         LOG.info("Starting to load Dictionary Word Sets...");
         final long START = System.currentTimeMillis();
-        Map<Integer, Set<String>> wordsByLength = new HashMap<>();
+        Map<Integer, List<String>> wordsByLength = getWordsByLength(words);
+        for (int len: wordsByLength.keySet()) {
+            List<String> wordsOfLen = wordsByLength.get(len);
+            wordSetsByLength.put(len, new WordSets(len, wordsOfLen));
+        }
+        LOG.info("Finished loading Dictionary Word Sets. Took {}",
+                DateUtil.getDurationPretty(System.currentTimeMillis() - START));
+    }
+
+    /**
+     * Load word sets that were already built for the given words, e.g. from a DictionaryImage.
+     */
+    void loadWordSets(Set<String> words, Map<Integer, WordSets> wordSetsByLength) {
+        if (this.words != null) {
+            throw new IllegalStateException("Cannot load DictionaryWordSets twice!");
+        }
+        this.words = words;
+        this.wordSetsByLength.putAll(wordSetsByLength);
+    }
+
+    Map<Integer, WordSets> getWordSetsByLength() {
+        return Collections.unmodifiableMap(wordSetsByLength);
+    }
+
+    /**
+     * The words grouped by length, each group in the iteration order of the set. A WordSets numbers its words
+     * in this order, so the same set always gives the same word ordinals.
+     */
+    static Map<Integer, List<String>> getWordsByLength(Set<String> words) {
+        Map<Integer, List<String>> wordsByLength = new TreeMap<>();
         for (String word : words) {
             final int len = word.length();
             if (wordsByLength.get(len) == null) {
-                wordsByLength.put(len, new HashSet<String>());
+                wordsByLength.put(len, new ArrayList<String>());
             }
-            Set<String> wordSet = wordsByLength.get(len);
-            wordSet.add(word);
-        }
-
-        for (int len: wordsByLength.keySet()) {
-            Set<String> wordsOfLen = wordsByLength.get(len);
-            wordSetsByLength.put(len, new WordSets(len, wordsOfLen));
+            List<String> wordList = wordsByLength.get(len);
+            wordList.add(word);
         }
-        LOG.info("Finished loading Dictionary Word Sets. Took {} seconds",
-                TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - START));
+        return wordsByLength;
     }
 
     public String getRandomWordOfLen(int len) {
@@ -87,8 +110,22 @@ public class DictionaryWordSets {
             return EmptyStringIterator.INSTANCE;
         }
 
-        Collection<String> intersection = wordSets.getIntersection(wcs);
-        String[] array = intersection.toArray(new String[intersection.size()]);
+        String[] array = wordSets.getIntersection(wcs);
+        RandomUtil.shuffleInPlace(array);
+        return new ArrayIterator<>(array);
+    }
+
+    /**
+     * Like getWordsWithConstraintsInRandomOrder(wcs, len), but also only the words with a letter from letterMasks[i]
+     * at each position i, where bit j of a mask is set for 'A' + j.
+     */
+    public Iterator<String> getWordsWithConstraintsInRandomOrder(List<WordConstraint> wcs, int[] letterMasks, int len) {
+        WordSets wordSets = wordSetsByLength.get(len);
+        if (wordSets == null) {
+            return EmptyStringIterator.INSTANCE;
+        }
+
+        String[] array = wordSets.getIntersection(wcs, letterMasks);
         RandomUtil.shuffleInPlace(array);
         return new ArrayIterator<>(array);
     }
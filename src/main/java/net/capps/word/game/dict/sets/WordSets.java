@@ -2,74 +2,225 @@ package net.capps.word.game.dict.sets;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
 import net.capps.word.game.dict.WordConstraint;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
  * Created by charlescapps on 5/9/15.
+ *
+ * Index of all the words of one length by WordConstraint. Each word gets an ordinal, and each (position, letter)
+ * constraint is stored as a bitset of the ordinals of the words satisfying it, so intersecting constraints is a
+ * word-wise AND of the bitsets.
  */
 public class WordSets {
-    public static final Set<String> EMPTY_STRING_SET = ImmutableSet.of();
+    private static final String[] EMPTY_WORDS = new String[0];
+    private static final int NUM_LETTERS = 26;
+    private static final int ALL_LETTERS = (1 << NUM_LETTERS) - 1;
+
     private final int len;
-    private final Map<WordConstraint, Set<String>> sets = new HashMap<>();
-    private ImmutableList<String> allWordsOfLenList;
-    private ImmutableSet<String> allWordsOfLenSet;
+    private final String[] words;
+    private final int numLongs;
+    private final long[][] bitsets; // Indexed by pos * 26 + letter, null if no word satisfies the constraint
+    private final ImmutableList<String> allWordsOfLenList;
 
-    public WordSets(int len, Set<String> words) {
-        this.len = len;
-        allWordsOfLenSet = ImmutableSet.<String>builder().addAll(words).build();
-        allWordsOfLenList = ImmutableList.<String>builder().addAll(words).build();
-        for (String word: words) {
-            addWord(word);
+    public WordSets(int len, Collection<String> words) {
+        this(len, words.toArray(new String[words.size()]));
+        for (int ordinal = 0; ordinal < this.words.length; ++ordinal) {
+            addWord(ordinal, this.words[ordinal]);
         }
     }
 
-    public void addWord(String word) {
-        Preconditions.checkArgument(word.length() == len);
-        for (int i = 0; i < word.length(); i++) {
-            char c = word.charAt(i);
-            WordConstraint wc = WordConstraint.of(i, c);
-            if (sets.get(wc) == null) {
-                Set<String> set = new HashSet<>();
-                sets.put(wc, set);
-            }
-            Set<String> set = sets.get(wc);
-            set.add(word);
+    /**
+     * Read word sets written by writeTo(), advancing the position of the input buffer past them.
+     * The words must be the same words, in the same order, as the words of the written WordSets.
+     */
+    public static WordSets readFrom(ByteBuffer in, Collection<String> words) {
+        final int len = in.getInt();
+        final int numWords = in.getInt();
+        Preconditions.checkArgument(numWords == words.size(),
+                "Expected %s words of length %s, got %s", numWords, len, words.size());
+        WordSets wordSets = new WordSets(len, words.toArray(new String[words.size()]));
+        final int numBitsets = in.getInt();
+        for (int i = 0; i < numBitsets; ++i) {
+            final long[] bitset = new long[wordSets.numLongs];
+            wordSets.bitsets[in.getInt()] = bitset;
+            in.asLongBuffer().get(bitset);
+            in.position(in.position() + 8 * bitset.length);
         }
+        return wordSets;
     }
 
-    public Set<String> getSet(WordConstraint wc) {
-        Set<String> set = sets.get(wc);
-        if (set == null) {
-            return EMPTY_STRING_SET;
-        }
-        return set;
+    private WordSets(int len, String[] words) {
+        this.len = len;
+        this.words = words;
+        this.numLongs = (words.length + 63) >>> 6;
+        this.bitsets = new long[len * NUM_LETTERS][];
+        this.allWordsOfLenList = ImmutableList.copyOf(words);
     }
 
     public int size() {
-        return allWordsOfLenList.size();
+        return words.length;
     }
 
-    public Set<String> getIntersection(List<WordConstraint> wcs) {
+    /**
+     * Get the words satisfying all the given constraints, as a new array that the caller may modify.
+     */
+    public String[] getIntersection(List<WordConstraint> wcs) {
         if (wcs.isEmpty()) {
-            return allWordsOfLenSet;
+            return words.clone();
         }
-        Set<String> currentSet = getSet(wcs.get(0));
+        final long[] result = getConstrainedBitset(wcs);
+        return result == null ? EMPTY_WORDS : toWords(result);
+    }
 
-        for (int i = 1; i < wcs.size(); i++) {
-            if (currentSet.isEmpty()) {
-                return currentSet;
+    /**
+     * Get the words satisfying all the given constraints that also have a letter from letterMasks[i] at each position i,
+     * where bit j of a mask is set for 'A' + j. Returns a new array that the caller may modify.
+     */
+    public String[] getIntersection(List<WordConstraint> wcs, int[] letterMasks) {
+        Preconditions.checkArgument(letterMasks.length == len, "Expected %s letter masks, got %s", len, letterMasks.length);
+        long[] result = wcs.isEmpty() ? null : getConstrainedBitset(wcs);
+        if (result == null && !wcs.isEmpty()) {
+            return EMPTY_WORDS;
+        }
+
+        final long[] allowed = new long[numLongs];
+        for (int pos = 0; pos < len; ++pos) {
+            final int mask = letterMasks[pos] & ALL_LETTERS;
+            if (mask == ALL_LETTERS) {
+                continue;
+            }
+            // The words with any of the allowed letters at this position
+            Arrays.fill(allowed, 0L);
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                final long[] bitset = bitsets[pos * NUM_LETTERS + Integer.numberOfTrailingZeros(bits)];
+                if (bitset != null) {
+                    for (int j = 0; j < numLongs; ++j) {
+                        allowed[j] |= bitset[j];
+                    }
+                }
+            }
+            if (result == null) {
+                result = allowed.clone();
+                continue;
+            }
+            long any = 0L;
+            for (int j = 0; j < numLongs; ++j) {
+                any |= (result[j] &= allowed[j]);
+            }
+            if (any == 0L) {
+                return EMPTY_WORDS;
             }
-            Set<String> set = getSet(wcs.get(i));
-            currentSet = Sets.intersection(currentSet, set);
         }
-        return currentSet;
+
+        return result == null ? words.clone() : toWords(result);
     }
 
     public ImmutableList<String> getAllWordsOfLenList() {
         return allWordsOfLenList;
     }
+
+    public int getSerializedSize() {
+        int size = 4 + 4 + 4;
+        for (long[] bitset : bitsets) {
+            if (bitset != null) {
+                size += 4 + 8 * numLongs;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Write the bitsets, but not the words, which the reader must already have.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.putInt(len);
+        out.putInt(words.length);
+        int numBitsets = 0;
+        for (long[] bitset : bitsets) {
+            if (bitset != null) {
+                ++numBitsets;
+            }
+        }
+        out.putInt(numBitsets);
+        for (int index = 0; index < bitsets.length; ++index) {
+            if (bitsets[index] != null) {
+                out.putInt(index);
+                for (long bits : bitsets[index]) {
+                    out.putLong(bits);
+                }
+            }
+        }
+    }
+
+    // --------------- Private ---------------
+
+    private void addWord(int ordinal, String word) {
+        Preconditions.checkArgument(word.length() == len);
+        for (int i = 0; i < word.length(); i++) {
+            final int index = getIndex(i, word.charAt(i));
+            Preconditions.checkArgument(index >= 0, "Invalid word for WordSets: %s", word);
+            if (bitsets[index] == null) {
+                bitsets[index] = new long[numLongs];
+            }
+            bitsets[index][ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
+    /**
+     * The bitset of words satisfying all the constraints, or null if there are none. Precondition: wcs isn't empty.
+     */
+    private long[] getConstrainedBitset(List<WordConstraint> wcs) {
+        final long[] first = getBitset(wcs.get(0));
+        if (first == null) {
+            return null;
+        }
+        final long[] result = first.clone();
+
+        for (int i = 1; i < wcs.size(); i++) {
+            final long[] bitset = getBitset(wcs.get(i));
+            if (bitset == null) {
+                return null;
+            }
+            long any = 0L;
+            for (int j = 0; j < numLongs; ++j) {
+                any |= (result[j] &= bitset[j]);
+            }
+            if (any == 0L) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private long[] getBitset(WordConstraint wc) {
+        final int index = getIndex(wc.pos, wc.c);
+        return index < 0 ? null : bitsets[index];
+    }
+
+    private int getIndex(int pos, char c) {
+        if (pos < 0 || pos >= len || c < 'A' || c > 'Z') {
+            return -1;
+        }
+        return pos * NUM_LETTERS + (c - 'A');
+    }
+
+    private String[] toWords(long[] bitset) {
+        int count = 0;
+        for (long bits : bitset) {
+            count += Long.bitCount(bits);
+        }
+        String[] result = new String[count];
+        int resultIndex = 0;
+        for (int j = 0; j < numLongs; ++j) {
+            long bits = bitset[j];
+            while (bits != 0L) {
+                result[resultIndex++] = words[(j << 6) + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,196 @@
+package net.capps.word.game.dict.tries;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A word graph flattened into primitive int arrays, with no object per node.
+ *
+ * Node i is described by:
+ *   masks[i] - bits 0-25 are set for each letter 'A'-'Z' that has an outgoing edge, and bit 26 for Gaddag.SEPARATOR;
+ *              END_OF_WORD_BIT is set for valid words.
+ *   firstEdge[i] - index into edges of the first outgoing edge.
+ * The outgoing edges of a node are stored contiguously in edges, in letter order. So the child for a letter is found by
+ * counting the set bits in the mask below that letter.
+ *
+ * Walking the graph is pure array reads, with no boxing and no allocation. Node 0 is the root.
+ *
+ * The arrays are held as IntBuffers, so a trie read from a memory-mapped DictionaryImage stays off-heap.
+ */
+public class ArrayTrie implements WordTrie {
+    public static final int ROOT = 0;
+    public static final int NO_NODE = -1;
+    private static final int NUM_SYMBOLS = 27; // 'A'-'Z', then Gaddag.SEPARATOR
+    private static final int LETTERS_MASK = (1 << NUM_SYMBOLS) - 1;
+    static final int END_OF_WORD_BIT = 1 << 31;
+
+    private final IntBuffer masks;
+    private final IntBuffer firstEdge;
+    private final IntBuffer edges;
+
+    public static ArrayTrie build(Set<String> words) {
+        return Dawg.build(words).toArrayTrie();
+    }
+
+    /**
+     * Read a trie written by writeTo(), advancing the position of the input buffer past it.
+     * The returned trie is a view of the input buffer's content, not a copy.
+     */
+    public static ArrayTrie readFrom(ByteBuffer in) {
+        final int numNodes = in.getInt();
+        final int numEdges = in.getInt();
+        IntBuffer masks = sliceInts(in, numNodes);
+        IntBuffer firstEdge = sliceInts(in, numNodes);
+        IntBuffer edges = sliceInts(in, numEdges);
+        return new ArrayTrie(masks, firstEdge, edges);
+    }
+
+    ArrayTrie(int[] masks, int[] firstEdge, int[] edges) {
+        this(toDirectBuffer(masks), toDirectBuffer(firstEdge), toDirectBuffer(edges));
+    }
+
+    private ArrayTrie(IntBuffer masks, IntBuffer firstEdge, IntBuffer edges) {
+        this.masks = masks;
+        this.firstEdge = firstEdge;
+        this.edges = edges;
+    }
+
+    @Override
+    public boolean contains(String str) {
+        final int node = getNode(str);
+        return node != NO_NODE && isWord(node);
+    }
+
+    @Override
+    public boolean isPrefix(String str) {
+        return getNode(str) != NO_NODE;
+    }
+
+    @Override
+    public int getNumNodes() {
+        return masks.limit();
+    }
+
+    @Override
+    public TrieCursor newCursor() {
+        return new ArrayTrieCursor();
+    }
+
+    public int getSerializedSize() {
+        return 4 * (2 + masks.limit() + firstEdge.limit() + edges.limit());
+    }
+
+    public void writeTo(ByteBuffer out) {
+        out.putInt(masks.limit());
+        out.putInt(edges.limit());
+        for (int i = 0; i < masks.limit(); ++i) {
+            out.putInt(masks.get(i));
+        }
+        for (int i = 0; i < firstEdge.limit(); ++i) {
+            out.putInt(firstEdge.get(i));
+        }
+        for (int i = 0; i < edges.limit(); ++i) {
+            out.putInt(edges.get(i));
+        }
+    }
+
+    /**
+     * @return the child of the given node for the letter c, or NO_NODE if there's no such edge.
+     */
+    public int getChild(int node, char c) {
+        final int letter = c - 'A';
+        if (letter < 0 || letter >= NUM_SYMBOLS) {
+            return NO_NODE;
+        }
+        final int bit = 1 << letter;
+        final int mask = masks.get(node);
+        if ((mask & bit) == 0) {
+            return NO_NODE;
+        }
+        return edges.get(firstEdge.get(node) + Integer.bitCount(mask & (bit - 1)));
+    }
+
+    public boolean isWord(int node) {
+        return (masks.get(node) & END_OF_WORD_BIT) != 0;
+    }
+
+    public boolean hasChildren(int node) {
+        return (masks.get(node) & LETTERS_MASK) != 0;
+    }
+
+    // --------------- Package-private ---------------
+
+    static int letterBit(char c) {
+        final int letter = c - 'A';
+        if (letter < 0 || letter >= NUM_SYMBOLS) {
+            throw new IllegalArgumentException(String.format("Only the letters 'A'-'Z' and '%c' can be stored in an ArrayTrie. Found '%c'", Gaddag.SEPARATOR, c));
+        }
+        return 1 << letter;
+    }
+
+    static IntBuffer toDirectBuffer(int[] ints) {
+        IntBuffer buffer = ByteBuffer.allocateDirect(4 * ints.length)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        buffer.put(ints);
+        buffer.flip();
+        return buffer;
+    }
+
+    static IntBuffer sliceInts(ByteBuffer in, int numInts) {
+        ByteBuffer slice = in.slice();
+        slice.order(in.order());
+        slice.limit(4 * numInts);
+        in.position(in.position() + 4 * numInts);
+        return slice.asIntBuffer();
+    }
+
+    // --------------- Private ---------------
+
+    private int getNode(String str) {
+        int node = ROOT;
+        for (int pos = 0; pos < str.length(); ++pos) {
+            node = getChild(node, str.charAt(pos));
+            if (node == NO_NODE) {
+                return NO_NODE;
+            }
+        }
+        return node;
+    }
+
+    private class ArrayTrieCursor extends TrieCursor {
+        private int[] nodes = new int[16];
+
+        private ArrayTrieCursor() {
+            nodes[0] = ROOT;
+        }
+
+        @Override
+        public boolean isWord() {
+            return ArrayTrie.this.isWord(nodes[getDepth()]);
+        }
+
+        @Override
+        public boolean hasChildren() {
+            return ArrayTrie.this.hasChildren(nodes[getDepth()]);
+        }
+
+        @Override
+        protected boolean advanceNode(char c, int depth) {
+            final int child = getChild(nodes[depth], c);
+            if (child == NO_NODE) {
+                return false;
+            }
+            if (depth + 1 == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+            }
+            nodes[depth + 1] = child;
+            return true;
+        }
+    }
+}
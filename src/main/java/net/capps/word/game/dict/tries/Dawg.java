@@ -0,0 +1,335 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A minimized directed acyclic word graph (DAWG).
+ *
+ * Words that share a suffix share the nodes for that suffix, so the graph has far fewer nodes than a trie.
+ * Nodes store their edges in two small parallel arrays instead of a HashMap, so there's no boxing of characters.
+ *
+ * Built with the incremental algorithm for sorted input from Daciuk et al.,
+ * "Incremental Construction of Minimal Acyclic Finite-State Automata".
+ */
+public class Dawg implements WordTrie {
+    private static final char[] EMPTY_LABELS = { };
+    private static final Node[] EMPTY_CHILDREN = { };
+
+    private final Node root;
+    private final int numNodes;
+
+    public static Dawg build(Set<String> words) {
+        String[] sortedWords = words.toArray(new String[words.size()]);
+        Arrays.sort(sortedWords);
+        int[] wordMasks = new int[sortedWords.length];
+        Arrays.fill(wordMasks, 1);
+        return new Builder().build(sortedWords, wordMasks);
+    }
+
+    /**
+     * Build a graph of the union of several word sets. Each word is marked with a bitmask of the sets containing it,
+     * with bit i set for wordSets.get(i).
+     */
+    static Dawg buildMultiDict(List<Set<String>> wordSets) {
+        Preconditions.checkArgument(wordSets.size() <= MultiDictTrie.MAX_DICTS, "Too many word sets for a multi-dictionary Dawg.");
+        final Map<String, Integer> wordMasks = new HashMap<>();
+        for (int i = 0; i < wordSets.size(); ++i) {
+            for (String word: wordSets.get(i)) {
+                Integer mask = wordMasks.get(word);
+                wordMasks.put(word, (mask == null ? 0 : mask) | (1 << i));
+            }
+        }
+        String[] sortedWords = wordMasks.keySet().toArray(new String[wordMasks.size()]);
+        Arrays.sort(sortedWords);
+        int[] sortedMasks = new int[sortedWords.length];
+        for (int i = 0; i < sortedWords.length; ++i) {
+            sortedMasks[i] = wordMasks.get(sortedWords[i]);
+        }
+        return new Builder().build(sortedWords, sortedMasks);
+    }
+
+    private Dawg(Node root, int numNodes) {
+        this.root = root;
+        this.numNodes = numNodes;
+    }
+
+    @Override
+    public boolean contains(String str) {
+        Node node = getNode(str);
+        return node != null && node.wordMask != 0;
+    }
+
+    @Override
+    public boolean isPrefix(String str) {
+        return getNode(str) != null;
+    }
+
+    @Override
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    @Override
+    public TrieCursor newCursor() {
+        return new DawgCursor(root);
+    }
+
+    // --------------- Package-private ---------------
+
+    /**
+     * Flatten this graph into primitive arrays. Nodes are numbered in breadth-first order, with the root as node 0.
+     */
+    ArrayTrie toArrayTrie() {
+        final Map<Node, Integer> nodeIds = new IdentityHashMap<>(numNodes);
+        final List<Node> nodesInOrder = new ArrayList<>(numNodes);
+        final int numEdges = numberNodes(nodeIds, nodesInOrder);
+
+        final int[] masks = new int[nodesInOrder.size()];
+        final int[] firstEdge = new int[nodesInOrder.size()];
+        final int[] edges = new int[numEdges];
+        int edgeIndex = 0;
+        for (int i = 0; i < nodesInOrder.size(); ++i) {
+            Node node = nodesInOrder.get(i);
+            int mask = node.wordMask != 0 ? ArrayTrie.END_OF_WORD_BIT : 0;
+            firstEdge[i] = edgeIndex;
+            // Labels are in sorted order since the words were added in sorted order, which is the order ArrayTrie expects.
+            for (int j = 0; j < node.labels.length; ++j) {
+                mask |= ArrayTrie.letterBit(node.labels[j]);
+                edges[edgeIndex++] = nodeIds.get(node.children[j]);
+            }
+            masks[i] = mask;
+        }
+        return new ArrayTrie(masks, firstEdge, edges);
+    }
+
+    /**
+     * Flatten this graph into a MultiDictTrie, with the same node numbering as toArrayTrie().
+     */
+    MultiDictTrie toMultiDictTrie() {
+        final Map<Node, Integer> nodeIds = new IdentityHashMap<>(numNodes);
+        final List<Node> nodesInOrder = new ArrayList<>(numNodes);
+        numberNodes(nodeIds, nodesInOrder);
+
+        final int[] prefixMasks = new int[nodesInOrder.size()];
+        final int[] dictMasks = new int[nodesInOrder.size()];
+        for (int i = nodesInOrder.size() - 1; i >= 0; --i) {
+            Node node = nodesInOrder.get(i);
+            dictMasks[i] = MultiDictTrie.toDictMask(node.wordMask, computePrefixMask(node, nodeIds, prefixMasks));
+        }
+        return new MultiDictTrie(toArrayTrie(), dictMasks);
+    }
+
+    // --------------- Private ---------------
+
+    /**
+     * Number the nodes in breadth-first order, with the root as node 0. Returns the total number of edges.
+     */
+    private int numberNodes(Map<Node, Integer> nodeIds, List<Node> nodesInOrder) {
+        nodeIds.put(root, 0);
+        nodesInOrder.add(root);
+        int numEdges = 0;
+        for (int i = 0; i < nodesInOrder.size(); ++i) {
+            Node node = nodesInOrder.get(i);
+            numEdges += node.children.length;
+            for (Node child: node.children) {
+                if (!nodeIds.containsKey(child)) {
+                    nodeIds.put(child, nodesInOrder.size());
+                    nodesInOrder.add(child);
+                }
+            }
+        }
+        return numEdges;
+    }
+
+    // The word sets that have some word starting with the node's prefix. Memoized, since nodes are shared.
+    private static int computePrefixMask(Node node, Map<Node, Integer> nodeIds, int[] prefixMasks) {
+        final int id = nodeIds.get(node);
+        if (prefixMasks[id] == 0) {
+            int mask = node.wordMask;
+            for (Node child: node.children) {
+                mask |= computePrefixMask(child, nodeIds, prefixMasks);
+            }
+            prefixMasks[id] = mask;
+        }
+        return prefixMasks[id];
+    }
+
+    private Node getNode(String str) {
+        Node node = root;
+        for (int pos = 0; pos < str.length(); ++pos) {
+            node = node.getChild(str.charAt(pos));
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static final class DawgCursor extends TrieCursor {
+        private Node[] nodes = new Node[16];
+
+        private DawgCursor(Node root) {
+            nodes[0] = root;
+        }
+
+        @Override
+        public boolean isWord() {
+            return nodes[getDepth()].wordMask != 0;
+        }
+
+        @Override
+        public boolean hasChildren() {
+            return nodes[getDepth()].children.length > 0;
+        }
+
+        @Override
+        protected boolean advanceNode(char c, int depth) {
+            final Node child = nodes[depth].getChild(c);
+            if (child == null) {
+                return false;
+            }
+            if (depth + 1 == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+            }
+            nodes[depth + 1] = child;
+            return true;
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = EMPTY_LABELS;
+        private Node[] children = EMPTY_CHILDREN;
+        private int wordMask; // Bitmask of the word sets containing this word, 0 if it isn't a word
+
+        private Node getChild(char c) {
+            final char[] labels = this.labels;
+            for (int i = 0; i < labels.length; ++i) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void addChild(char c, Node child) {
+            final int len = labels.length;
+            labels = Arrays.copyOf(labels, len + 1);
+            children = Arrays.copyOf(children, len + 1);
+            labels[len] = c;
+            children[len] = child;
+        }
+
+        /**
+         * Two nodes are equivalent iff they have the same word mask and the same edges to the same (already minimized) children.
+         * Only used by the Builder's register.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Node)) {
+                return false;
+            }
+            Node other = (Node) o;
+            if (wordMask != other.wordMask || !Arrays.equals(labels, other.labels)) {
+                return false;
+            }
+            for (int i = 0; i < children.length; ++i) {
+                if (children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = wordMask;
+            for (int i = 0; i < labels.length; ++i) {
+                hash = 31 * hash + labels[i];
+                hash = 31 * hash + System.identityHashCode(children[i]);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Builds a Dawg from words added one at a time in sorted order, so the input never has to be in memory all at once.
+     */
+    static final class Builder {
+        private final Node root = new Node();
+        private final Map<Node, Node> register = new HashMap<>();
+        private final List<Node> uncheckedNodes = new ArrayList<>();
+        private int numNodes = 1;
+        private String previousWord = "";
+
+        private Dawg build(String[] sortedWords, int[] wordMasks) {
+            for (int w = 0; w < sortedWords.length; ++w) {
+                add(sortedWords[w], wordMasks[w]);
+            }
+            return finish();
+        }
+
+        /**
+         * Add a word, marked with the given bitmask of word sets. Must be greater than every word added before it.
+         */
+        void add(String word, int wordMask) {
+            Preconditions.checkArgument(word.compareTo(previousWord) > 0, "Words must be unique and sorted to build a Dawg.");
+            final int commonPrefixLen = getCommonPrefixLength(previousWord, word);
+
+            // Everything in the previous word past the common prefix can't change anymore, so minimize it.
+            minimize(commonPrefixLen);
+
+            Node node = uncheckedNodes.isEmpty() ? root : uncheckedNodes.get(uncheckedNodes.size() - 1);
+            for (int i = commonPrefixLen; i < word.length(); ++i) {
+                Node child = new Node();
+                node.addChild(word.charAt(i), child);
+                uncheckedNodes.add(child);
+                node = child;
+            }
+            node.wordMask = wordMask;
+            previousWord = word;
+        }
+
+        Dawg finish() {
+            minimize(0);
+            return new Dawg(root, numNodes);
+        }
+
+        /**
+         * Replace each unchecked node below the given depth with an equivalent registered node, if one exists.
+         * Otherwise, register the node.
+         */
+        private void minimize(int downTo) {
+            for (int i = uncheckedNodes.size() - 1; i >= downTo; --i) {
+                final Node parent = i == 0 ? root : uncheckedNodes.get(i - 1);
+                final Node child = uncheckedNodes.get(i);
+                final Node existing = register.get(child);
+                if (existing != null) {
+                    parent.children[parent.children.length - 1] = existing;
+                } else {
+                    register.put(child, child);
+                    ++numNodes;
+                }
+                uncheckedNodes.remove(i);
+            }
+        }
+
+        private static int getCommonPrefixLength(String a, String b) {
+            final int max = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                ++i;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A GADDAG over several dictionaries, from Gordon, "A Faster Scrabble Move Generation Algorithm".
+ *
+ * For a word c1...cn and each split point 1 <= i <= n, the graph holds the path ci...c1 SEPARATOR ci+1...cn,
+ * except the separator is omitted when i = n. So a word can be spelled starting from any one of its letters:
+ * first walk left to the start of the word, then take the separator and walk right to the end.
+ * This lets a move generator start at an anchor square on the board and grow the word in both directions.
+ *
+ * Like a MultiDictTrie, each node has a word mask and a prefix mask, with bit i for dictionary i.
+ */
+public class Gaddag {
+    public static final char SEPARATOR = '['; // 'Z' + 1, so ArrayTrie stores it after the letters.
+    public static final int ROOT = MultiDictTrie.ROOT;
+    public static final int NO_NODE = MultiDictTrie.NO_NODE;
+
+    private final MultiDictTrie trie;
+
+    /**
+     * Build a GADDAG of the given dictionaries, where dictionaries.get(i) is dictionary i.
+     */
+    public static Gaddag build(List<Set<String>> dictionaries) {
+        Preconditions.checkArgument(dictionaries.size() <= MultiDictTrie.MAX_DICTS, "Too many dictionaries for a Gaddag.");
+        final Dawg.Builder builder = new Dawg.Builder();
+
+        // There's a path for every letter of every word, so only the paths starting with one letter are held at a time.
+        // Paths start with the letter at the split point, so they're added to the builder in sorted order.
+        final String[][] sortedPaths = new String[dictionaries.size()][];
+        for (char first = 'A'; first <= 'Z'; ++first) {
+            for (int d = 0; d < dictionaries.size(); ++d) {
+                sortedPaths[d] = getSortedPaths(dictionaries.get(d), first);
+            }
+            addPathsInOrder(sortedPaths, builder);
+        }
+        return new Gaddag(builder.finish().toMultiDictTrie());
+    }
+
+    /**
+     * Read a GADDAG written by writeTo(), advancing the position of the input buffer past it.
+     * The returned GADDAG is a view of the input buffer's content, not a copy.
+     */
+    public static Gaddag readFrom(ByteBuffer in) {
+        return new Gaddag(MultiDictTrie.readFrom(in));
+    }
+
+    private Gaddag(MultiDictTrie trie) {
+        this.trie = trie;
+    }
+
+    public int getNumNodes() {
+        return trie.getNumNodes();
+    }
+
+    public int getSerializedSize() {
+        return trie.getSerializedSize();
+    }
+
+    public void writeTo(ByteBuffer out) {
+        trie.writeTo(out);
+    }
+
+    /**
+     * Get the child of the given node for a letter or SEPARATOR, or NO_NODE if there's no such edge.
+     */
+    public int getChild(int node, char c) {
+        return trie.getChild(node, c);
+    }
+
+    /**
+     * The dictionaries with a word spelled by the path to the node.
+     */
+    public int getWordMask(int node) {
+        return trie.getWordMask(node);
+    }
+
+    /**
+     * The dictionaries with some path continuing from the node.
+     */
+    public int getPrefixMask(int node) {
+        return trie.getPrefixMask(node);
+    }
+
+    // --------------- Package-private ---------------
+
+    /**
+     * The path for a word split after the first splitLen letters.
+     */
+    static String toPath(String word, int splitLen) {
+        final int len = word.length();
+        final char[] path = new char[splitLen == len ? len : len + 1];
+        for (int i = 0; i < splitLen; ++i) {
+            path[i] = word.charAt(splitLen - 1 - i);
+        }
+        if (splitLen < len) {
+            path[splitLen] = SEPARATOR;
+            word.getChars(splitLen, len, path, splitLen + 1);
+        }
+        return new String(path);
+    }
+
+    // --------------- Private ---------------
+
+    private static String[] getSortedPaths(Set<String> words, char first) {
+        final List<String> paths = new ArrayList<>();
+        for (String word: words) {
+            for (int i = 0; i < word.length(); ++i) {
+                if (word.charAt(i) == first) {
+                    paths.add(toPath(word, i + 1));
+                }
+            }
+        }
+        final String[] sortedPaths = paths.toArray(new String[paths.size()]);
+        Arrays.sort(sortedPaths);
+        return sortedPaths;
+    }
+
+    /**
+     * Merge the sorted paths of each dictionary, adding each distinct path once with the mask of the dictionaries having it.
+     */
+    private static void addPathsInOrder(String[][] sortedPaths, Dawg.Builder builder) {
+        final int[] next = new int[sortedPaths.length];
+        while (true) {
+            String min = null;
+            for (int d = 0; d < sortedPaths.length; ++d) {
+                if (next[d] < sortedPaths[d].length && (min == null || sortedPaths[d][next[d]].compareTo(min) < 0)) {
+                    min = sortedPaths[d][next[d]];
+                }
+            }
+            if (min == null) {
+                return;
+            }
+            int mask = 0;
+            for (int d = 0; d < sortedPaths.length; ++d) {
+                if (next[d] < sortedPaths[d].length && sortedPaths[d][next[d]].equals(min)) {
+                    mask |= 1 << d;
+                    ++next[d];
+                }
+            }
+            builder.add(min, mask);
+        }
+    }
+}
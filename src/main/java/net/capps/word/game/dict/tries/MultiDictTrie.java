@@ -0,0 +1,88 @@
+package net.capps.word.game.dict.tries;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * One ArrayTrie over the union of several dictionaries, where each node also records which dictionaries it belongs to:
+ *   word mask - bit i is set if the node's prefix is a word in dictionary i.
+ *   prefix mask - bit i is set if some word in dictionary i starts with the node's prefix.
+ *
+ * So one traversal can search several dictionaries at once, pruning a branch when the prefix mask no longer overlaps
+ * the dictionaries still being searched.
+ */
+public class MultiDictTrie {
+    public static final int ROOT = ArrayTrie.ROOT;
+    public static final int NO_NODE = ArrayTrie.NO_NODE;
+    public static final int MAX_DICTS = 16;
+    private static final int WORD_MASK = (1 << MAX_DICTS) - 1;
+
+    private final ArrayTrie trie;
+    private final IntBuffer dictMasks; // Word mask in the low 16 bits, prefix mask in the high 16 bits
+
+    /**
+     * Build a trie of the given dictionaries, where dictionaries.get(i) is dictionary i.
+     */
+    public static MultiDictTrie build(List<Set<String>> dictionaries) {
+        return Dawg.buildMultiDict(dictionaries).toMultiDictTrie();
+    }
+
+    /**
+     * Read a trie written by writeTo(), advancing the position of the input buffer past it.
+     * The returned trie is a view of the input buffer's content, not a copy.
+     */
+    public static MultiDictTrie readFrom(ByteBuffer in) {
+        ArrayTrie trie = ArrayTrie.readFrom(in);
+        IntBuffer dictMasks = ArrayTrie.sliceInts(in, trie.getNumNodes());
+        return new MultiDictTrie(trie, dictMasks);
+    }
+
+    MultiDictTrie(ArrayTrie trie, int[] dictMasks) {
+        this(trie, ArrayTrie.toDirectBuffer(dictMasks));
+    }
+
+    private MultiDictTrie(ArrayTrie trie, IntBuffer dictMasks) {
+        this.trie = trie;
+        this.dictMasks = dictMasks;
+    }
+
+    public int getNumNodes() {
+        return trie.getNumNodes();
+    }
+
+    public int getSerializedSize() {
+        return trie.getSerializedSize() + 4 * dictMasks.limit();
+    }
+
+    public void writeTo(ByteBuffer out) {
+        trie.writeTo(out);
+        for (int i = 0; i < dictMasks.limit(); ++i) {
+            out.putInt(dictMasks.get(i));
+        }
+    }
+
+    /**
+     * Get the child of the given node for the given letter, or NO_NODE if no dictionary has a word continuing that way.
+     */
+    public int getChild(int node, char c) {
+        return trie.getChild(node, c);
+    }
+
+    public int getWordMask(int node) {
+        return dictMasks.get(node) & WORD_MASK;
+    }
+
+    public int getPrefixMask(int node) {
+        return dictMasks.get(node) >>> MAX_DICTS;
+    }
+
+    // --------------- Package-private ---------------
+
+    static int toDictMask(int wordMask, int prefixMask) {
+        return (prefixMask << MAX_DICTS) | wordMask;
+    }
+}
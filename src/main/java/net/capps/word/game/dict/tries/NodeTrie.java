@@ -0,0 +1,106 @@
+package net.capps.word.game.dict.tries;
+
+import net.capps.word.game.dict.TrieNode;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * The original trie with one TrieNode per prefix, and a HashMap of children at each node.
+ */
+public class NodeTrie implements WordTrie {
+    private final TrieNode root = new TrieNode("");
+    private int numNodes = 1;
+
+    public static NodeTrie build(Set<String> words) {
+        NodeTrie nodeTrie = new NodeTrie();
+        for (String word: words) {
+            nodeTrie.insertWord(word);
+        }
+        return nodeTrie;
+    }
+
+    private NodeTrie() { }
+
+    @Override
+    public boolean contains(String str) {
+        TrieNode node = getNode(str);
+        return node != null && node.isValidWord();
+    }
+
+    @Override
+    public boolean isPrefix(String str) {
+        return getNode(str) != null;
+    }
+
+    @Override
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    @Override
+    public TrieCursor newCursor() {
+        return new NodeTrieCursor(root);
+    }
+
+    // --------------- Private ---------------
+
+    private TrieNode getNode(String str) {
+        TrieNode node = root;
+        for (int pos = 0; pos < str.length(); ++pos) {
+            final char c = str.charAt(pos);
+            node = node.getChild(c);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private void insertWord(String word) {
+        TrieNode node = root;
+        for (int pos = 0; pos < word.length(); ++pos) {
+            final char c = word.charAt(pos);
+            TrieNode child = node.getChild(c);
+            if (child == null) {
+                child = node.addChild(c);
+                ++numNodes;
+            }
+            node = child;
+        }
+        node.setValidWord(true);
+    }
+
+    private static final class NodeTrieCursor extends TrieCursor {
+        private TrieNode[] nodes = new TrieNode[16];
+
+        private NodeTrieCursor(TrieNode root) {
+            nodes[0] = root;
+        }
+
+        @Override
+        public boolean isWord() {
+            return nodes[getDepth()].isValidWord();
+        }
+
+        @Override
+        public boolean hasChildren() {
+            return !nodes[getDepth()].isLeaf();
+        }
+
+        @Override
+        protected boolean advanceNode(char c, int depth) {
+            final TrieNode child = nodes[depth].getChild(c);
+            if (child == null) {
+                return false;
+            }
+            if (depth + 1 == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+            }
+            nodes[depth + 1] = child;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.capps.word.game.dict.tries;
+
+import java.util.Arrays;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A stateful position in a WordTrie, for searches that build words one letter at a time.
+ *
+ * advance() descends one edge and retreat() backs up one, so a recursive search never walks from the root again
+ * and never builds a String for a prefix. The letters advanced through are kept, and only become a String
+ * when getPrefix() is called, e.g. once a word is found.
+ */
+public abstract class TrieCursor {
+    private char[] letters = new char[16];
+    private int depth;
+
+    /**
+     * Advance by one letter. If no word continues with the letter, return false and leave the cursor where it was.
+     */
+    public final boolean advance(char c) {
+        if (depth == letters.length) {
+            letters = Arrays.copyOf(letters, 2 * letters.length);
+        }
+        if (!advanceNode(c, depth)) {
+            return false;
+        }
+        letters[depth++] = c;
+        return true;
+    }
+
+    /**
+     * Back up by one letter, undoing the last successful advance().
+     */
+    public final void retreat() {
+        if (depth == 0) {
+            throw new IllegalStateException("Cannot retreat from the root of a trie.");
+        }
+        --depth;
+    }
+
+    public final int getDepth() {
+        return depth;
+    }
+
+    public final String getPrefix() {
+        return new String(letters, 0, depth);
+    }
+
+    /**
+     * Whether the letters advanced through so far spell a word.
+     */
+    public abstract boolean isWord();
+
+    /**
+     * Whether any word continues past the letters advanced through so far.
+     */
+    public abstract boolean hasChildren();
+
+    /**
+     * Move from the node at the given depth to its child for the letter, at depth + 1.
+     * Returns false if there's no such child.
+     */
+    protected abstract boolean advanceNode(char c, int depth);
+}
@@ -0,0 +1,24 @@
+package net.capps.word.game.dict.tries;
+
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * The implementations available to back a DictionaryTrie.
+ * Selected with the system property "ghostwriters.trieType".
+ */
+public enum TrieType {
+    NODE_TRIE,
+    DAWG,
+    ARRAY_TRIE;
+
+    public WordTrie build(Set<String> words) {
+        switch (this) {
+            case NODE_TRIE: return NodeTrie.build(words);
+            case DAWG: return Dawg.build(words);
+            case ARRAY_TRIE: return ArrayTrie.build(words);
+        }
+        throw new IllegalStateException("Invalid trie type: " + this);
+    }
+}
@@ -0,0 +1,19 @@
+package net.capps.word.game.dict.tries;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Read-only word structure backing a DictionaryTrie.
+ */
+public interface WordTrie {
+    boolean contains(String str);
+
+    boolean isPrefix(String str);
+
+    int getNumNodes();
+
+    /**
+     * A new cursor at the root of this trie. Cursors aren't thread-safe, but any number can walk one trie at once.
+     */
+    TrieCursor newCursor();
+}
@@ -161,23 +161,23 @@ public class DefaultGameGenerator implements GameGenerator {
         for (int totalDiff : diffsToTry) {
 
             List<WordConstraint> wcs = new ArrayList<>();
+            int[] letterMasks = new int[totalDiff + 1];
 
-            // Get all constraints from existing tiles.
+            // Get all constraints from existing tiles, and the letters that form perpendicular words on empty tiles.
             Pos scan = start;
             for (int j = 0; j <= totalDiff; ++j, scan = scan.go(dir)) {
                 if (tileSet.isOccupied(scan)) {
                     wcs.add(new WordConstraint(j, tileSet.getLetterAt(scan)));
+                    letterMasks[j] = TileSet.ALL_LETTERS;
+                } else {
+                    letterMasks[j] = tileSet.getCrossCheck(scan, dir);
                 }
             }
 
-            Iterator<String> iter = dictWordSets.getWordsWithConstraintsInRandomOrder(wcs, totalDiff + 1);
-
-            while (iter.hasNext()) {
-                String word = iter.next();
-                Placement placement = new Placement(word, start, dir);
-                if (tileSet.isValidPerpendicularPlacement(placement, null)) {
-                    return Optional.of(placement);
-                }
+            // Every word left makes valid perpendicular words, so take the first one.
+            Iterator<String> iter = dictWordSets.getWordsWithConstraintsInRandomOrder(wcs, letterMasks, totalDiff + 1);
+            if (iter.hasNext()) {
+                return Optional.of(new Placement(iter.next(), start, dir));
             }
         }
 
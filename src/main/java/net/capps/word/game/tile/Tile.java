@@ -12,6 +12,22 @@ public class Tile {
     public static final char ABSENT_TILE = '_';
     public static final char WILD_TILE = '*'; // Only used when serializing / deserializing tile sets.
 
+    // Tiles are immutable, so there's one instance of each kind of tile, indexed by its code.
+    // Code 0 is the absent tile, then 4 codes for each letter: played, wild played, start, and wild start.
+    private static final int NUM_CODES = 1 + 26 * 4;
+    private static final Tile[] TILES_BY_CODE = new Tile[NUM_CODES];
+    private static final Tile ABSENT = new Tile(ABSENT_TILE, false, false);
+
+    static {
+        TILES_BY_CODE[0] = ABSENT;
+        for (char letter = 'A'; letter <= 'Z'; ++letter) {
+            for (int kind = 0; kind < 4; ++kind) {
+                final Tile tile = new Tile(letter, (kind & 2) != 0, (kind & 1) != 0);
+                TILES_BY_CODE[tile.getCode()] = tile;
+            }
+        }
+    }
+
     private final boolean startTile;
     private final boolean wild;
     private final char letter;
@@ -27,26 +43,26 @@ public class Tile {
     // ------------- Public Static ------------
 
     public static Tile startTile(char letter) {
-        return new Tile(letter, true, false);
+        return of(letter, true, false);
     }
 
     public static Tile playedTile(char letter) {
-        return new Tile(letter, false, false);
+        return of(letter, false, false);
     }
 
     public static Tile wildPlayedTile(char letter) {
-        return new Tile(letter, false, true);
+        return of(letter, false, true);
     }
 
     public static Tile absentTile() {
-        return new Tile(ABSENT_TILE, false, false);
+        return ABSENT;
     }
 
     public static Tile fromSerializedForm(char c, boolean wild) {
         if (LetterUtils.isUppercase(c)) {
-            return new Tile(c, false, wild);
+            return of(c, false, wild);
         } else if (LetterUtils.isLowercase(c)) {
-            return new Tile(Character.toUpperCase(c), true, wild);
+            return of(Character.toUpperCase(c), true, wild);
         } else if (c == ABSENT_TILE) {
             return Tile.absentTile();
         }
@@ -54,8 +70,26 @@ public class Tile {
                 String.format("Invalid char for creating tile from serialized form: '%c'", c));
     }
 
+    /**
+     * The tile with the given code, from getCode().
+     */
+    public static Tile fromCode(byte code) {
+        Preconditions.checkArgument(code >= 0 && code < NUM_CODES, "Invalid tile code: %s", code);
+        return TILES_BY_CODE[code];
+    }
+
     // ---------- Public ----------
 
+    /**
+     * A code from 0 to 104 for the kind of tile, so a board can be stored as one byte per square.
+     */
+    public byte getCode() {
+        if (isAbsent()) {
+            return 0;
+        }
+        return (byte) toCode(letter, startTile, wild);
+    }
+
     /**
      * Returns the character for this tile.
      * An absent tile is represented by '_'.
@@ -108,4 +142,16 @@ public class Tile {
         return RackTile.of(letter);
     }
 
+    // ------------- Private ------------
+
+    private static Tile of(char letter, boolean startTile, boolean wild) {
+        Preconditions.checkArgument(LetterUtils.isUppercase(letter),
+                "Tile character must be uppercase alphabetic or '_' for an empty tile.");
+        return TILES_BY_CODE[toCode(letter, startTile, wild)];
+    }
+
+    private static int toCode(char letter, boolean startTile, boolean wild) {
+        return 1 + (letter - 'A') * 4 + (startTile ? 2 : 0) + (wild ? 1 : 0);
+    }
+
 }
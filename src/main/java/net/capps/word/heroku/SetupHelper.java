@@ -166,20 +166,24 @@ public class SetupHelper {
         UserModel randomUser = new UserModel(null, WordConstants.RANDOM_AI_USERNAME, null, null, null, true);
         UserModel bookwormUser = new UserModel(null, WordConstants.BOOKWORM_AI_USERNAME, null, null, null, true);
         UserModel professorUser = new UserModel(null, WordConstants.PROFESSOR_AI_USERNAME, null, null, null, true);
+        UserModel grandmasterUser = new UserModel(null, WordConstants.GRANDMASTER_AI_USERNAME, null, null, null, true);
 
         try (Connection dbConn = WordDbManager.getInstance().getConnection()) {
             usersProvider.createNewUserIfNotExists(dbConn, randomUser);
             usersProvider.createNewUserIfNotExists(dbConn, bookwormUser);
             usersProvider.createNewUserIfNotExists(dbConn, professorUser);
+            usersProvider.createNewUserIfNotExists(dbConn, grandmasterUser);
 
             Optional<UserModel> randomUserOpt = usersDAO.getUserByUsername(dbConn, WordConstants.RANDOM_AI_USERNAME, true);
             Optional<UserModel> bookwormUserOpt = usersDAO.getUserByUsername(dbConn, WordConstants.BOOKWORM_AI_USERNAME, true);
             Optional<UserModel> profUserOpt = usersDAO.getUserByUsername(dbConn, WordConstants.PROFESSOR_AI_USERNAME, true);
+            Optional<UserModel> grandmasterUserOpt = usersDAO.getUserByUsername(dbConn, WordConstants.GRANDMASTER_AI_USERNAME, true);
 
             // They must be present since we just inserted them into the Database!
             WordConstants.RANDOM_AI_USER.set(randomUserOpt.get());
             WordConstants.BOOKWORM_AI_USER.set(bookwormUserOpt.get());
             WordConstants.PROFESSOR_AI_USER.set(profUserOpt.get());
+            WordConstants.GRANDMASTER_AI_USER.set(grandmasterUserOpt.get());
         }
     }
 
@@ -0,0 +1,305 @@
+package net.capps.word.heroku;
+
+import com.google.common.collect.ImmutableMap;
+import net.capps.word.game.ai.GameAI;
+import net.capps.word.game.board.FixedLayouts;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.SquareSet;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.AiType;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.GameDensity;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.dict.Dictionaries;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import net.capps.word.game.gen.DefaultSquareSetGenerator;
+import net.capps.word.game.gen.PositionLists;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.LetterPoints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Plays AI vs. AI games without a database or web server, to measure how many AI moves per second a node can sustain,
+ * and whether a change to an AI makes it play worse.
+ *
+ * Run with:
+ * java -cp target/classes:target/dependency/* net.capps.word.heroku.Tournament --ai1 PROFESSOR_AI --ai2 BOOKWORM_AI
+ *      --board VENTI --density REGULAR --games 100 --threads 8
+ *
+ * The two AIs take turns going first, so the first player's advantage evens out. For self-play (the same AI twice), the
+ * wins are reported by seat instead of by AI.
+ */
+public class Tournament {
+
+    // A game is stopped if it somehow goes on for this many moves, and counted as unfinished.
+    private static final int MAX_MOVES_PER_GAME = 1000;
+    private static final double[] PERCENTILES = { 50, 90, 99, 100 };
+
+    private static final Map<String, String> DEFAULT_OPTIONS = ImmutableMap.<String, String>builder()
+            .put("ai1", AiType.PROFESSOR_AI.name())
+            .put("ai2", AiType.BOOKWORM_AI.name())
+            .put("board", BoardSize.VENTI.name())
+            .put("density", GameDensity.REGULAR.name())
+            .put("games", "20")
+            .put("threads", Integer.toString(Runtime.getRuntime().availableProcessors()))
+            .build();
+
+    private final AiType ai1;
+    private final AiType ai2;
+    private final BoardSize boardSize;
+    private final GameDensity gameDensity;
+    private final int numGames;
+    private final int numThreads;
+
+    public Tournament(AiType ai1, AiType ai2, BoardSize boardSize, GameDensity gameDensity, int numGames, int numThreads) {
+        this.ai1 = ai1;
+        this.ai2 = ai2;
+        this.boardSize = boardSize;
+        this.gameDensity = gameDensity;
+        this.numGames = numGames;
+        this.numThreads = numThreads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options;
+        try {
+            options = parseOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: Tournament [--ai1 AI_TYPE] [--ai2 AI_TYPE] [--board BOARD_SIZE] [--density GAME_DENSITY] " +
+                    "[--games NUM_GAMES] [--threads NUM_THREADS]");
+            System.err.println("Defaults: " + DEFAULT_OPTIONS);
+            System.exit(1);
+            return;
+        }
+
+        // Not using SetupHelper, since loading it connects to the database.
+        Dictionaries.initializeAllDictionaries();
+        FixedLayouts.getInstance().initLayouts();
+        LetterPoints.getInstance().load();
+        PositionLists.getInstance().load();
+
+        final Tournament tournament = new Tournament(
+                AiType.valueOf(options.get("ai1")),
+                AiType.valueOf(options.get("ai2")),
+                BoardSize.valueOf(options.get("board")),
+                GameDensity.valueOf(options.get("density")),
+                Integer.parseInt(options.get("games")),
+                Integer.parseInt(options.get("threads")));
+        tournament.run();
+    }
+
+    public void run() throws Exception {
+        System.out.println(String.format("Playing %d games of %s vs. %s, board size = %s, density = %s, on %d threads...",
+                numGames, ai1, ai2, boardSize, gameDensity, numThreads));
+
+        final ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        final List<Future<GameStats>> futures = new ArrayList<>(numGames);
+        final long start = System.nanoTime();
+        try {
+            for (int i = 0; i < numGames; ++i) {
+                final boolean ai1First = i % 2 == 0;
+                futures.add(pool.submit(() -> playGame(ai1First)));
+            }
+            final List<GameStats> results = new ArrayList<>(numGames);
+            for (Future<GameStats> future: futures) {
+                results.add(future.get());
+            }
+            final long durationNanos = System.nanoTime() - start;
+            printReport(results, durationNanos);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // --------------- Private ---------------
+
+    private static class GameStats {
+        // The AI that went first is player 1 in the Game.
+        private final AiType player1Ai;
+        private final AiType player2Ai;
+        private GameResult gameResult;
+        private int player1Points;
+        private int player2Points;
+        // Nanoseconds to choose each move, for each AI and move type
+        private final Map<AiType, Map<MoveType, List<Long>>> moveNanos = new EnumMap<>(AiType.class);
+
+        private GameStats(AiType player1Ai, AiType player2Ai) {
+            this.player1Ai = player1Ai;
+            this.player2Ai = player2Ai;
+        }
+
+        private void addMoveNanos(AiType aiType, MoveType moveType, long nanos) {
+            moveNanos.computeIfAbsent(aiType, type -> new EnumMap<>(MoveType.class))
+                    .computeIfAbsent(moveType, type -> new ArrayList<>())
+                    .add(nanos);
+        }
+    }
+
+    private GameStats playGame(boolean ai1First) {
+        final AiType player1Ai = ai1First ? ai1 : ai2;
+        final AiType player2Ai = ai1First ? ai2 : ai1;
+        final GameAI player1GameAi = player1Ai.getGameAiInstance(boardSize);
+        final GameAI player2GameAi = player2Ai.getGameAiInstance(boardSize);
+        final GameStats stats = new GameStats(player1Ai, player2Ai);
+
+        final Game game = createNewGame();
+        for (int i = 0; i < MAX_MOVES_PER_GAME && game.getGameResult() == GameResult.IN_PROGRESS; ++i) {
+            final boolean player1Turn = game.isPlayer1Turn();
+            final GameAI gameAi = player1Turn ? player1GameAi : player2GameAi;
+            final long moveStart = System.nanoTime();
+            final Move move = gameAi.getNextMove(game);
+            final long moveNanos = System.nanoTime() - moveStart;
+            stats.addMoveNanos(player1Turn ? player1Ai : player2Ai, move.getMoveType(), moveNanos);
+            game.playMove(move);
+        }
+
+        stats.gameResult = game.getGameResult();
+        stats.player1Points = game.getPlayer1Points();
+        stats.player2Points = game.getPlayer2Points();
+        return stats;
+    }
+
+    // Built the same way as in BookwormAndProfessorTest
+    private Game createNewGame() {
+        TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(boardSize.getN(), gameDensity.getNumWords(boardSize), boardSize.getN());
+        SquareSet squareSet = DefaultSquareSetGenerator.getInstance().generateRandomBonusLayout(boardSize);
+        return new Game(-1, GameResult.IN_PROGRESS, tileSet, squareSet, "", "", 0, 0, true, Optional.empty());
+    }
+
+    private void printReport(List<GameStats> results, long durationNanos) {
+        final Map<AiType, Map<MoveType, List<Long>>> moveNanos = new EnumMap<>(AiType.class);
+        final Map<AiType, Integer> wins = new EnumMap<>(AiType.class);
+        final Map<AiType, Long> totalPoints = new EnumMap<>(AiType.class);
+        int numPlayer1Wins = 0;
+        int numPlayer2Wins = 0;
+        int numTies = 0;
+        int numUnfinished = 0;
+        long numMoves = 0;
+
+        for (GameStats stats: results) {
+            for (Map.Entry<AiType, Map<MoveType, List<Long>>> aiEntry: stats.moveNanos.entrySet()) {
+                for (Map.Entry<MoveType, List<Long>> moveEntry: aiEntry.getValue().entrySet()) {
+                    moveNanos.computeIfAbsent(aiEntry.getKey(), type -> new EnumMap<>(MoveType.class))
+                            .computeIfAbsent(moveEntry.getKey(), type -> new ArrayList<>())
+                            .addAll(moveEntry.getValue());
+                    numMoves += moveEntry.getValue().size();
+                }
+            }
+            // For a self-play game, both players' points count toward the one AI.
+            totalPoints.merge(stats.player1Ai, (long) stats.player1Points, Long::sum);
+            totalPoints.merge(stats.player2Ai, (long) stats.player2Points, Long::sum);
+
+            switch (stats.gameResult) {
+                case PLAYER1_WIN:
+                case PLAYER2_RESIGN:
+                    wins.merge(stats.player1Ai, 1, Integer::sum);
+                    ++numPlayer1Wins;
+                    break;
+                case PLAYER2_WIN:
+                case PLAYER1_RESIGN:
+                    wins.merge(stats.player2Ai, 1, Integer::sum);
+                    ++numPlayer2Wins;
+                    break;
+                case TIE:
+                    ++numTies;
+                    break;
+                default:
+                    ++numUnfinished;
+                    break;
+            }
+        }
+
+        final double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.println();
+        System.out.println(String.format("Played %d games and %d moves in %.1f s: %.1f moves/s, %.2f games/s",
+                results.size(), numMoves, seconds, numMoves / seconds, results.size() / seconds));
+        System.out.println();
+
+        final Map<AiType, Integer> gamesPerAi = new EnumMap<>(AiType.class);
+        for (GameStats stats: results) {
+            gamesPerAi.merge(stats.player1Ai, 1, Integer::sum);
+            if (stats.player2Ai != stats.player1Ai) {
+                gamesPerAi.merge(stats.player2Ai, 1, Integer::sum);
+            }
+        }
+        for (AiType aiType: gamesPerAi.keySet()) {
+            final int numAiGames = gamesPerAi.get(aiType);
+            final int numWins = wins.getOrDefault(aiType, 0);
+            if (ai1 == ai2) {
+                // In self-play every decisive game is a win for the one AI, so only the wins by seat are meaningful.
+                // Each game also has two sets of points for the one AI.
+                System.out.println(String.format("%s: average points = %.1f",
+                        aiType, totalPoints.getOrDefault(aiType, 0L) / (2.0 * numAiGames)));
+            } else {
+                System.out.println(String.format("%s: win rate = %.1f%%, average points = %.1f",
+                        aiType, 100.0 * numWins / numAiGames, totalPoints.getOrDefault(aiType, 0L) / (double) numAiGames));
+            }
+        }
+        System.out.println(String.format("Wins by seat: first player = %.1f%%, second player = %.1f%%",
+                100.0 * numPlayer1Wins / results.size(), 100.0 * numPlayer2Wins / results.size()));
+        System.out.println(String.format("Ties: %d, unfinished after %d moves: %d", numTies, MAX_MOVES_PER_GAME, numUnfinished));
+        System.out.println();
+
+        System.out.println("Move latency (ms):");
+        for (Map.Entry<AiType, Map<MoveType, List<Long>>> aiEntry: moveNanos.entrySet()) {
+            for (Map.Entry<MoveType, List<Long>> moveEntry: aiEntry.getValue().entrySet()) {
+                final List<Long> nanos = moveEntry.getValue();
+                Collections.sort(nanos);
+                final StringBuilder sb = new StringBuilder(String.format("%s %s: count = %d",
+                        aiEntry.getKey(), moveEntry.getKey(), nanos.size()));
+                for (double percentile: PERCENTILES) {
+                    sb.append(String.format(", %s = %.2f", percentile == 100 ? "max" : "p" + (int) percentile,
+                            getPercentile(nanos, percentile) / 1e6));
+                }
+                System.out.println(sb);
+            }
+        }
+    }
+
+    // Nearest-rank percentile of sorted values
+    private static long getPercentile(List<Long> sortedValues, double percentile) {
+        final int rank = (int) Math.ceil(percentile / 100 * sortedValues.size());
+        return sortedValues.get(Math.max(0, rank - 1));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        final Map<String, String> options = new HashMap<>(DEFAULT_OPTIONS);
+        for (int i = 0; i < args.length; i += 2) {
+            final String arg = args[i];
+            if (!arg.startsWith("--") || !DEFAULT_OPTIONS.containsKey(arg.substring(2))) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for option: " + arg);
+            }
+            options.put(arg.substring(2), args[i + 1]);
+        }
+        try {
+            AiType.valueOf(options.get("ai1"));
+            AiType.valueOf(options.get("ai2"));
+            BoardSize.valueOf(options.get("board"));
+            GameDensity.valueOf(options.get("density"));
+            if (Integer.parseInt(options.get("games")) < 1 || Integer.parseInt(options.get("threads")) < 1) {
+                throw new IllegalArgumentException("The number of games and threads must be positive.");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + e.getMessage());
+        }
+        return options;
+    }
+}
@@ -160,7 +160,8 @@ public class UserModel {
         }
         return WordConstants.RANDOM_AI_USER.isPresent() && id.equals(WordConstants.RANDOM_AI_USER.get().getId()) ||
                WordConstants.BOOKWORM_AI_USER.isPresent() && id.equals(WordConstants.BOOKWORM_AI_USER.get().getId()) ||
-               WordConstants.PROFESSOR_AI_USER.isPresent() && id.equals(WordConstants.PROFESSOR_AI_USER.get().getId());
+               WordConstants.PROFESSOR_AI_USER.isPresent() && id.equals(WordConstants.PROFESSOR_AI_USER.get().getId()) ||
+               WordConstants.GRANDMASTER_AI_USER.isPresent() && id.equals(WordConstants.GRANDMASTER_AI_USER.get().getId());
 
     }
 
@@ -0,0 +1,152 @@
+package net.capps.word.rest.providers;
+
+import net.capps.word.db.WordDbManager;
+import net.capps.word.db.dao.GamesDAO;
+import net.capps.word.db.dao.MovesDAO;
+import net.capps.word.game.ai.AiExecutor;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.common.GameType;
+import net.capps.word.rest.models.GameModel;
+import net.capps.word.rest.models.MoveModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * Plays the AI's turns in single player games on a pool of worker threads, instead of in the human player's request.
+ *
+ * Turned on with the system property "ghostwriters.asyncAiMoves". Then the human's move is committed right away, and
+ * the AI's moves are played and committed in their own transaction. The app gets them by fetching the game, and from a
+ * push notification.
+ *
+ * Only one AI turn per game is queued on each server. The game's row is locked while its turn is played, so another
+ * server can't play the same turn at the same time.
+ */
+public class AiTurnsProvider {
+    private static final AiTurnsProvider INSTANCE = new AiTurnsProvider();
+    private static final Logger LOG = LoggerFactory.getLogger(AiTurnsProvider.class);
+
+    private static final boolean ASYNC_AI_MOVES = Boolean.parseBoolean(System.getProperty("ghostwriters.asyncAiMoves", "false"));
+    private static final int NUM_THREADS = Integer.parseInt(System.getProperty("ghostwriters.aiMoveThreads",
+            Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+    private static final GamesDAO gamesDAO = GamesDAO.getInstance();
+    private static final MovesDAO movesDAO = MovesDAO.getInstance();
+    private static final MovesProvider movesProvider = MovesProvider.getInstance();
+    private static final RatingsProvider ratingsProvider = RatingsProvider.getInstance();
+    private static final OneSignalProvider oneSignalProvider = OneSignalProvider.getInstance();
+
+    // The games with an AI turn waiting to be played, so each game's turn is only queued once.
+    private final Set<Integer> queuedGameIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService pool;
+
+    public static AiTurnsProvider getInstance() {
+        return INSTANCE;
+    }
+
+    private AiTurnsProvider() {
+        final AtomicInteger threadNum = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(NUM_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "AI Move " + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isAsyncEnabled() {
+        return ASYNC_AI_MOVES;
+    }
+
+    public boolean isWaitingForAi(GameModel gameModel) {
+        return gameModel.getGameType() == GameType.SINGLE_PLAYER &&
+                !gameModel.getPlayer1Turn() &&
+                gameModel.getGameResult() == GameResult.IN_PROGRESS;
+    }
+
+    /**
+     * Queues the AI's turn for the game, unless it's already queued. Must be called after the human's move is committed.
+     */
+    public void queueAiTurn(int gameId) {
+        if (!queuedGameIds.add(gameId)) {
+            return;
+        }
+        try {
+            pool.submit(() -> {
+                try {
+                    playAiTurn(gameId);
+                } catch (AiExecutor.BusyException e) {
+                    LOG.warn("The AI is busy, so game {}'s turn will be queued again when the game is next fetched.", gameId);
+                } catch (Exception e) {
+                    LOG.error("Error playing AI turn for game {}:", gameId, e);
+                } finally {
+                    queuedGameIds.remove(gameId);
+                }
+            });
+        } catch (Exception e) {
+            queuedGameIds.remove(gameId);
+            LOG.error("Error submitting task to play AI turn for game {}:", gameId, e);
+        }
+    }
+
+    /**
+     * If a fetched game is still waiting for the AI, e.g. because the server restarted before its turn was played,
+     * then queue the AI's turn again.
+     */
+    public void queueAiTurnIfWaiting(GameModel gameModel) {
+        if (ASYNC_AI_MOVES && isWaitingForAi(gameModel)) {
+            queueAiTurn(gameModel.getId());
+        }
+    }
+
+    // ------------ Private --------------
+
+    private void playAiTurn(int gameId) throws Exception {
+        try (Connection dbConn = WordDbManager.getInstance().getConnection()) {
+            try {
+                dbConn.setAutoCommit(false);
+
+                // Lock the game first, so if another server is playing this turn, this waits for it to commit and then
+                // sees that the turn was already played.
+                if (!gamesDAO.lockGame(gameId, dbConn)) {
+                    dbConn.rollback();
+                    return;
+                }
+
+                // Load the game again, since it could have changed since the turn was queued.
+                Optional<GameModel> gameOpt = gamesDAO.getGameWithPlayerModelsById(gameId, dbConn);
+                if (!gameOpt.isPresent() || !isWaitingForAi(gameOpt.get())) {
+                    dbConn.rollback();
+                    return;
+                }
+                final GameModel originalGame = gameOpt.get();
+
+                Optional<MoveModel> humanMoveOpt = movesDAO.getMostRecentMove(gameId, dbConn);
+                if (!humanMoveOpt.isPresent()) {
+                    LOG.warn("No previous move found for game {}, so not playing the AI's turn.", gameId);
+                    dbConn.rollback();
+                    return;
+                }
+
+                GameModel updatedGame = movesProvider.playAIMoves(originalGame.getAiType(), originalGame, humanMoveOpt.get(), dbConn);
+
+                ratingsProvider.updatePlayerRatings(updatedGame, dbConn);
+
+                dbConn.commit();
+
+                oneSignalProvider.sendPushNotificationForAiMovesAsync(originalGame, updatedGame);
+            } catch (Exception e) {
+                dbConn.rollback();
+                throw e;
+            }
+        }
+    }
+}
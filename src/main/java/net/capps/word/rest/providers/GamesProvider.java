@@ -239,6 +239,9 @@ public class GamesProvider {
         } else if (opponentId == WordConstants.PROFESSOR_AI_USER.get().getId()) {
             gameModel.setAiType(AiType.PROFESSOR_AI);
             gameModel.setGameType(GameType.SINGLE_PLAYER);
+        } else if (opponentId == WordConstants.GRANDMASTER_AI_USER.get().getId()) {
+            gameModel.setAiType(AiType.GRANDMASTER_AI);
+            gameModel.setGameType(GameType.SINGLE_PLAYER);
         }
     }
 
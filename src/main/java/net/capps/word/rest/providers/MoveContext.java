@@ -0,0 +1,53 @@
+package net.capps.word.rest.providers;
+
+import com.google.common.base.Preconditions;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.move.Move;
+import net.capps.word.rest.models.GameModel;
+import net.capps.word.rest.models.MoveModel;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ *
+ * A move being played, with everything loaded from the database and parsed for it by MovesProvider.validateMove().
+ * The game and its board are loaded once, then the same context is passed to playMove() and playAIMoves(), so playing
+ * the move and the AI's replies doesn't parse the board or query the previous move again.
+ */
+public class MoveContext {
+    private final MoveModel inputMove;
+    private final GameModel originalGame;
+    private final Game game;
+    private final Move move;
+
+    MoveContext(MoveModel inputMove, GameModel originalGame, Game game) {
+        this.inputMove = Preconditions.checkNotNull(inputMove);
+        this.originalGame = Preconditions.checkNotNull(originalGame);
+        this.game = Preconditions.checkNotNull(game);
+        this.move = new Move(inputMove);
+    }
+
+    /**
+     * The move sent by the player. The points and special words played are set on it once it's played.
+     */
+    public MoveModel getInputMove() {
+        return inputMove;
+    }
+
+    /**
+     * The game as it was loaded from the database, before the move was played.
+     */
+    public GameModel getOriginalGame() {
+        return originalGame;
+    }
+
+    /**
+     * The parsed game. It's updated as the move, and then any AI moves, are played.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    public Move getMove() {
+        return move;
+    }
+}
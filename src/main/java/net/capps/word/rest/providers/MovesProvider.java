@@ -5,13 +5,13 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import net.capps.word.db.dao.GamesDAO;
 import net.capps.word.db.dao.MovesDAO;
+import net.capps.word.game.ai.AiExecutor;
 import net.capps.word.game.ai.GameAI;
 import net.capps.word.game.board.Game;
 import net.capps.word.game.board.PlayResult;
 import net.capps.word.game.common.AiType;
 import net.capps.word.game.common.GameResult;
 import net.capps.word.game.move.Move;
-import net.capps.word.game.move.MoveType;
 import net.capps.word.game.tile.RackTile;
 import net.capps.word.rest.models.ErrorModel;
 import net.capps.word.rest.models.GameModel;
@@ -34,6 +34,7 @@ public class MovesProvider {
     private static final MovesProvider INSTANCE = new MovesProvider();
     private static final GamesDAO gamesDAO = GamesDAO.getInstance();
     private static final MovesDAO movesDAO = MovesDAO.getInstance();
+    private static final AiExecutor aiExecutor = AiExecutor.getInstance();
 
     // --------- Errors ---------
     private static final ErrorModel ERROR_NOT_YOUR_TURN = new ErrorModel("It's not your turn!");
@@ -45,7 +46,11 @@ public class MovesProvider {
 
     private MovesProvider() { } // Singleton pattern
 
-    public ErrorOrResult<GameModel> validateMove(MoveModel inputMoveModel, UserModel authUser, Connection dbConn) throws Exception {
+    /**
+     * Validates the input move, loading the game, its previous moves, and its board once for the whole request.
+     * The returned context is then passed to playMove() and playAIMoves().
+     */
+    public ErrorOrResult<MoveContext> validateMove(MoveModel inputMoveModel, UserModel authUser, Connection dbConn) throws Exception {
 
         Optional<ErrorModel> errorOpt = validateFieldsArePresent(inputMoveModel);
         if (errorOpt.isPresent()) {
@@ -90,41 +95,38 @@ public class MovesProvider {
         // Set the playerId as the currently authenticated user.
         inputMoveModel.setPlayerId(authUser.getId());
 
+        // The last 2 moves are needed to check for replaying grabbed tiles, and the last move to check for the game ending.
+        List<MoveModel> prevMoves = movesDAO.getMostRecentMoves(gameId, 2, dbConn);
+        Optional<Move> prevMoveOpt = prevMoves.isEmpty() ? Optional.empty() : Optional.of(new Move(prevMoves.get(0)));
+
         // Create a Game object
-        Game gameState = new Game(game, Optional.empty());
-        Move move = new Move(inputMoveModel);
+        Game gameState = new Game(game, prevMoveOpt);
+        MoveContext moveContext = new MoveContext(inputMoveModel, game, gameState);
 
         // Check if it's a valid move.
-        Optional<ErrorModel> moveErrorOpt = gameState.getMoveError(move);
+        Optional<ErrorModel> moveErrorOpt = gameState.getMoveError(moveContext.getMove());
         if (moveErrorOpt.isPresent()) {
             return ErrorOrResult.ofError(moveErrorOpt.get());
         }
 
         // Check if player is playing the same tiles they just grabbed
-        if (inputMoveModel.getMoveType() == MoveType.PLAY_WORD) {
-            List<MoveModel> prevMoves = movesDAO.getMostRecentMoves(gameId, 2, dbConn);
-            Optional<String> moveErrorMsg = gameState.getReplayGrabbedTilesError(inputMoveModel, prevMoves);
-
-            if (moveErrorMsg.isPresent()) {
-                return ErrorOrResult.ofError(new ErrorModel(moveErrorMsg.get()));
-            }
+        Optional<String> moveErrorMsg = gameState.getReplayGrabbedTilesError(inputMoveModel, prevMoves);
+        if (moveErrorMsg.isPresent()) {
+            return ErrorOrResult.ofError(new ErrorModel(moveErrorMsg.get()));
         }
 
-        return ErrorOrResult.ofResult(game);
+        return ErrorOrResult.ofResult(moveContext);
     }
 
-    public GameModel playMove(MoveModel validatedMove, GameModel gameModel, Connection dbConn) throws Exception {
-        Preconditions.checkArgument(validatedMove.getGameId() != null &&
-                                    validatedMove.getGameId().equals(gameModel.getId()),
-                                    "The game ID on the move must match the original game's ID");
-
-        Optional<MoveModel> prevMoveModelOpt = movesDAO.getMostRecentMove(validatedMove.getGameId(), dbConn);
-        Optional<Move> prevMoveOpt = prevMoveModelOpt.map(Move::new);
+    /**
+     * Plays the validated move on the context's game, and saves the updated game and the move.
+     */
+    public GameModel playMove(MoveContext moveContext, Connection dbConn) throws Exception {
+        final MoveModel validatedMove = moveContext.getInputMove();
+        final GameModel gameModel = moveContext.getOriginalGame();
+        final Game game = moveContext.getGame();
 
-        Game game = new Game(gameModel, prevMoveOpt);
-        Move move = new Move(validatedMove);
-
-        PlayResult playResult = game.playMove(move); // Play the move, updating the game state.
+        PlayResult playResult = game.playMove(moveContext.getMove()); // Play the move, updating the game state.
 
         // Update the input move by adding the points earned, and the special words played.
         validatedMove.setPoints(playResult.getPoints());
@@ -138,16 +140,21 @@ public class MovesProvider {
         return updatedGame;
     }
 
-    public GameModel playAIMoves(AiType aiType, GameModel gameModel, MoveModel previousMove, Connection dbConn) throws Exception {
-        List<MoveModel> aiMoves = new ArrayList<>(1);
-        // While the turn hasn't changed and the game is still in progress, continue playing AI moves.
-        while (!gameModel.getPlayer1Turn() && gameModel.getGameResult() == GameResult.IN_PROGRESS) {
-            gameModel = playOneAIMove(aiType, gameModel, previousMove, aiMoves, dbConn);
-        }
-
-        gameModel.setLastMoves(aiMoves);
+    /**
+     * Plays the AI's moves after the context's move was played, continuing with the context's game.
+     * @param gameModel - the game returned by playMove(moveContext, dbConn)
+     */
+    public GameModel playAIMoves(MoveContext moveContext, GameModel gameModel, Connection dbConn) throws Exception {
+        return playAIMoves(gameModel.getAiType(), moveContext.getGame(), gameModel, dbConn);
+    }
 
-        return gameModel;
+    /**
+     * Plays the AI's moves for a game loaded on its own, e.g. for a queued AI turn. The game is parsed once for all of
+     * the AI's moves.
+     */
+    public GameModel playAIMoves(AiType aiType, GameModel gameModel, MoveModel previousMove, Connection dbConn) throws Exception {
+        Game game = new Game(gameModel, Optional.of(new Move(previousMove)));
+        return playAIMoves(aiType, game, gameModel, dbConn);
     }
 
     public void populateMyMove(GameModel newGame, MoveModel playedMove) throws Exception {
@@ -169,12 +176,27 @@ public class MovesProvider {
 
     // ------------ Private --------------
 
-    private GameModel playOneAIMove(AiType aiType, GameModel gameModel, MoveModel lastHumanMove, List<MoveModel> aiMoves, Connection dbConn) throws Exception {
+    /**
+     * Plays AI moves on the given game, which must be in the same state as the game model.
+     */
+    private GameModel playAIMoves(AiType aiType, Game game, GameModel gameModel, Connection dbConn) throws Exception {
+        Preconditions.checkArgument(game.getGameId() == gameModel.getId(), "The game must have the game model's ID");
         GameAI gameAI = aiType.getGameAiInstance(gameModel.getBoardSize());
+        List<MoveModel> aiMoves = new ArrayList<>(1);
+        // While the turn hasn't changed and the game is still in progress, continue playing AI moves.
+        while (!gameModel.getPlayer1Turn() && gameModel.getGameResult() == GameResult.IN_PROGRESS) {
+            gameModel = playOneAIMove(gameAI, game, gameModel, aiMoves, dbConn);
+        }
+
+        gameModel.setLastMoves(aiMoves);
+
+        return gameModel;
+    }
+
+    private GameModel playOneAIMove(GameAI gameAI, Game game, GameModel gameModel, List<MoveModel> aiMoves, Connection dbConn) throws Exception {
         int gameAiId = gameModel.getPlayer1Turn() ? gameModel.getPlayer1() : gameModel.getPlayer2();
-        MoveModel lastMove = aiMoves.isEmpty() ? lastHumanMove : aiMoves.get(aiMoves.size() - 1);
-        Game game = new Game(gameModel, Optional.of(new Move(lastMove)));
-        Move aiMove = gameAI.getNextMove(game);
+        // The human player is always player 1 in single player games
+        Move aiMove = aiExecutor.call(AiExecutor.Priority.BACKGROUND, gameModel.getPlayer1(), () -> gameAI.getNextMove(game));
 
         PlayResult playResult = game.playMove(aiMove);
 
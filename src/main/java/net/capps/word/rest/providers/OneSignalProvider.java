@@ -70,11 +70,37 @@ public class OneSignalProvider {
         }
     }
 
+    /**
+     * For single-player games where the AI's moves were played after the human's move was returned,
+     * tell the human it's their move.
+     */
+    public void sendPushNotificationForAiMovesAsync(GameModel originalGame, GameModel updatedGame) {
+        try {
+            pool.submit(
+                    () -> {
+                        try {
+                            sendPushNotificationForTurnChange(originalGame, updatedGame);
+                        } catch (Exception e) {
+                            LOG.error("Error sending push notification for AI moves:", e);
+                        }
+                        return null;
+                    }
+            );
+
+        } catch (Exception e) {
+            LOG.error("Error submitting task to send push notification for AI moves:", e);
+        }
+    }
+
     public void sendPushNotificationForMove(GameModel originalGame, GameModel updatedGame) throws SQLException {
         if (originalGame.getGameType() != GameType.TWO_PLAYER) {
             // Do nothing if it's a single-player game.
             return;
         }
+        sendPushNotificationForTurnChange(originalGame, updatedGame);
+    }
+
+    private void sendPushNotificationForTurnChange(GameModel originalGame, GameModel updatedGame) throws SQLException {
         if (originalGame.getPlayer1Turn() == updatedGame.getPlayer1Turn()) {
             // Do nothing if the turn didn't change
             return;
@@ -2,6 +2,7 @@ package net.capps.word.rest.providers;
 
 import net.capps.word.db.dao.GamesDAO;
 import net.capps.word.db.dao.MovesDAO;
+import net.capps.word.game.ai.AiExecutor;
 import net.capps.word.game.ai.OracleTileAI;
 import net.capps.word.game.board.Game;
 import net.capps.word.game.move.Move;
@@ -34,6 +35,7 @@ public class SpecialActionsProvider {
 
     private static final GamesDAO gamesDAO = GamesDAO.getInstance();
     private static final MovesDAO movesDAO = MovesDAO.getInstance();
+    private static final AiExecutor aiExecutor = AiExecutor.getInstance();
 
     public static SpecialActionsProvider getInstance() {
         return INSTANCE;
@@ -93,7 +95,7 @@ public class SpecialActionsProvider {
 
         final List<MoveModel> prevMoves = movesDAO.getMostRecentMoves(validatedGame.getId(), 2, dbConn);
         final OracleTileAI oracleTileAI = new OracleTileAI(prevMoves, authUser.getId());
-        final Move oracleMove = oracleTileAI.getNextMove(game);
+        final Move oracleMove = aiExecutor.call(AiExecutor.Priority.INTERACTIVE, authUser.getId(), () -> oracleTileAI.getNextMove(game));
         if (oracleMove.getMoveType() != MoveType.PLAY_WORD) {
             return ErrorOrResult.ofError(ERR_NO_PLAY_WORD_MOVE_FOUND);
         }
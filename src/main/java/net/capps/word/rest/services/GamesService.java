@@ -5,6 +5,7 @@ import net.capps.word.db.dao.GamesDAO;
 import net.capps.word.rest.auth.AuthHelper;
 import net.capps.word.rest.filters.Filters;
 import net.capps.word.rest.models.*;
+import net.capps.word.rest.providers.AiTurnsProvider;
 import net.capps.word.rest.providers.GamesProvider;
 import net.capps.word.rest.providers.GamesSearchProvider;
 import net.capps.word.rest.providers.MovesProvider;
@@ -44,6 +45,7 @@ public class GamesService {
     private static final GamesSearchProvider gamesSearchProvider = GamesSearchProvider.getInstance();
     private static final MovesProvider movesProvider = MovesProvider.getInstance();
     private static final TokensProvider tokensProvider = TokensProvider.getInstance();
+    private static final AiTurnsProvider aiTurnsProvider = AiTurnsProvider.getInstance();
 
     private static final String DEFAULT_COUNT_STR = "25";
 
@@ -116,6 +118,8 @@ public class GamesService {
             }
 
             GameModel gameModel = gameOpt.get();
+            aiTurnsProvider.queueAiTurnIfWaiting(gameModel);
+
             if (currentMove != null && currentMove >= gameModel.getMoveNum()) {
                 // Return an empty response if the current move the client has is just as recent as this move.
                 return Response.ok(GameModel.EMPTY_GAME).build();
@@ -4,7 +4,9 @@ package net.capps.word.rest.services;
  * Created by charlescapps on 1/24/15.
  */
 
+import com.google.common.collect.ImmutableList;
 import net.capps.word.db.WordDbManager;
+import net.capps.word.game.ai.AiExecutor;
 import net.capps.word.game.common.GameType;
 import net.capps.word.rest.auth.AuthHelper;
 import net.capps.word.rest.filters.Filters;
@@ -12,11 +14,14 @@ import net.capps.word.rest.models.ErrorModel;
 import net.capps.word.rest.models.GameModel;
 import net.capps.word.rest.models.MoveModel;
 import net.capps.word.rest.models.UserModel;
+import net.capps.word.rest.providers.AiTurnsProvider;
+import net.capps.word.rest.providers.MoveContext;
 import net.capps.word.rest.providers.MovesProvider;
 import net.capps.word.rest.providers.OneSignalProvider;
 import net.capps.word.rest.providers.PlayedWordsProvider;
 import net.capps.word.rest.providers.RatingsProvider;
 import net.capps.word.util.ErrorOrResult;
+import net.capps.word.util.RestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +46,7 @@ public class MovesService {
     private static final RatingsProvider ratingsProvider = RatingsProvider.getInstance();
     private static final OneSignalProvider oneSignalProvider = OneSignalProvider.getInstance();
     private static final PlayedWordsProvider playedWordsProvider = PlayedWordsProvider.getInstance();
+    private static final AiTurnsProvider aiTurnsProvider = AiTurnsProvider.getInstance();
     private static final Logger LOG = LoggerFactory.getLogger(MovesService.class);
 
     @POST
@@ -55,7 +61,8 @@ public class MovesService {
         try (Connection dbConn = WordDbManager.getInstance().getConnection()) {
             try {
                 dbConn.setAutoCommit(false);
-                ErrorOrResult<GameModel> errorOrResult = movesProvider.validateMove(input, authUser, dbConn);
+                // The game, its previous moves and its board are loaded once, then used for the rest of the request
+                ErrorOrResult<MoveContext> errorOrResult = movesProvider.validateMove(input, authUser, dbConn);
 
                 if (errorOrResult.isError()) {
                     return Response.status(Status.BAD_REQUEST)
@@ -63,16 +70,20 @@ public class MovesService {
                             .build();
                 }
 
-                final GameModel originalGame = errorOrResult.getResultOpt().get();
+                final MoveContext moveContext = errorOrResult.getResultOpt().get();
+                final GameModel originalGame = moveContext.getOriginalGame();
 
-                GameModel updatedGame = movesProvider.playMove(input, originalGame, dbConn);
+                GameModel updatedGame = movesProvider.playMove(moveContext, dbConn);
 
-                // For single player games, play the AI's move(s)
-                if (updatedGame.getGameType() == GameType.SINGLE_PLAYER) {
-                    updatedGame = movesProvider.playAIMoves(updatedGame.getAiType(), updatedGame, input, dbConn);
+                // For single player games, play the AI's move(s), or queue them to be played after this move is committed
+                final boolean queueAiTurn = aiTurnsProvider.isAsyncEnabled() && aiTurnsProvider.isWaitingForAi(updatedGame);
+                if (queueAiTurn) {
+                    updatedGame.setLastMoves(ImmutableList.<MoveModel>of());
+                } else if (updatedGame.getGameType() == GameType.SINGLE_PLAYER) {
+                    updatedGame = movesProvider.playAIMoves(moveContext, updatedGame, dbConn);
                 }
 
-                movesProvider.populateMyMove(updatedGame, input);
+                movesProvider.populateMyMove(updatedGame, moveContext.getInputMove());
 
                 ratingsProvider.updatePlayerRatings(updatedGame, dbConn);
 
@@ -80,9 +91,17 @@ public class MovesService {
 
                 dbConn.commit();
 
+                if (queueAiTurn) {
+                    aiTurnsProvider.queueAiTurn(updatedGame.getId());
+                }
+
                 oneSignalProvider.sendPushNotificationForMoveAsync(originalGame, updatedGame);
 
                 return Response.ok(updatedGame).build();
+            } catch (AiExecutor.BusyException e) {
+                LOG.warn("The AI is busy, so rejecting the move. Rolling back.");
+                dbConn.rollback();
+                return RestUtil.serviceUnavailable(new ErrorModel(e.getMessage()), e.getRetryAfterSeconds());
             } catch (Exception e) {
                 LOG.error("Error playing move. Rolling back.", e);
                 dbConn.rollback();
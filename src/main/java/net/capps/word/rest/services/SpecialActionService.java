@@ -1,13 +1,16 @@
 package net.capps.word.rest.services;
 
 import net.capps.word.db.WordDbManager;
+import net.capps.word.game.ai.AiExecutor;
 import net.capps.word.rest.auth.AuthHelper;
 import net.capps.word.rest.filters.Filters;
+import net.capps.word.rest.models.ErrorModel;
 import net.capps.word.rest.models.GameModel;
 import net.capps.word.rest.models.MoveModel;
 import net.capps.word.rest.models.UserModel;
 import net.capps.word.rest.providers.SpecialActionsProvider;
 import net.capps.word.util.ErrorOrResult;
+import net.capps.word.util.RestUtil;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.*;
@@ -51,7 +54,13 @@ public class SpecialActionService {
 
             GameModel gameModel = errorOrGame.getResultOpt().get();
 
-            ErrorOrResult<MoveModel> scryMoveOrError = specialActionsProvider.getOracleMoveAndUpdateUserRack(gameModel, authUser, dbConn);
+            ErrorOrResult<MoveModel> scryMoveOrError;
+            try {
+                scryMoveOrError = specialActionsProvider.getOracleMoveAndUpdateUserRack(gameModel, authUser, dbConn);
+            } catch (AiExecutor.BusyException e) {
+                // The rack isn't updated until the Oracle finds a move, so the player keeps their scry tile.
+                return RestUtil.serviceUnavailable(new ErrorModel(e.getMessage()), e.getRetryAfterSeconds());
+            }
 
             if (scryMoveOrError.isError()) {
                 return Response.status(Response.Status.BAD_REQUEST)
@@ -2,6 +2,7 @@ package net.capps.word.util;
 
 import net.capps.word.rest.models.ErrorModel;
 
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import static javax.ws.rs.core.Response.Status;
@@ -21,4 +22,11 @@ public class RestUtil {
                 .entity(errorModel)
                 .build();
     }
+
+    public static Response serviceUnavailable(ErrorModel errorModel, int retryAfterSeconds) {
+        return Response.status(Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .entity(errorModel)
+                .build();
+    }
 }
@@ -0,0 +1,66 @@
+package net.capps.word.game.ai;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static net.capps.word.game.ai.AiExecutor.Priority.BACKGROUND;
+import static net.capps.word.game.ai.AiExecutor.Priority.INTERACTIVE;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class AiExecutorTest {
+
+    @Test
+    public void testInteractiveFirstThenUsersTakeTurns() throws Exception {
+        final AiExecutor aiExecutor = new AiExecutor(1, 4);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        aiExecutor.submit(BACKGROUND, 1, () -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final List<Future<Boolean>> futures = ImmutableList.of(
+                aiExecutor.submit(BACKGROUND, 1, () -> order.add("user 1, first")),
+                aiExecutor.submit(BACKGROUND, 1, () -> order.add("user 1, second")),
+                aiExecutor.submit(BACKGROUND, 2, () -> order.add("user 2")),
+                aiExecutor.submit(INTERACTIVE, 3, () -> order.add("user 3, interactive")));
+        Assert.assertEquals(4, aiExecutor.getNumQueuedTasks());
+
+        try {
+            aiExecutor.submit(INTERACTIVE, 4, () -> order.add("rejected"));
+            Assert.fail("Expected submitting to a full queue to throw");
+        } catch (AiExecutor.BusyException e) {
+            Assert.assertTrue(e.getRetryAfterSeconds() >= 1);
+        }
+
+        release.countDown();
+        for (Future<Boolean> future: futures) {
+            future.get();
+        }
+        Assert.assertEquals(ImmutableList.of("user 3, interactive", "user 1, first", "user 2", "user 1, second"), order);
+    }
+
+    @Test
+    public void testCallThrowsTheTaskException() throws Exception {
+        final AiExecutor aiExecutor = new AiExecutor(1, 4);
+        try {
+            aiExecutor.call(INTERACTIVE, 1, () -> {
+                throw new IllegalStateException("No move");
+            });
+            Assert.fail("Expected the task's exception");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("No move", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package net.capps.word.game.ai;
+
+import com.google.common.collect.Lists;
+import net.capps.word.game.board.FixedLayouts;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.SquareSet;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.GameDensity;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.common.Pos;
+import net.capps.word.game.dict.DictType;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.tile.Tile;
+import net.capps.word.heroku.SetupHelper;
+import net.capps.word.util.RandomUtil;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class GaddagAITest {
+    private static final int NUM_ANCHOR_ORDERS = 5;
+    private static final String[] RACKS = { "AEINRST", "EEDORSU", "LMNOPQU", "AAIIOUE", "BCDFGHK" };
+    private static final DictType[][] DICTIONARY_ORDERS = {
+            { DictType.ENGLISH_WORDS },
+            { DictType.POE, DictType.ENGLISH_WORDS }
+    };
+
+    @BeforeClass
+    public static void initDataStructures() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+        SetupHelper.getInstance().initGameDataStructures();
+    }
+
+    @Test
+    public void testParallelSearchFindsTheSameMoveAsSequentialSearch() {
+        // The pool is created here, since the AiSearchPool runs on the caller when there's only one processor.
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final GaddagAI gaddagAI = new GaddagAI(1.f, 0.f, 0.f);
+        try {
+            for (BoardSize bs: BoardSize.values()) {
+                for (String rack: RACKS) {
+                    TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+                    Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                            rack, "", 0, 0, true, Optional.empty());
+                    for (int i = 0; i < NUM_ANCHOR_ORDERS; ++i) {
+                        final List<Pos> anchors = RandomUtil.shuffleList(game.getTileSet().getAnchors());
+                        final List<Pos> reversedAnchors = Lists.reverse(anchors);
+                        for (DictType[] dictionaryOrder: DICTIONARY_ORDERS) {
+                            assertSameMove(search(gaddagAI, game, dictionaryOrder, anchors, Optional.empty()),
+                                    search(gaddagAI, game, dictionaryOrder, anchors, Optional.of(pool)));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSearchBreaksTiesByAnchorOrder() {
+        // No bonus squares, and the tiles are on the diagonal, so every move has a mirror image with the same score,
+        // played from another anchor. There are more anchors than one task searches, so the search is split.
+        final int N = BoardSize.VENTI.getN();
+        TileSet tileSet = new TileSet(N);
+        for (int i = 2; i < N; i += 4) {
+            tileSet.set(Pos.of(i, i), Tile.startTile('E'));
+        }
+        Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, new SquareSet(N),
+                "AEINRST", "", 0, 0, true, Optional.empty());
+        Assert.assertTrue(game.getTileSet().getAnchors().size() > 8);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final GaddagAI gaddagAI = new GaddagAI(1.f, 0.f, 0.f);
+        int numOrdersWithDifferentMoves = 0;
+        try {
+            for (int i = 0; i < NUM_ANCHOR_ORDERS; ++i) {
+                final List<Pos> anchors = RandomUtil.shuffleList(game.getTileSet().getAnchors());
+                final List<Pos> reversedAnchors = Lists.reverse(anchors);
+                for (DictType[] dictionaryOrder: DICTIONARY_ORDERS) {
+                    Optional<Move> sequential = search(gaddagAI, game, dictionaryOrder, anchors, Optional.empty());
+                    assertSameMove(sequential, search(gaddagAI, game, dictionaryOrder, anchors, Optional.of(pool)));
+
+                    Optional<Move> reversedSequential = search(gaddagAI, game, dictionaryOrder, reversedAnchors, Optional.empty());
+                    assertSameMove(reversedSequential, search(gaddagAI, game, dictionaryOrder, reversedAnchors, Optional.of(pool)));
+
+                    Assert.assertTrue(sequential.isPresent());
+                    Assert.assertEquals(sequential.get().getPoints(), reversedSequential.get().getPoints());
+                    if (!sequential.get().equals(reversedSequential.get())) {
+                        ++numOrdersWithDifferentMoves;
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // Otherwise the tied moves were all found from the same anchor, and the tie-break wasn't tested.
+        Assert.assertTrue(numOrdersWithDifferentMoves > 0);
+    }
+
+    // --------------- Private ---------------
+
+    private static Optional<Move> search(GaddagAI gaddagAI, Game game, DictType[] dictionaryOrder, List<Pos> anchors,
+                                         Optional<ForkJoinPool> pool) {
+        return gaddagAI.getBestPlayMove(game, game.getCurrentPlayerRack(), dictionaryOrder, false, anchors, anchors.size(),
+                pool, SearchDeadline.none());
+    }
+
+    private static void assertSameMove(Optional<Move> expected, Optional<Move> actual) {
+        Assert.assertEquals(expected, actual);
+        if (expected.isPresent()) {
+            Assert.assertEquals(expected.get().getPoints(), actual.get().getPoints());
+        }
+    }
+}
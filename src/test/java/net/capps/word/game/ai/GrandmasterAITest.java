@@ -0,0 +1,98 @@
+package net.capps.word.game.ai;
+
+import net.capps.word.game.board.FixedLayouts;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.GameDensity;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import net.capps.word.game.move.Move;
+import net.capps.word.heroku.SetupHelper;
+import net.capps.word.rest.models.ErrorModel;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class GrandmasterAITest {
+
+    @BeforeClass
+    public static void initDataStructures() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+        SetupHelper.getInstance().initGameDataStructures();
+    }
+
+    @Test
+    public void testPlaysValidMovesAndLeavesTheGameUnchanged() {
+        for (BoardSize bs: new BoardSize[] { BoardSize.TALL, BoardSize.GRANDE }) {
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+            Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                    "", "", 0, 0, true, Optional.empty());
+            GameAI grandmaster = GrandmasterAI.getInstance(bs);
+
+            while (game.getGameResult() == GameResult.IN_PROGRESS) {
+                final String before = game.getTileSet().toString() + game.getPlayer1Rack() + game.getPlayer2Rack();
+                Move move = grandmaster.getNextMove(game);
+                Assert.assertEquals(before, game.getTileSet().toString() + game.getPlayer1Rack() + game.getPlayer2Rack());
+                Assert.assertEquals(0, game.getNumUndoableMoves());
+
+                Optional<ErrorModel> errorOpt = game.getMoveError(move);
+                Assert.assertFalse("Invalid move " + move + ": " + errorOpt, errorOpt.isPresent());
+                game.playMove(move);
+            }
+        }
+    }
+
+    @Test
+    public void testCandidateCutShortByTheDeadlineIsNotChosen() {
+        int numCutShort = 0;
+        for (int i = 0; i < 10; i++) {
+            final BoardSize bs = BoardSize.GRANDE;
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+            Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                    "AEINRST", "AEILORT", 0, 0, true, Optional.empty());
+            GrandmasterAI grandmaster = new GrandmasterAI(bs, 0L);
+            List<Move> candidates = grandmaster.getCandidateMoves(game, 8, SearchDeadline.none());
+            if (candidates.size() < 2) {
+                continue;
+            }
+
+            // The deadline passes while the opponent's replies to the second candidate are being searched
+            game.apply(candidates.get(1));
+            final long afterSecondCandidate = game.getPositionHash();
+            game.undo();
+            SearchDeadline deadline = SearchDeadline.when(() -> game.getPositionHash() == afterSecondCandidate);
+
+            Move move = grandmaster.chooseCandidate(game, candidates, deadline);
+            Assert.assertEquals(0, game.getNumUndoableMoves());
+            if (deadline.wasReached()) {
+                ++numCutShort;
+                Assert.assertSame(candidates.get(0), move);
+            }
+        }
+        Assert.assertTrue(numCutShort > 0);
+    }
+
+    @Test
+    public void testTinyTimeLimitStillPlaysValidMoves() {
+        final BoardSize bs = BoardSize.GRANDE;
+        TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+        Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                "", "", 0, 0, true, Optional.empty());
+        GameAI grandmaster = new GrandmasterAI(bs, 1L);
+
+        while (game.getGameResult() == GameResult.IN_PROGRESS) {
+            Move move = grandmaster.getNextMove(game);
+            Assert.assertEquals(0, game.getNumUndoableMoves());
+            Optional<ErrorModel> errorOpt = game.getMoveError(move);
+            Assert.assertFalse("Invalid move " + move + ": " + errorOpt, errorOpt.isPresent());
+            game.playMove(move);
+        }
+    }
+}
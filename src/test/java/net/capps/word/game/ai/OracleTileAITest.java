@@ -12,6 +12,7 @@ import net.capps.word.rest.models.GameModel;
 import net.capps.word.rest.models.MoveModel;
 import net.capps.word.rest.models.UserModel;
 import net.capps.word.rest.providers.GamesProvider;
+import net.capps.word.rest.providers.MoveContext;
 import net.capps.word.rest.providers.MovesProvider;
 import net.capps.word.rest.providers.SpecialActionsProvider;
 import net.capps.word.util.ErrorOrResult;
@@ -120,7 +121,7 @@ public class OracleTileAITest {
                 "OF",
                 null,
                 null);
-        GameModel gameModel = movesProvider.playMove(grabMove, game, dbConn);
+        GameModel gameModel = validateAndPlayMove(grabMove, p1, dbConn);
         return ImmutablePair.of(grabMove, gameModel);
     }
 
@@ -134,6 +135,12 @@ public class OracleTileAITest {
                 "",
                 null,
                 null);
-        return movesProvider.playMove(grabMove, game, dbConn);
+        return validateAndPlayMove(grabMove, player, dbConn);
+    }
+
+    private GameModel validateAndPlayMove(MoveModel move, UserModel player, Connection dbConn) throws Exception {
+        ErrorOrResult<MoveContext> errorOrResult = movesProvider.validateMove(move, player, dbConn);
+        Assert.assertFalse("Expected the move to be valid", errorOrResult.isError());
+        return movesProvider.playMove(errorOrResult.getResultOpt().get(), dbConn);
     }
 }
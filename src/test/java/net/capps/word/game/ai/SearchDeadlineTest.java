@@ -0,0 +1,31 @@
+package net.capps.word.game.ai;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class SearchDeadlineTest {
+
+    @Test
+    public void testNoDeadlineIsNeverReached() {
+        SearchDeadline deadline = SearchDeadline.none();
+        Assert.assertFalse(deadline.isExpired());
+        Assert.assertFalse(deadline.wasReached());
+        Assert.assertFalse(SearchDeadline.afterMillis(0).isExpired());
+    }
+
+    @Test
+    public void testDeadlineIsOnlyReachedOnceExpired() throws Exception {
+        SearchDeadline deadline = SearchDeadline.afterMillis(20);
+        Assert.assertFalse(deadline.isExpired());
+        Assert.assertFalse(deadline.wasReached());
+
+        Thread.sleep(40);
+        // Passing the deadline doesn't count as reaching it until a search checks it and stops.
+        Assert.assertFalse(deadline.wasReached());
+        Assert.assertTrue(deadline.isExpired());
+        Assert.assertTrue(deadline.wasReached());
+    }
+}
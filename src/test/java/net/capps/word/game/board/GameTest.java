@@ -0,0 +1,154 @@
+package net.capps.word.game.board;
+
+import net.capps.word.game.ai.GaddagAI;
+import net.capps.word.game.ai.RandomAI;
+import net.capps.word.game.ai.SearchDeadline;
+import net.capps.word.game.common.BoardSize;
+import net.capps.word.game.common.GameDensity;
+import net.capps.word.game.common.GameResult;
+import net.capps.word.game.common.Pos;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.LetterPoints;
+import net.capps.word.heroku.SetupHelper;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class GameTest {
+
+    @BeforeClass
+    public static void initDataStructures() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+        SetupHelper.getInstance().initGameDataStructures();
+    }
+
+    @Test
+    public void testUndoRestoresEveryAppliedMove() {
+        for (int i = 0; i < 5; i++) {
+            final BoardSize bs = BoardSize.GRANDE;
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+            Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                    "", "", 0, 0, true, Optional.empty());
+
+            // Play the whole game with apply(), remembering the state before each move.
+            List<String> states = new ArrayList<>();
+            List<Long> hashes = new ArrayList<>();
+            while (game.getGameResult() == GameResult.IN_PROGRESS) {
+                states.add(stateOf(game));
+                hashes.add(game.getPositionHash());
+                Move move = RandomAI.getInstance().getNextMove(game);
+                game.apply(move);
+            }
+            Assert.assertEquals(states.size(), game.getNumUndoableMoves());
+
+            for (int j = states.size() - 1; j >= 0; --j) {
+                game.undo();
+                Assert.assertEquals(states.get(j), stateOf(game));
+                Assert.assertEquals(hashes.get(j).longValue(), game.getPositionHash());
+            }
+            Assert.assertEquals(0, game.getNumUndoableMoves());
+        }
+    }
+
+    @Test
+    public void testUndoThenReplayGivesTheSameGame() {
+        final BoardSize bs = BoardSize.TALL;
+        TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+        Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                "", "", 0, 0, true, Optional.empty());
+
+        Move first = RandomAI.getInstance().getNextMove(game);
+        game.apply(first);
+        Move second = RandomAI.getInstance().getNextMove(game);
+        game.apply(second);
+        final String afterTwoMoves = stateOf(game);
+
+        game.undo();
+        game.apply(second);
+        Assert.assertEquals(afterTwoMoves, stateOf(game));
+
+        game.undo();
+        game.undo();
+        game.playMove(first);
+        game.playMove(second);
+        Assert.assertEquals(afterTwoMoves, stateOf(game));
+    }
+
+    @Test
+    public void testPlacedTilePointsAddUpToStandardPoints() {
+        final GaddagAI gaddagAI = new GaddagAI(1f, 0f, 0f);
+        final LetterPoints letterPoints = LetterPoints.getInstance();
+        int numWithPerpWord = 0;
+        int numWithoutPerpWord = 0;
+        int numWithLetterMultiplier = 0;
+        int numMovesChecked = 0;
+
+        for (BoardSize bs: BoardSize.values()) {
+            for (int i = 0; i < 3; i++) {
+                TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+                Game game = new Game(0, GameResult.IN_PROGRESS, tileSet, FixedLayouts.getInstance().getFixedLayout(bs),
+                        "", "", 0, 0, true, Optional.empty());
+
+                // Check the best moves for the current rack, and each play move of a random game, before playing it.
+                while (game.getGameResult() == GameResult.IN_PROGRESS) {
+                    List<Move> moves = new ArrayList<>(gaddagAI.getTopPlayMoves(game, game.getCurrentPlayerRack(), 10, SearchDeadline.none()));
+                    Move randomMove = RandomAI.getInstance().getNextMove(game);
+                    moves.add(randomMove);
+
+                    for (Move move: moves) {
+                        if (move.getMoveType() != MoveType.PLAY_WORD) {
+                            continue;
+                        }
+                        Assert.assertFalse(game.getMoveError(move).isPresent());
+                        int points = 0;
+                        Pos p = move.getStart();
+                        for (int j = 0; j < move.getLetters().length(); j++, p = p.go(move.getDir())) {
+                            final char c = move.getLetters().charAt(j);
+                            if (!tileSet.isOccupied(p)) {
+                                points += game.computePlacedTilePoints(p, move.getDir(), c);
+                                if (tileSet.getPerpWordBaseScore(p, move.getDir()) == TileSet.NO_PERP_WORD) {
+                                    ++numWithoutPerpWord;
+                                } else {
+                                    ++numWithPerpWord;
+                                }
+                                if (game.getSquareSet().get(p).getLetterMultiplier() > 1) {
+                                    ++numWithLetterMultiplier;
+                                }
+                            } else {
+                                points += letterPoints.getPointValue(c);
+                            }
+                        }
+                        Assert.assertEquals(move.toString(), game.computeStandardPoints(move), points);
+                        ++numMovesChecked;
+                    }
+                    game.playMove(randomMove);
+                }
+            }
+        }
+
+        // The boards must cover tiles placed with and without perpendicular words, and on letter bonus squares.
+        Assert.assertTrue(numMovesChecked > 0);
+        Assert.assertTrue(numWithPerpWord > 0);
+        Assert.assertTrue(numWithoutPerpWord > 0);
+        Assert.assertTrue(numWithLetterMultiplier > 0);
+    }
+
+    // --------------- Private ---------------
+
+    private static String stateOf(Game game) {
+        return game.getTileSet().toString() + "\n" +
+                game.getPlayer1Rack() + "," + game.getPlayer2Rack() + "," +
+                game.getPlayer1Points() + "," + game.getPlayer2Points() + "," +
+                game.isPlayer1Turn() + "," + game.getGameResult() + "\n" +
+                game.getPreviousMoveOpt();
+    }
+}
@@ -0,0 +1,237 @@
+package net.capps.word.game.board;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import net.capps.word.game.common.Dir;
+import net.capps.word.game.common.Placement;
+import net.capps.word.game.common.Pos;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import net.capps.word.game.move.Move;
+import net.capps.word.game.move.MoveType;
+import net.capps.word.game.tile.RackTile;
+import net.capps.word.game.tile.Tile;
+import net.capps.word.heroku.SetupHelper;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.capps.word.game.common.BoardSize.GRANDE;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class TileSetTest {
+
+    @BeforeClass
+    public static void initDict() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+        SetupHelper.getInstance().initGameDataStructures();
+    }
+
+    @Test
+    public void testAnchorsAndCrossChecksForGeneratedGames() {
+        for (int i = 0; i < 5; i++) {
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(GRANDE.getN(), 12, 8);
+            assertCachesMatchBoard(tileSet);
+        }
+    }
+
+    @Test
+    public void testCachesAreInvalidatedByMoves() {
+        TileSet tileSet = new TileSet(5);
+        final Pos above = Pos.of(1, 2);
+        Assert.assertTrue(tileSet.getAnchors().isEmpty());
+        Assert.assertFalse(tileSet.isAnchor(above));
+        Assert.assertEquals(TileSet.ALL_LETTERS, tileSet.getCrossCheck(above, Dir.E));
+
+        Move playCat = new Move(1, MoveType.PLAY_WORD, "CAT", Pos.of(2, 1), Dir.E, tilesOf("CAT"));
+        tileSet.playWordMove(playCat);
+        Assert.assertTrue(tileSet.isAnchor(above));
+        Assert.assertNotEquals(TileSet.ALL_LETTERS, tileSet.getCrossCheck(above, Dir.E));
+        assertCachesMatchBoard(tileSet);
+
+        Move grabCat = new Move(1, MoveType.GRAB_TILES, "CAT", Pos.of(2, 1), Dir.E, tilesOf("CAT"));
+        tileSet.playGrabTilesMove(grabCat);
+        Assert.assertTrue(tileSet.getAnchors().isEmpty());
+        Assert.assertFalse(tileSet.isAnchor(above));
+        Assert.assertEquals(TileSet.ALL_LETTERS, tileSet.getCrossCheck(above, Dir.E));
+    }
+
+    @Test
+    public void testZobristHashMatchesLoadedBoard() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(GRANDE.getN(), 12, 8);
+            TileSet loaded = new TileSet(GRANDE.getN());
+            loaded.load(new StringReader(tileSet.toString()));
+            Assert.assertEquals(tileSet.getZobristHash(), loaded.getZobristHash());
+        }
+    }
+
+    @Test
+    public void testZobristHashIsRestoredByGrabbingAPlayedWord() {
+        TileSet tileSet = new TileSet(5);
+        Assert.assertEquals(0L, tileSet.getZobristHash());
+        tileSet.placeWord(new Placement("DOG", Pos.of(0, 0), Dir.S));
+        final long before = tileSet.getZobristHash();
+
+        Move playCat = new Move(1, MoveType.PLAY_WORD, "CAT", Pos.of(2, 1), Dir.E, tilesOf("CAT"));
+        tileSet.playWordMove(playCat);
+        final long afterPlay = tileSet.getZobristHash();
+        Assert.assertNotEquals(before, afterPlay);
+
+        Move grabCat = new Move(1, MoveType.GRAB_TILES, "CAT", Pos.of(2, 1), Dir.E, tilesOf("CAT"));
+        tileSet.playGrabTilesMove(grabCat);
+        Assert.assertEquals(before, tileSet.getZobristHash());
+
+        // The same letters played as start tiles make a different board
+        tileSet.placeWord(new Placement("CAT", Pos.of(2, 1), Dir.E));
+        Assert.assertNotEquals(afterPlay, tileSet.getZobristHash());
+    }
+
+    @Test
+    public void testBitboardsMatchTiles() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(GRANDE.getN(), 12, 8);
+            assertBitboardsMatchTiles(tileSet);
+
+            TileSet loaded = new TileSet(GRANDE.getN());
+            loaded.load(new StringReader(tileSet.toString()));
+            assertBitboardsMatchTiles(loaded);
+
+            // Grab the first start tile, then undo it
+            final Pos start = tileSet.getAllStartTilePositions().get(0);
+            final char letter = tileSet.getLetterAt(start);
+            final int undoLogSize = tileSet.getUndoLogSize();
+            tileSet.playGrabTilesMove(new Move(1, MoveType.GRAB_TILES, Character.toString(letter), start, Dir.E, tilesOf(Character.toString(letter))));
+            assertBitboardsMatchTiles(tileSet);
+            tileSet.undoTo(undoLogSize);
+            assertBitboardsMatchTiles(tileSet);
+        }
+
+        TileSet tileSet = new TileSet(5);
+        Assert.assertTrue(tileSet.isEmpty());
+        tileSet.playWordMove(new Move(1, MoveType.PLAY_WORD, "CATS", Pos.of(4, 1), Dir.E, tilesOf("CATS")));
+        Assert.assertFalse(tileSet.isEmpty());
+        Assert.assertTrue(tileSet.areAllTilesPlayed());
+        Assert.assertEquals(Pos.of(4, 4), tileSet.getEndOfOccupiedE(Pos.of(4, 1)));
+        Assert.assertEquals(Pos.of(4, 1), tileSet.getEndOfOccupiedW(Pos.of(4, 4)));
+        assertBitboardsMatchTiles(tileSet);
+    }
+
+    @Test
+    public void testLoadFromStringAndTileCodes() {
+        for (int i = 0; i < 5; i++) {
+            TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(GRANDE.getN(), 12, 8);
+            List<Pos> unoccupied = tileSet.getAllUnoccupiedPositions();
+            tileSet.set(unoccupied.get(0), Tile.wildPlayedTile('Q'));
+            tileSet.set(unoccupied.get(1), Tile.fromSerializedForm('z', true));
+
+            TileSet fromString = new TileSet(GRANDE.getN());
+            fromString.load(tileSet.toCompactString());
+            Assert.assertEquals(tileSet.toString(), fromString.toString());
+            Assert.assertEquals(tileSet.getZobristHash(), fromString.getZobristHash());
+
+            TileSet fromCodes = new TileSet(GRANDE.getN());
+            fromCodes.load(tileSet.toTileCodes());
+            Assert.assertEquals(tileSet.toString(), fromCodes.toString());
+            Assert.assertEquals(tileSet.getZobristHash(), fromCodes.getZobristHash());
+            assertBitboardsMatchTiles(fromCodes);
+            assertCachesMatchBoard(fromCodes);
+        }
+
+        try {
+            new TileSet(5).load(Strings.repeat("_", 26));
+            Assert.fail("Expected too many tiles to be rejected");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testTilesAreInterned() {
+        Assert.assertSame(Tile.absentTile(), Tile.absentTile());
+        Assert.assertSame(Tile.absentTile(), Tile.fromSerializedForm(Tile.ABSENT_TILE, false));
+        Assert.assertSame(Tile.startTile('A'), Tile.fromSerializedForm('a', false));
+        Assert.assertSame(Tile.playedTile('A'), Tile.fromSerializedForm('A', false));
+        Assert.assertSame(Tile.wildPlayedTile('A'), Tile.fromSerializedForm('A', true));
+        Assert.assertFalse(Tile.startTile('A') == Tile.playedTile('A'));
+
+        for (byte code = 0; code <= 104; ++code) {
+            Tile tile = Tile.fromCode(code);
+            Assert.assertEquals(code, tile.getCode());
+            Assert.assertSame(tile, Tile.fromSerializedForm(tile.toString().charAt(tile.toString().length() - 1), tile.isWild()));
+        }
+    }
+
+    // --------------- Private ---------------
+
+    private static void assertBitboardsMatchTiles(TileSet tileSet) {
+        final int N = tileSet.N;
+        List<Pos> expectedStartTiles = new ArrayList<>();
+        List<Pos> expectedUnoccupied = new ArrayList<>();
+        for (Pos p: tileSet) {
+            final boolean occupied = !tileSet.get(p).isAbsent();
+            Assert.assertEquals(occupied, tileSet.isOccupied(p));
+            Assert.assertEquals(p.c + 1 < N && !tileSet.get(Pos.of(p.r, p.c + 1)).isAbsent(), tileSet.isOccupiedE(p));
+            Assert.assertEquals(p.c > 0 && !tileSet.get(Pos.of(p.r, p.c - 1)).isAbsent(), tileSet.isOccupiedW(p));
+            Assert.assertEquals(p.r + 1 < N && !tileSet.get(Pos.of(p.r + 1, p.c)).isAbsent(), tileSet.isOccupiedS(p));
+            Assert.assertEquals(p.r > 0 && !tileSet.get(Pos.of(p.r - 1, p.c)).isAbsent(), tileSet.isOccupiedN(p));
+            Assert.assertEquals(occupied || tileSet.isOccupiedE(p) || tileSet.isOccupiedW(p) || tileSet.isOccupiedS(p) || tileSet.isOccupiedN(p),
+                    tileSet.isOccupiedOrAdjacentOccupied(p));
+            if (tileSet.get(p).isStartTile()) {
+                expectedStartTiles.add(p);
+            }
+            if (!occupied) {
+                expectedUnoccupied.add(p);
+            }
+
+            for (Dir dir: Dir.values()) {
+                Pos end = p;
+                while (tileSet.isValid(end.go(dir)) && !tileSet.get(end.go(dir)).isAbsent()) {
+                    end = end.go(dir);
+                }
+                Assert.assertEquals(end, tileSet.getEndOfOccupied(p, dir));
+            }
+        }
+        Assert.assertEquals(expectedStartTiles, tileSet.getAllStartTilePositions());
+        Assert.assertEquals(expectedUnoccupied, tileSet.getAllUnoccupiedPositions());
+        Assert.assertEquals(expectedStartTiles.isEmpty(), tileSet.areAllTilesPlayed());
+    }
+
+    private static List<RackTile> tilesOf(String letters) {
+        List<RackTile> tiles = new ArrayList<>();
+        for (char c: letters.toCharArray()) {
+            tiles.add(RackTile.of(c));
+        }
+        return tiles;
+    }
+
+    private static void assertCachesMatchBoard(TileSet tileSet) {
+        List<Pos> expectedAnchors = new ArrayList<>();
+        for (Pos p: tileSet) {
+            if (tileSet.isOccupied(p)) {
+                Assert.assertFalse(tileSet.isAnchor(p));
+                continue;
+            }
+            if (tileSet.isOccupiedOrAdjacentOccupied(p)) {
+                expectedAnchors.add(p);
+            }
+            Assert.assertEquals(expectedAnchors.contains(p), tileSet.isAnchor(p));
+
+            for (Dir dir: ImmutableList.of(Dir.E, Dir.S)) {
+                int expectedCrossCheck = 0;
+                for (char c = 'A'; c <= 'Z'; ++c) {
+                    Placement placement = new Placement(Character.toString(c), p, dir);
+                    if (tileSet.isValidPerpendicularPlacement(placement, null)) {
+                        expectedCrossCheck |= 1 << (c - 'A');
+                    }
+                }
+                Assert.assertEquals(p + " " + dir, expectedCrossCheck, tileSet.getCrossCheck(p, dir));
+            }
+        }
+        Assert.assertEquals(expectedAnchors, tileSet.getAnchors());
+    }
+}
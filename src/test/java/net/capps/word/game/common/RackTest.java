@@ -0,0 +1,114 @@
+package net.capps.word.game.common;
+
+import com.google.common.collect.Lists;
+import net.capps.word.game.tile.RackTile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class RackTest {
+    private static final String TILES = "ABCDEEEQZ*^";
+
+    @Test
+    public void testHasTilesCountsDuplicates() {
+        Rack rack = new Rack("EXE*^");
+        Assert.assertTrue(rack.hasTiles(Rack.lettersToTiles("")));
+        Assert.assertTrue(rack.hasTiles(Rack.lettersToTiles("EE")));
+        Assert.assertTrue(rack.hasTiles(Rack.lettersToTiles("XE*E^")));
+        Assert.assertFalse(rack.hasTiles(Rack.lettersToTiles("EEE")));
+        Assert.assertFalse(rack.hasTiles(Rack.lettersToTiles("**")));
+        Assert.assertFalse(rack.hasTiles(Rack.lettersToTiles("A")));
+        Assert.assertFalse(rack.hasTiles(Rack.lettersToTiles("EXE*^E")));
+
+        Assert.assertEquals(3, rack.getNumLetterTiles());
+        Assert.assertEquals(2, rack.getLetterCount('E'));
+        Assert.assertEquals(0, rack.getLetterCount('A'));
+        Assert.assertTrue(rack.hasLetterTile());
+        Assert.assertTrue(new Rack("*").hasPlayableTile());
+        Assert.assertFalse(new Rack("^").hasPlayableTile());
+    }
+
+    @Test
+    public void testRemoveTilesKeepsOrder() {
+        Rack rack = new Rack("BEAE*");
+        rack.removeTiles(Rack.lettersToTiles("E*"));
+        Assert.assertEquals("BAE", rack.toString());
+        rack.addTiles(Rack.lettersToTiles("^Z"));
+        Assert.assertEquals("BAE^Z", rack.toString());
+        Assert.assertEquals(Rack.lettersToTiles("BAEZ"), rack.getLetterTiles());
+
+        try {
+            rack.removeTiles(Rack.lettersToTiles("EE"));
+            Assert.fail("Expected removing tiles not in the rack to throw");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        Assert.assertEquals("BAE^Z", rack.toString());
+    }
+
+    @Test
+    public void testMatchesListOfTiles() {
+        Random random = new Random(1234);
+        Rack rack = new Rack("");
+        List<RackTile> expected = Lists.newArrayList();
+        for (int i = 0; i < 2000; i++) {
+            List<RackTile> tiles = randomTiles(random);
+            if (random.nextBoolean()) {
+                boolean canAdd = expected.size() + tiles.size() <= Rack.MAX_TILES_IN_RACK;
+                Assert.assertEquals(canAdd, rack.canAddTiles(tiles));
+                if (canAdd) {
+                    rack.addTiles(tiles);
+                    expected.addAll(tiles);
+                }
+            } else {
+                List<RackTile> remaining = Lists.newArrayList(expected);
+                boolean hasTiles = true;
+                for (RackTile tile: tiles) {
+                    hasTiles &= remaining.remove(tile);
+                }
+                Assert.assertEquals(hasTiles, rack.hasTiles(tiles));
+                if (hasTiles) {
+                    rack.removeTiles(tiles);
+                    for (RackTile tile: tiles) {
+                        expected.remove(tile);
+                    }
+                }
+            }
+            Assert.assertEquals(Rack.tilesToString(expected), rack.toString());
+            Assert.assertEquals(expected.size(), rack.size());
+            Assert.assertEquals(expected.isEmpty(), rack.isEmpty());
+            Assert.assertEquals(new Rack(rack.toString()).getLetterTilesZobristHash(), rack.getLetterTilesZobristHash());
+        }
+    }
+
+    @Test
+    public void testZobristHashIgnoresOrderAndNonLetterTiles() {
+        Assert.assertEquals(0L, new Rack("").getLetterTilesZobristHash());
+        Assert.assertEquals(0L, new Rack("*^").getLetterTilesZobristHash());
+
+        final long hash = new Rack("BEAE").getLetterTilesZobristHash();
+        Assert.assertEquals(hash, new Rack("EEAB").getLetterTilesZobristHash());
+        Assert.assertEquals(hash, new Rack("^E*BEA").getLetterTilesZobristHash());
+        Assert.assertNotEquals(hash, new Rack("BEA").getLetterTilesZobristHash());
+        Assert.assertNotEquals(hash, new Rack("BEAEE").getLetterTilesZobristHash());
+
+        Rack rack = new Rack("BEAE^");
+        rack.removeTiles(Rack.lettersToTiles("E^"));
+        rack.addTiles(Rack.lettersToTiles("*E"));
+        Assert.assertEquals(hash, rack.getLetterTilesZobristHash());
+    }
+
+    private static List<RackTile> randomTiles(Random random) {
+        List<RackTile> tiles = Lists.newArrayList();
+        int num = random.nextInt(6);
+        for (int i = 0; i < num; i++) {
+            tiles.add(RackTile.of(TILES.charAt(random.nextInt(TILES.length()))));
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,56 @@
+package net.capps.word.game.dict;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class DictionaryFileParserTest {
+
+    @Test
+    public void testParseWordsAndDefinitions() throws Exception {
+        String contents =
+                "apple\n" +
+                "  Banana  \r\n" +
+                "RAVEN         \"Quoth the \\\"Raven\\\", nevermore\"  \n" +
+                "R'LYEH        \"Invalid word\"\n" +
+                "ALHAZRED \"Missing close quote\n" +
+                "NOSPACE\"Missing space\"\n" +
+                "UNESCAPED     \"Has \"bad\" quotes\"\n" +
+                "EMPTY         \"\"\n" +
+                "\n" +
+                "A\n" +
+                "TOOLONGFORTHIS\n" +
+                "DAGON         \"Olatho\u00eb\"";
+
+        List<String> entries = parse(contents);
+        Assert.assertEquals(Lists.newArrayList(
+                "APPLE=null",
+                "BANANA=null",
+                "RAVEN=Quoth the \"Raven\", nevermore",
+                "DAGON=Olatho\u00eb"), entries);
+    }
+
+    @Test
+    public void testParseLongLines() throws Exception {
+        StringBuilder definition = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            definition.append("Ph'nglui mglw'nafh ");
+        }
+        List<String> entries = parse("CTHULHU \"" + definition + "\"\nFHTAGN\n");
+        Assert.assertEquals(Lists.newArrayList("CTHULHU=" + definition, "FHTAGN=null"), entries);
+    }
+
+    private static List<String> parse(String contents) throws Exception {
+        List<String> entries = Lists.newArrayList();
+        new DictionaryFileParser(2, 13).parse(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)),
+                (word, definition) -> entries.add(word + "=" + definition));
+        return entries;
+    }
+}
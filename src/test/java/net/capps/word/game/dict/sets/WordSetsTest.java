@@ -0,0 +1,150 @@
+package net.capps.word.game.dict.sets;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import net.capps.word.game.dict.WordConstraint;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class WordSetsTest {
+
+    @Test
+    public void testIntersectionMatchesFilter() {
+        // More than 64 words, so the bitsets span several longs
+        List<String> words = Lists.newArrayList();
+        for (char a = 'A'; a <= 'Z'; ++a) {
+            for (char b = 'A'; b <= 'E'; ++b) {
+                words.add("" + a + b + 'X');
+            }
+        }
+        WordSets wordSets = new WordSets(3, words);
+        Assert.assertEquals(words.size(), wordSets.size());
+
+        List<List<WordConstraint>> constraintLists = ImmutableList.<List<WordConstraint>>of(
+                Collections.<WordConstraint>emptyList(),
+                ImmutableList.of(WordConstraint.of(0, 'Z')),
+                ImmutableList.of(WordConstraint.of(1, 'C')),
+                ImmutableList.of(WordConstraint.of(1, 'C'), WordConstraint.of(2, 'X')),
+                ImmutableList.of(WordConstraint.of(0, 'Q'), WordConstraint.of(1, 'E'), WordConstraint.of(2, 'X')),
+                ImmutableList.of(WordConstraint.of(0, 'Q'), WordConstraint.of(1, 'Z')),
+                ImmutableList.of(WordConstraint.of(2, 'Y')),
+                ImmutableList.of(WordConstraint.of(5, 'X')));
+
+        for (List<WordConstraint> wcs: constraintLists) {
+            ImmutableSet.Builder<String> expected = ImmutableSet.builder();
+            for (String word: words) {
+                boolean matches = true;
+                for (WordConstraint wc: wcs) {
+                    matches &= wc.pos < word.length() && wc.apply(word);
+                }
+                if (matches) {
+                    expected.add(word);
+                }
+            }
+            String[] intersection = wordSets.getIntersection(wcs);
+            Assert.assertEquals(expected.build(), ImmutableSet.copyOf(Arrays.asList(intersection)));
+            Assert.assertEquals(ImmutableSet.copyOf(intersection).size(), intersection.length);
+        }
+    }
+
+    @Test
+    public void testIntersectionWithLetterMasksMatchesFilter() {
+        List<String> words = Lists.newArrayList();
+        for (char a = 'A'; a <= 'Z'; ++a) {
+            for (char b = 'A'; b <= 'E'; ++b) {
+                words.add("" + a + b + 'X');
+            }
+        }
+        WordSets wordSets = new WordSets(3, words);
+        final int all = (1 << 26) - 1;
+        final int vowels = maskOf("AEIOU");
+
+        List<int[]> maskLists = ImmutableList.of(
+                new int[] {all, all, all},
+                new int[] {vowels, all, all},
+                new int[] {vowels, maskOf("BD"), all},
+                new int[] {all, all, maskOf("Y")},
+                new int[] {0, all, all});
+        List<List<WordConstraint>> constraintLists = ImmutableList.<List<WordConstraint>>of(
+                Collections.<WordConstraint>emptyList(),
+                ImmutableList.of(WordConstraint.of(0, 'E')),
+                ImmutableList.of(WordConstraint.of(0, 'Z'), WordConstraint.of(1, 'B')));
+
+        for (int[] masks: maskLists) {
+            for (List<WordConstraint> wcs: constraintLists) {
+                ImmutableSet.Builder<String> expected = ImmutableSet.builder();
+                for (String word: words) {
+                    boolean matches = true;
+                    for (WordConstraint wc: wcs) {
+                        matches &= wc.apply(word);
+                    }
+                    for (int i = 0; i < word.length(); ++i) {
+                        matches &= (masks[i] & (1 << (word.charAt(i) - 'A'))) != 0;
+                    }
+                    if (matches) {
+                        expected.add(word);
+                    }
+                }
+                String[] intersection = wordSets.getIntersection(wcs, masks);
+                Assert.assertEquals(expected.build(), ImmutableSet.copyOf(Arrays.asList(intersection)));
+                Assert.assertEquals(ImmutableSet.copyOf(intersection).size(), intersection.length);
+            }
+        }
+    }
+
+    @Test
+    public void testIntersectionReturnsNewArray() {
+        WordSets wordSets = new WordSets(2, ImmutableList.of("AB", "AC"));
+        String[] intersection = wordSets.getIntersection(ImmutableList.of(WordConstraint.of(0, 'A')));
+        intersection[0] = null;
+        Assert.assertEquals(2, wordSets.getIntersection(ImmutableList.of(WordConstraint.of(0, 'A'))).length);
+        Assert.assertNotNull(wordSets.getIntersection(ImmutableList.of(WordConstraint.of(0, 'A')))[0]);
+    }
+
+    @Test
+    public void testWriteAndReadBack() {
+        List<String> words = Lists.newArrayList();
+        for (char a = 'A'; a <= 'Z'; ++a) {
+            for (char b = 'A'; b <= 'E'; ++b) {
+                words.add("" + a + b + 'X');
+            }
+        }
+        WordSets wordSets = new WordSets(3, words);
+
+        ByteBuffer buffer = ByteBuffer.allocate(wordSets.getSerializedSize() + 1).order(ByteOrder.nativeOrder());
+        wordSets.writeTo(buffer);
+        buffer.put((byte) 7);
+        Assert.assertEquals(buffer.capacity(), buffer.position());
+
+        buffer.flip();
+        WordSets readWordSets = WordSets.readFrom(buffer, words);
+        Assert.assertEquals(7, buffer.get());
+        Assert.assertEquals(words, readWordSets.getAllWordsOfLenList());
+        List<List<WordConstraint>> constraintLists = ImmutableList.<List<WordConstraint>>of(
+                Collections.<WordConstraint>emptyList(),
+                ImmutableList.of(WordConstraint.of(0, 'Z')),
+                ImmutableList.of(WordConstraint.of(1, 'C'), WordConstraint.of(2, 'X')),
+                ImmutableList.of(WordConstraint.of(2, 'Y')));
+        for (List<WordConstraint> wcs: constraintLists) {
+            Assert.assertEquals(Arrays.asList(wordSets.getIntersection(wcs)), Arrays.asList(readWordSets.getIntersection(wcs)));
+        }
+    }
+
+    private static int maskOf(String letters) {
+        int mask = 0;
+        for (char c: letters.toCharArray()) {
+            mask |= 1 << (c - 'A');
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,91 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.collect.ImmutableSet;
+import net.capps.word.game.dict.Dictionaries;
+import net.capps.word.heroku.SetupHelper;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class ArrayTrieTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ArrayTrieTest.class);
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+    }
+
+    @Test
+    public void testWalkSmallArrayTrie() {
+        Set<String> words = ImmutableSet.of("AX", "AXE", "AXES", "BE", "BEE", "ZA");
+        ArrayTrie trie = ArrayTrie.build(words);
+
+        int node = ArrayTrie.ROOT;
+        Assert.assertFalse(trie.isWord(node));
+        node = trie.getChild(node, 'A');
+        Assert.assertFalse(trie.isWord(node));
+        node = trie.getChild(node, 'X');
+        Assert.assertTrue(trie.isWord(node));
+        Assert.assertTrue(trie.hasChildren(node));
+        Assert.assertEquals(ArrayTrie.NO_NODE, trie.getChild(node, 'A'));
+        Assert.assertEquals(ArrayTrie.NO_NODE, trie.getChild(node, 'a'));
+        Assert.assertEquals(ArrayTrie.NO_NODE, trie.getChild(node, '*'));
+        node = trie.getChild(trie.getChild(node, 'E'), 'S');
+        Assert.assertTrue(trie.isWord(node));
+        Assert.assertFalse(trie.hasChildren(node));
+
+        Assert.assertTrue(trie.contains("ZA"));
+        Assert.assertFalse(trie.contains("Z"));
+        Assert.assertTrue(trie.isPrefix("Z"));
+        Assert.assertFalse(trie.isPrefix("C"));
+    }
+
+    @Test
+    public void testArrayTrieMatchesNodeTrieForEnglishDictionary() {
+        Set<String> words = Dictionaries.getEnglishDictSet().getWordSet();
+        WordTrie nodeTrie = NodeTrie.build(words);
+        ArrayTrie arrayTrie = ArrayTrie.build(words);
+        LOG.info("NodeTrie has {} nodes, ArrayTrie has {} nodes.", nodeTrie.getNumNodes(), arrayTrie.getNumNodes());
+
+        for (String word: words) {
+            for (int i = 0; i <= word.length(); ++i) {
+                String prefix = word.substring(0, i);
+                Assert.assertEquals(nodeTrie.isPrefix(prefix), arrayTrie.isPrefix(prefix));
+                Assert.assertEquals(nodeTrie.contains(prefix), arrayTrie.contains(prefix));
+            }
+            String extended = word + "Q";
+            Assert.assertEquals(nodeTrie.isPrefix(extended), arrayTrie.isPrefix(extended));
+            Assert.assertEquals(nodeTrie.contains(extended), arrayTrie.contains(extended));
+        }
+    }
+
+    @Test
+    public void testWriteAndReadArrayTrie() {
+        Set<String> words = Dictionaries.getPoeDictSet().getWordSet();
+        ArrayTrie trie = ArrayTrie.build(words);
+
+        ByteBuffer buffer = ByteBuffer.allocate(trie.getSerializedSize() + 1).order(ByteOrder.nativeOrder());
+        trie.writeTo(buffer);
+        buffer.put((byte) 7);
+        Assert.assertEquals(buffer.capacity(), buffer.position());
+
+        buffer.flip();
+        ArrayTrie readTrie = ArrayTrie.readFrom(buffer);
+        Assert.assertEquals(7, buffer.get());
+        Assert.assertEquals(trie.getNumNodes(), readTrie.getNumNodes());
+        for (String word: words) {
+            Assert.assertTrue(readTrie.contains(word));
+            Assert.assertTrue(readTrie.isPrefix(word.substring(0, word.length() - 1)));
+            Assert.assertEquals(words.contains(word + "Q"), readTrie.contains(word + "Q"));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.collect.ImmutableSet;
+import net.capps.word.game.dict.Dictionaries;
+import net.capps.word.heroku.SetupHelper;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class DawgTest {
+    private static final Logger LOG = LoggerFactory.getLogger(DawgTest.class);
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+    }
+
+    @Test
+    public void testSmallDawg() {
+        Set<String> words = ImmutableSet.of("TAP", "TAPS", "TOP", "TOPS", "CAT", "CATS", "HAT");
+        WordTrie dawg = Dawg.build(words);
+
+        for (String word: words) {
+            Assert.assertTrue("Expected Dawg to contain " + word, dawg.contains(word));
+        }
+        Assert.assertFalse(dawg.contains("TA"));
+        Assert.assertFalse(dawg.contains("HATS"));
+        Assert.assertFalse(dawg.contains("CA"));
+        Assert.assertTrue(dawg.isPrefix(""));
+        Assert.assertTrue(dawg.isPrefix("TO"));
+        Assert.assertTrue(dawg.isPrefix("CATS"));
+        Assert.assertFalse(dawg.isPrefix("CATSS"));
+        Assert.assertFalse(dawg.isPrefix("Z"));
+
+        // All the words share the suffix nodes for "AT", "AP", "OP", "S" and the terminal node.
+        Assert.assertTrue("Expected suffixes to be shared", dawg.getNumNodes() < NodeTrie.build(words).getNumNodes());
+    }
+
+    @Test
+    public void testDawgMatchesNodeTrieForEnglishDictionary() {
+        Set<String> words = Dictionaries.getEnglishDictSet().getWordSet();
+        WordTrie nodeTrie = NodeTrie.build(words);
+        WordTrie dawg = Dawg.build(words);
+        LOG.info("NodeTrie has {} nodes, Dawg has {} nodes.", nodeTrie.getNumNodes(), dawg.getNumNodes());
+
+        for (String word: words) {
+            for (int i = 0; i <= word.length(); ++i) {
+                String prefix = word.substring(0, i);
+                Assert.assertEquals(nodeTrie.isPrefix(prefix), dawg.isPrefix(prefix));
+                Assert.assertEquals(nodeTrie.contains(prefix), dawg.contains(prefix));
+            }
+            String extended = word + "Q";
+            Assert.assertEquals(nodeTrie.isPrefix(extended), dawg.isPrefix(extended));
+            Assert.assertEquals(nodeTrie.contains(extended), dawg.contains(extended));
+        }
+    }
+}
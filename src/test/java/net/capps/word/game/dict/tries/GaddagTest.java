@@ -0,0 +1,84 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class GaddagTest {
+    private static final Set<String> ENGLISH = ImmutableSet.of("RAVEN", "RAVENS", "RAVE", "DREAM", "DREAMS", "AX");
+    private static final Set<String> POE = ImmutableSet.of("RAVEN", "LENORE", "NEVERMORE");
+    private static final List<Set<String>> DICTS = ImmutableList.of(ENGLISH, POE);
+
+    @Test
+    public void testToPath() {
+        Assert.assertEquals("R[AVEN", Gaddag.toPath("RAVEN", 1));
+        Assert.assertEquals("VAR[EN", Gaddag.toPath("RAVEN", 3));
+        Assert.assertEquals("NEVAR", Gaddag.toPath("RAVEN", 5));
+    }
+
+    @Test
+    public void testEveryWordFromEverySplit() {
+        assertWordsFromEverySplit(Gaddag.build(DICTS));
+    }
+
+    @Test
+    public void testWriteAndReadGaddag() {
+        Gaddag gaddag = Gaddag.build(DICTS);
+        ByteBuffer buffer = ByteBuffer.allocate(gaddag.getSerializedSize()).order(ByteOrder.nativeOrder());
+        gaddag.writeTo(buffer);
+        Assert.assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        Gaddag readGaddag = Gaddag.readFrom(buffer);
+        Assert.assertEquals(gaddag.getNumNodes(), readGaddag.getNumNodes());
+        assertWordsFromEverySplit(readGaddag);
+    }
+
+    @Test
+    public void testNonWordsAreAbsent() {
+        Gaddag gaddag = Gaddag.build(DICTS);
+        // "RAV" is only a prefix, so there's no word ending at 'V'
+        int node = walk(gaddag, "VAR");
+        Assert.assertNotEquals(Gaddag.NO_NODE, node);
+        Assert.assertEquals(0, gaddag.getWordMask(node));
+        // Going forwards from the start of a word needs the separator first
+        Assert.assertEquals(Gaddag.NO_NODE, walk(gaddag, "RA"));
+        Assert.assertEquals(Gaddag.NO_NODE, walk(gaddag, "Q"));
+    }
+
+    private static void assertWordsFromEverySplit(Gaddag gaddag) {
+        for (int d = 0; d < DICTS.size(); ++d) {
+            for (String word: DICTS.get(d)) {
+                for (int split = 1; split <= word.length(); ++split) {
+                    int node = walk(gaddag, Gaddag.toPath(word, split));
+                    Assert.assertNotEquals(Gaddag.NO_NODE, node);
+                    int expectedWordMask = 0;
+                    for (int e = 0; e < DICTS.size(); ++e) {
+                        if (DICTS.get(e).contains(word)) {
+                            expectedWordMask |= 1 << e;
+                        }
+                    }
+                    Assert.assertEquals(word, expectedWordMask, gaddag.getWordMask(node));
+                    Assert.assertNotEquals(0, gaddag.getPrefixMask(node) & (1 << d));
+                }
+            }
+        }
+    }
+
+    private static int walk(Gaddag gaddag, String path) {
+        int node = Gaddag.ROOT;
+        for (int i = 0; i < path.length() && node != Gaddag.NO_NODE; ++i) {
+            node = gaddag.getChild(node, path.charAt(i));
+        }
+        return node;
+    }
+}
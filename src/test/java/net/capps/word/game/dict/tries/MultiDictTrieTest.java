@@ -0,0 +1,69 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class MultiDictTrieTest {
+    private static final Set<String> ENGLISH = ImmutableSet.of("RAVEN", "RAVENS", "RAVE", "DREAM", "DREAMS");
+    private static final Set<String> POE = ImmutableSet.of("RAVEN", "LENORE", "NEVERMORE");
+    private static final Set<String> MYTHOS = ImmutableSet.of("DAGON", "DREAMS", "RLYEH");
+
+    @Test
+    public void testWordAndPrefixMasks() {
+        MultiDictTrie trie = MultiDictTrie.build(ImmutableList.of(ENGLISH, POE, MYTHOS));
+        assertMasks(trie);
+    }
+
+    @Test
+    public void testWriteAndReadMultiDictTrie() {
+        MultiDictTrie trie = MultiDictTrie.build(ImmutableList.of(ENGLISH, POE, MYTHOS));
+        ByteBuffer buffer = ByteBuffer.allocate(trie.getSerializedSize()).order(ByteOrder.nativeOrder());
+        trie.writeTo(buffer);
+        Assert.assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        MultiDictTrie readTrie = MultiDictTrie.readFrom(buffer);
+        Assert.assertEquals(trie.getNumNodes(), readTrie.getNumNodes());
+        assertMasks(readTrie);
+    }
+
+    private static void assertMasks(MultiDictTrie trie) {
+        final List<Set<String>> dicts = ImmutableList.of(ENGLISH, POE, MYTHOS);
+        for (Set<String> dict: dicts) {
+            for (String word: dict) {
+                int node = MultiDictTrie.ROOT;
+                for (int i = 1; i <= word.length(); ++i) {
+                    node = trie.getChild(node, word.charAt(i - 1));
+                    Assert.assertNotEquals(MultiDictTrie.NO_NODE, node);
+                    String prefix = word.substring(0, i);
+
+                    int expectedWordMask = 0;
+                    int expectedPrefixMask = 0;
+                    for (int d = 0; d < dicts.size(); ++d) {
+                        if (dicts.get(d).contains(prefix)) {
+                            expectedWordMask |= 1 << d;
+                        }
+                        for (String other: dicts.get(d)) {
+                            if (other.startsWith(prefix)) {
+                                expectedPrefixMask |= 1 << d;
+                            }
+                        }
+                    }
+                    Assert.assertEquals(prefix, expectedWordMask, trie.getWordMask(node));
+                    Assert.assertEquals(prefix, expectedPrefixMask, trie.getPrefixMask(node));
+                }
+            }
+        }
+        Assert.assertEquals(MultiDictTrie.NO_NODE, trie.getChild(MultiDictTrie.ROOT, 'Q'));
+    }
+}
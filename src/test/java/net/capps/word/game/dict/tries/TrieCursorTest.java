@@ -0,0 +1,85 @@
+package net.capps.word.game.dict.tries;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class TrieCursorTest {
+    private static final Set<String> WORDS = ImmutableSet.of("AX", "AXE", "AXES", "BE", "BEE", "ZA", "ANTIDISESTABLISHMENTARIANISM");
+
+    @Test
+    public void testCursorsForAllTries() {
+        List<WordTrie> tries = ImmutableList.of(NodeTrie.build(WORDS), Dawg.build(WORDS), ArrayTrie.build(WORDS));
+        for (WordTrie trie: tries) {
+            assertCursorWalksTrie(trie);
+        }
+    }
+
+    private static void assertCursorWalksTrie(WordTrie trie) {
+        TrieCursor cursor = trie.newCursor();
+        Assert.assertEquals(0, cursor.getDepth());
+        Assert.assertFalse(cursor.isWord());
+        Assert.assertTrue(cursor.hasChildren());
+
+        Assert.assertTrue(cursor.advance('A'));
+        Assert.assertTrue(cursor.advance('X'));
+        Assert.assertTrue(cursor.isWord());
+        Assert.assertTrue(cursor.hasChildren());
+        Assert.assertEquals("AX", cursor.getPrefix());
+
+        // A failed advance leaves the cursor where it was
+        Assert.assertFalse(cursor.advance('A'));
+        Assert.assertFalse(cursor.advance('*'));
+        Assert.assertEquals("AX", cursor.getPrefix());
+        Assert.assertTrue(cursor.isWord());
+
+        Assert.assertTrue(cursor.advance('E'));
+        Assert.assertTrue(cursor.advance('S'));
+        Assert.assertTrue(cursor.isWord());
+        Assert.assertFalse(cursor.hasChildren());
+
+        cursor.retreat();
+        cursor.retreat();
+        cursor.retreat();
+        cursor.retreat();
+        Assert.assertEquals(0, cursor.getDepth());
+        Assert.assertEquals("", cursor.getPrefix());
+
+        // Every prefix of every word matches the trie, including ones longer than the initial stack
+        for (String word: WORDS) {
+            for (int i = 0; i < word.length(); ++i) {
+                Assert.assertTrue(cursor.advance(word.charAt(i)));
+                String prefix = cursor.getPrefix();
+                Assert.assertEquals(word.substring(0, i + 1), prefix);
+                Assert.assertEquals(trie.contains(prefix), cursor.isWord());
+                Assert.assertEquals(prefix, hasLongerWord(prefix), cursor.hasChildren());
+            }
+            for (int i = 0; i < word.length(); ++i) {
+                cursor.retreat();
+            }
+        }
+
+        try {
+            cursor.retreat();
+            Assert.fail("Expected retreat() from the root to throw");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static boolean hasLongerWord(String prefix) {
+        for (String word: WORDS) {
+            if (word.length() > prefix.length() && word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+package net.capps.word.rest.providers;
+
+import net.capps.word.db.WordDbManager;
+import net.capps.word.db.dao.GamesDAO;
+import net.capps.word.db.dao.UsersDAO;
+import net.capps.word.game.ai.RandomAI;
+import net.capps.word.game.board.FixedLayouts;
+import net.capps.word.game.board.Game;
+import net.capps.word.game.board.TileSet;
+import net.capps.word.game.common.*;
+import net.capps.word.game.gen.DefaultGameGenerator;
+import net.capps.word.game.move.Move;
+import net.capps.word.heroku.SetupHelper;
+import net.capps.word.rest.models.GameModel;
+import net.capps.word.rest.models.MoveModel;
+import net.capps.word.rest.models.UserModel;
+import net.capps.word.util.ErrorOrResult;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.Optional;
+
+/**
+ * Created by charlescapps on 10/18/26.
+ */
+public class MovesProviderTest {
+    private static final MovesProvider movesProvider = MovesProvider.getInstance();
+    private static final GamesDAO gamesDAO = GamesDAO.getInstance();
+
+    @Test
+    public void testMoveContextGameIsReusedForHumanAndAiMoves() throws Exception {
+        SetupHelper.getInstance().initDictionaryDataStructures();
+        SetupHelper.getInstance().initGameDataStructures();
+        try (Connection dbConn = WordDbManager.getInstance().getConnection()) {
+            UserModel human = createUser(1, dbConn);
+            UserModel ai = createUser(2, dbConn);
+            GameModel gameModel = createSinglePlayerGame(human, ai, dbConn);
+
+            for (int turn = 0; turn < 5 && gameModel.getGameResult() == GameResult.IN_PROGRESS; ++turn) {
+                Move humanMove = RandomAI.getInstance().getNextMove(new Game(gameModel, Optional.empty()));
+                MoveModel humanMoveModel = humanMove.toMoveModel(human.getId(), 0);
+
+                ErrorOrResult<MoveContext> errorOrResult = movesProvider.validateMove(humanMoveModel, human, dbConn);
+                Assert.assertFalse("Expected the random move to be valid", errorOrResult.isError());
+                MoveContext moveContext = errorOrResult.getResultOpt().get();
+                final Game game = moveContext.getGame();
+
+                // The human's move and then the AI's moves are all played on the Game parsed by validateMove()
+                gameModel = movesProvider.playMove(moveContext, dbConn);
+                Assert.assertSame(game, moveContext.getGame());
+                assertGameMatchesDatabase(game, dbConn);
+
+                if (gameModel.getGameResult() == GameResult.IN_PROGRESS) {
+                    gameModel = movesProvider.playAIMoves(moveContext, gameModel, dbConn);
+                    Assert.assertFalse(gameModel.getLastMoves().isEmpty());
+                    Assert.assertSame(game, moveContext.getGame());
+                    assertGameMatchesDatabase(game, dbConn);
+                }
+            }
+        }
+    }
+
+    // --------------- Private ---------------
+
+    private static void assertGameMatchesDatabase(Game game, Connection dbConn) throws Exception {
+        GameModel loadedModel = gamesDAO.getGameWithPlayerModelsById(game.getGameId(), dbConn).get();
+        Game loaded = new Game(loadedModel, Optional.empty());
+        Assert.assertEquals(loaded.getTileSet().toCompactString(), game.getTileSet().toCompactString());
+        Assert.assertEquals(loaded.getSquareSet().toCompactString(), game.getSquareSet().toCompactString());
+        Assert.assertEquals(loaded.getTileSet().getZobristHash(), game.getTileSet().getZobristHash());
+        Assert.assertEquals(loaded.getPlayer1Rack().toString(), game.getPlayer1Rack().toString());
+        Assert.assertEquals(loaded.getPlayer2Rack().toString(), game.getPlayer2Rack().toString());
+        Assert.assertEquals(loaded.getPlayer1Points(), game.getPlayer1Points());
+        Assert.assertEquals(loaded.getPlayer2Points(), game.getPlayer2Points());
+        Assert.assertEquals(loaded.isPlayer1Turn(), game.isPlayer1Turn());
+        Assert.assertEquals(loaded.getGameResult(), game.getGameResult());
+    }
+
+    private static UserModel createUser(int index, Connection dbConn) throws Exception {
+        final String username = "User_" + index + "_" + RandomStringUtils.randomAlphanumeric(4);
+        UserModel inputUser = new UserModel(null, username, null, null, null, false);
+        return UsersDAO.getInstance().insertNewUser(dbConn, inputUser);
+    }
+
+    private static GameModel createSinglePlayerGame(UserModel human, UserModel ai, Connection dbConn) throws Exception {
+        final BoardSize bs = BoardSize.TALL;
+        GameModel inputGame = new GameModel();
+        inputGame.setPlayer1(human.getId());
+        inputGame.setPlayer2(ai.getId());
+        inputGame.setBoardSize(bs);
+        inputGame.setBonusesType(BonusesType.FIXED_BONUSES);
+        inputGame.setGameDensity(GameDensity.REGULAR);
+        inputGame.setGameType(GameType.SINGLE_PLAYER);
+        inputGame.setAiType(AiType.RANDOM_AI);
+        inputGame.setPlayer1Rack("");
+        inputGame.setPlayer2Rack("");
+
+        TileSet tileSet = DefaultGameGenerator.getInstance().generateRandomFinishedGame(bs.getN(), GameDensity.REGULAR.getNumWords(bs), bs.getN());
+        GameModel gameModel = gamesDAO.createNewGame(dbConn, inputGame, tileSet, FixedLayouts.getInstance().getFixedLayout(bs));
+        return gamesDAO.getGameWithPlayerModelsById(gameModel.getId(), dbConn).get();
+    }
+}
@@ -9,6 +9,9 @@ import net.capps.word.rest.filters.InitialUserAuthFilter;
 import net.capps.word.rest.filters.RegularUserAuthFilter;
 import net.capps.word.rest.models.GameModel;
 import net.capps.word.rest.models.MoveModel;
+import net.capps.word.rest.models.UserModel;
+import net.capps.word.rest.providers.GamesProvider;
+import net.capps.word.rest.providers.MoveContext;
 import net.capps.word.rest.providers.MovesProvider;
 import net.capps.word.util.ErrorOrResult;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -69,13 +72,14 @@ public class GamesServiceTest extends BaseWordServiceTest {
         try (Connection dbConn = WordDbManager.getInstance().getConnection()) {
 
             // Player 1: Grabs 1 tile
-            gameModel = movesProvider.playMove(grabMove, gameModel, dbConn);
+            gameModel = validateAndPlayMove(grabMove, fooUser, dbConn);
 
-            // Player 2: Grabs 1 tile on a different row & column
-            gameModel = movesProvider.playMove(player2Move, gameModel, dbConn);
+            // Player 2: Accepts the game, then grabs 1 tile on a different row & column
+            GamesProvider.getInstance().acceptGameOfferAndUpdateRack(gameModel, "", dbConn);
+            gameModel = validateAndPlayMove(player2Move, barUser, dbConn);
 
             // Player 1: Play the same tile they just grabbed
-            ErrorOrResult<GameModel> errorOrResult = movesProvider.validateMove(playMove, fooUser, dbConn);
+            ErrorOrResult<MoveContext> errorOrResult = movesProvider.validateMove(playMove, fooUser, dbConn);
             if (errorOrResult.isError()) {
                 LOG.info("Play move error: {}", errorOrResult.getErrorOpt().get().getErrorMessage());
             }
@@ -84,6 +88,12 @@ public class GamesServiceTest extends BaseWordServiceTest {
         }
     }
 
+    private GameModel validateAndPlayMove(MoveModel move, UserModel player, Connection dbConn) throws Exception {
+        ErrorOrResult<MoveContext> errorOrResult = movesProvider.validateMove(move, player, dbConn);
+        Assert.assertFalse("Expected the move to be valid", errorOrResult.isError());
+        return movesProvider.playMove(errorOrResult.getResultOpt().get(), dbConn);
+    }
+
     private MoveModel findGrabMove(Game game, int playerId, Optional<Pos> forbiddenPos) {
         TileSet tileSet = game.getTileSet();
         Pos p = null;